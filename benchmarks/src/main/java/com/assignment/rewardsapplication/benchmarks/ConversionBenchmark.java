@@ -0,0 +1,66 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+	@Param({ "10", "1000", "100000", "1000000" })
+	private int size;
+
+	private ConversionAndValidatorUtils conversionAndValidatorUtils;
+
+	private Customer customer;
+
+	private List<Transaction> transactions;
+
+	@Setup
+	public void setUp() {
+		conversionAndValidatorUtils = new ConversionAndValidatorUtils();
+		Field pointsCalculationUtils = ReflectionUtils.findField(ConversionAndValidatorUtils.class,
+				"pointsCalculationUtils");
+		ReflectionUtils.makeAccessible(pointsCalculationUtils);
+		ReflectionUtils.setField(pointsCalculationUtils, conversionAndValidatorUtils, new PointsCalculationUtils());
+		customer = TransactionFixtures.customer();
+		transactions = TransactionFixtures.transactions(size);
+	}
+
+	@Benchmark
+	public CustomerDetailsDTO prepareCustomerDetailsDTO() {
+		return conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions);
+	}
+
+	@Benchmark
+	public void convertToTransactionDTO(Blackhole blackhole) {
+		for (Transaction transaction : transactions) {
+			blackhole.consume(conversionAndValidatorUtils.convertToTransactionDTO(transaction));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+import com.google.gson.Gson;
+
+// Replays the log statements of one transaction write plus one rewards read, before and after the logging rework
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class LoggingBenchmark {
+
+	private static final String SYNC_SELECTOR = "-DLog4jContextSelector="
+			+ "org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+
+	private static final Logger log = LogManager.getLogger(LoggingBenchmark.class);
+
+	@Param({ "eager", "parameterized" })
+	private String statements;
+
+	@Param({ "20" })
+	private int transactionCount;
+
+	private final Gson gson = new Gson();
+
+	private CustomerTransactionDTO customerTransactionDTO;
+
+	private Transaction transaction;
+
+	private CustomerDetailsDTO customerDetailsDTO;
+
+	@Setup
+	public void setUp() {
+		ConversionAndValidatorUtils conversionAndValidatorUtils = new ConversionAndValidatorUtils();
+		Field pointsCalculationUtils = ReflectionUtils.findField(ConversionAndValidatorUtils.class,
+				"pointsCalculationUtils");
+		ReflectionUtils.makeAccessible(pointsCalculationUtils);
+		ReflectionUtils.setField(pointsCalculationUtils, conversionAndValidatorUtils, new PointsCalculationUtils());
+
+		transaction = TransactionFixtures.transactions(1).get(0);
+		customerTransactionDTO = new CustomerTransactionDTO();
+		customerTransactionDTO.setCustomerId(transaction.getCustomerId());
+		customerTransactionDTO.setCustomerName("Benchmark Customer");
+		customerTransactionDTO.setTransactionId(transaction.getTransactionId());
+		customerTransactionDTO.setAmountCents(transaction.getAmountCents());
+		customerTransactionDTO.setTransactionDate(transaction.getTransactionDate());
+		customerTransactionDTO.setCategory(transaction.getCategory());
+		customerDetailsDTO = conversionAndValidatorUtils.prepareCustomerDetailsDTO(TransactionFixtures.customer(),
+				TransactionFixtures.transactions(transactionCount));
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = { SYNC_SELECTOR, "-Dlog4j2.configurationFile=log4j2-benchmark-sync.properties" })
+	public void synchronousFileAppender() {
+		logRequest();
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = { "-Dlog4j2.configurationFile=log4j2-benchmark-async.properties" })
+	public void asyncRandomAccessFileAppender() {
+		logRequest();
+	}
+
+	private void logRequest() {
+		if ("eager".equals(statements)) {
+			log.info("Calling service to save customer data : " + customerTransactionDTO);
+			log.info("In Service layer : " + customerTransactionDTO);
+			log.info("Transaction before saving : " + transaction);
+			log.info("Transaction saved successfully with {} for customer Id {}",
+					customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+			log.info("Successfully calculated reward points for customer ID '{}'. DTO: {}",
+					customerTransactionDTO.getCustomerId(), gson.toJson(customerDetailsDTO));
+		} else {
+			log.info("Calling service to save transaction {} for customer {}",
+					customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+			log.debug("In Service layer : {}", customerTransactionDTO);
+			log.debug("Transaction before saving : {}", transaction);
+			log.info("Transaction saved successfully with {} for customer Id {}",
+					customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+			log.info("Successfully calculated reward points for customer ID '{}'",
+					customerTransactionDTO.getCustomerId());
+			if (log.isDebugEnabled()) {
+				log.debug("Rewards response for customer ID '{}' : {}", customerTransactionDTO.getCustomerId(),
+						gson.toJson(customerDetailsDTO));
+			}
+		}
+	}
+}
\ No newline at end of file
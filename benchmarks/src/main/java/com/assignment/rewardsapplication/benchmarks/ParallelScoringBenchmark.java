@@ -0,0 +1,64 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.assignment.rewardsapplication.dto.PointsSummary;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelScoringBenchmark {
+
+	@Param({ "1000", "10000", "30000", "100000", "300000", "1000000" })
+	private int size;
+
+	private PointsCalculationUtils sequentialUtils;
+
+	private PointsCalculationUtils parallelUtils;
+
+	private List<Transaction> transactions;
+
+	@Setup
+	public void setUp() {
+		sequentialUtils = new PointsCalculationUtils();
+		sequentialUtils.setParallelThreshold(Integer.MAX_VALUE);
+		parallelUtils = new PointsCalculationUtils();
+		parallelUtils.setParallelThreshold(0);
+		parallelUtils.setParallelism(Math.max(2, Runtime.getRuntime().availableProcessors()));
+		transactions = TransactionFixtures.transactions(size);
+	}
+
+	@TearDown
+	public void tearDown() {
+		parallelUtils.shutdown();
+	}
+
+	@Benchmark
+	public PointsSummary sequential() {
+		return sequentialUtils.calculatePointsSummary(TransactionFixtures.CUSTOMER_ID, transactions);
+	}
+
+	@Benchmark
+	public PointsSummary forkJoin() {
+		return parallelUtils.calculatePointsSummary(TransactionFixtures.CUSTOMER_ID, transactions);
+	}
+}
\ No newline at end of file
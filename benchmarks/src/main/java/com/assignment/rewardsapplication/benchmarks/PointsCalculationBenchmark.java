@@ -0,0 +1,83 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointsCalculationBenchmark {
+
+	@Param({ "10", "1000", "100000", "1000000" })
+	private int size;
+
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	private List<Transaction> transactions;
+
+	@Setup
+	public void setUp() {
+		pointsCalculationUtils = new PointsCalculationUtils();
+		transactions = TransactionFixtures.transactions(size);
+	}
+
+	@Benchmark
+	public void calculatePoints(Blackhole blackhole) {
+		for (Transaction transaction : transactions) {
+			blackhole.consume(pointsCalculationUtils.calculatePoints(transaction));
+		}
+	}
+
+	@Benchmark
+	public int calculateTotalPoints() {
+		return pointsCalculationUtils.calculateTotalPoints(transactions);
+	}
+
+	@Benchmark
+	public List<MonthlyPointsDTO> calculateMonthlyPoints() {
+		return pointsCalculationUtils.calculateMonthlyPoints(TransactionFixtures.CUSTOMER_ID, transactions);
+	}
+
+	@Benchmark
+	public List<MonthlyPointsDTO> calculateMonthlyPointsStringKeyed() {
+		Map<String, MonthlyPointsDTO> monthlyPointsMap = new LinkedHashMap<>();
+		for (Transaction transaction : transactions) {
+			LocalDate transactionDate = transaction.getTransactionDate().toLocalDate();
+			int points = pointsCalculationUtils.calculatePoints(transaction);
+			String monthKey = transactionDate.getYear() + "-" + transactionDate.getMonth().toString();
+			MonthlyPointsDTO monthlyPointsDTO = monthlyPointsMap.get(monthKey);
+			if (monthlyPointsDTO == null) {
+				monthlyPointsDTO = new MonthlyPointsDTO(transactionDate.getYear(), transactionDate.getMonth().toString(),
+						points);
+			} else {
+				monthlyPointsDTO.setPoints(monthlyPointsDTO.getPoints() + points);
+			}
+			monthlyPointsMap.put(monthKey, monthlyPointsDTO);
+		}
+		return new ArrayList<>(monthlyPointsMap.values());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.dto.RewardTier;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RewardRulesBenchmark {
+
+	private static final int TRANSACTIONS = 10_000;
+	private static final int CAMPAIGNS = 36;
+	private static final int TIERS = 8;
+
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	private List<Transaction> transactions;
+
+	@Setup
+	public void setUp() {
+		List<RewardCampaign> campaigns = new ArrayList<>();
+		LocalDate start = LocalDate.of(2024, 1, 1);
+		for (int i = 0; i < CAMPAIGNS; i++) {
+			List<RewardTier> tiers = new ArrayList<>();
+			for (int tier = 0; tier < TIERS; tier++) {
+				tiers.add(new RewardTier(tier * 2500L, tier + 1));
+			}
+			Map<String, Integer> multipliers = new HashMap<>();
+			multipliers.put(TransactionFixtures.CATEGORIES[i % TransactionFixtures.CATEGORIES.length], 200);
+			multipliers.put(TransactionFixtures.CATEGORIES[(i + 3) % TransactionFixtures.CATEGORIES.length], 50);
+			LocalDate from = i == 0 ? null : start.plusWeeks(3L * i);
+			LocalDate to = i == 0 ? null : from.plusWeeks(2);
+			campaigns.add(new RewardCampaign(null, "campaign-" + i, from, to, tiers, multipliers, 1000));
+		}
+
+		pointsCalculationUtils = new PointsCalculationUtils();
+		pointsCalculationUtils.setRewardRules(RewardRules.compile(campaigns));
+		transactions = TransactionFixtures.transactions(TRANSACTIONS);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TRANSACTIONS)
+	public int scoreTransactions() {
+		return pointsCalculationUtils.calculateTotalPoints(transactions);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.repository.TransactionRepositoryCustomImpl;
+
+// Decodes the BSON the driver receives for a customer's transactions: whole documents through the mapping converter,
+// the points-only projection through the converter, and the projection read straight off the Document
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionDecodeBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int size;
+
+	private final DocumentCodec codec = new DocumentCodec();
+
+	private MappingMongoConverter converter;
+
+	private List<RawBsonDocument> documents;
+
+	private List<RawBsonDocument> projectedDocuments;
+
+	@Setup
+	public void setUp() {
+		MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+		MongoMappingContext mappingContext = new MongoMappingContext();
+		mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		mappingContext.afterPropertiesSet();
+		converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+
+		documents = new ArrayList<>(size);
+		projectedDocuments = new ArrayList<>(size);
+		for (Transaction transaction : TransactionFixtures.transactions(size)) {
+			transaction.setId(new ObjectId().toHexString());
+			Document document = new Document();
+			converter.write(transaction, document);
+			documents.add(new RawBsonDocument(document, codec));
+			projectedDocuments.add(new RawBsonDocument(new Document("customer_id", document.get("customer_id"))
+					.append("transaction_date", document.get("transaction_date"))
+					.append("amount_cents", document.get("amount_cents")).append("category", document.get("category")),
+					codec));
+		}
+	}
+
+	@Benchmark
+	public void fullEntity(Blackhole blackhole) {
+		for (RawBsonDocument document : documents) {
+			blackhole.consume(converter.read(Transaction.class, document.decode(codec)));
+		}
+	}
+
+	@Benchmark
+	public void projectedEntity(Blackhole blackhole) {
+		for (RawBsonDocument document : projectedDocuments) {
+			blackhole.consume(converter.read(TransactionPoints.class, document.decode(codec)));
+		}
+	}
+
+	@Benchmark
+	public void projectedDocument(Blackhole blackhole) {
+		for (RawBsonDocument document : projectedDocuments) {
+			blackhole.consume(TransactionRepositoryCustomImpl.toTransactionPoints(document.decode(codec)));
+		}
+	}
+}
\ No newline at end of file
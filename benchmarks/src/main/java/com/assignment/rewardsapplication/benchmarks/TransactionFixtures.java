@@ -0,0 +1,43 @@
+package com.assignment.rewardsapplication.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.Transaction;
+
+final class TransactionFixtures {
+
+	static final String CUSTOMER_ID = "CUST001";
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private static final int MINUTES_IN_TWO_YEARS = 2 * 365 * 24 * 60;
+
+	static final String[] CATEGORIES = { "GROCERY", "FUEL", "TRAVEL", "DINING", "ONLINE", "PHARMACY", "APPAREL",
+			"ELECTRONICS" };
+
+	private TransactionFixtures() {
+	}
+
+	static Customer customer() {
+		return new Customer("1", CUSTOMER_ID, "Benchmark Customer");
+	}
+
+	static List<Transaction> transactions(int size) {
+		Random random = new Random(42);
+		List<Transaction> transactions = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setId(Integer.toHexString(i));
+			transaction.setTransactionId("TXN" + i);
+			transaction.setCustomerId(CUSTOMER_ID);
+			transaction.setAmountCents(random.nextInt(30_000));
+			transaction.setTransactionDate(START.plusMinutes(random.nextInt(MINUTES_IN_TWO_YEARS)));
+			transaction.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			transactions.add(transaction);
+		}
+		return transactions;
+	}
+}
\ No newline at end of file
@@ -1,13 +1,45 @@
 package com.assignment.rewardsapplication;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
+import com.assignment.rewardsapplication.dto.ImportResultDTO;
+import com.assignment.rewardsapplication.service.impl.TransactionImportService;
+
 @SpringBootApplication
 @EnableMongoRepositories
 public class RewardsApplication {
+
+	private static final Logger log = LogManager.getLogger(RewardsApplication.class);
+
 	public static void main(String[] args) {
 		SpringApplication.run(RewardsApplication.class, args);
 	}
+
+	@Bean
+	@ConditionalOnProperty(name = "rewards.import.file")
+	public CommandLineRunner transactionImportRunner(TransactionImportService transactionImportService,
+			@Value("${rewards.import.file}") String file, @Value("${rewards.import.format:ndjson}") String format,
+			@Value("${rewards.import.id:}") String importId) {
+		return args -> {
+			Path path = Paths.get(file);
+			String id = importId.isEmpty() ? path.toAbsolutePath().toString() : importId;
+			try (InputStream inputStream = Files.newInputStream(path)) {
+				ImportResultDTO result = transactionImportService.importTransactions(id, format, inputStream);
+				log.info("Import of {} finished : {}", path, result);
+			}
+		};
+	}
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.assignment.rewardsapplication.cache;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+// Loads a missing entry on the calling thread, outside the map's bin locks, so a virtual thread blocked on Mongo
+// never pins its carrier. Concurrent callers for the same key wait on one future instead of loading again.
+final class CallerLoads {
+
+	private CallerLoads() {
+	}
+
+	static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+		return get(cache, key, loader, loaded -> true);
+	}
+
+	// A loaded value that fails the publish check is still returned to this caller and the callers waiting on it,
+	// but is left out of the cache
+	static <K, V> V get(AsyncCache<K, V> cache, K key, Supplier<V> loader, Predicate<V> publish) {
+		while (true) {
+			CompletableFuture<V> load = new CompletableFuture<>();
+			boolean[] loading = new boolean[1];
+			CompletableFuture<V> value = cache.get(key, (k, executor) -> {
+				loading[0] = true;
+				return load;
+			});
+			if (loading[0]) {
+				V loaded;
+				try {
+					loaded = loader.get();
+				} catch (RuntimeException | Error e) {
+					// Caffeine logs every future that completes exceptionally as a WARNING with its stack trace, which
+					// would include every missing customer. A cancelled one is not logged, so the failed load is
+					// dropped and cancelled instead, and the callers waiting on it load again.
+					cache.asMap().remove(key, load);
+					load.cancel(false);
+					throw e;
+				}
+				if (!publish.test(loaded)) {
+					cache.asMap().remove(key, load);
+				}
+				load.complete(loaded);
+				return loaded;
+			}
+			try {
+				return value.join();
+			} catch (CancellationException e) {
+				continue;
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw e;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.assignment.rewardsapplication.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Customers by customer ID. Unknown IDs are cached as empty entries with a shorter TTL so repeated lookups of missing
+// customers stay off Mongo; creating a customer on this instance replaces its empty entry straight away.
+@Component
+public class CustomerCache {
+
+	private static final Logger log = LogManager.getLogger(CustomerCache.class);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${rewards.cache.customers.maximum-size:100000}")
+	private long maximumSize;
+
+	@Value("${rewards.cache.customers.expire-after-write:1h}")
+	private Duration expireAfterWrite;
+
+	@Value("${rewards.cache.customers.negative-expire-after-write:30s}")
+	private Duration negativeExpireAfterWrite;
+
+	private AsyncCache<String, Optional<Customer>> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new CustomerExpiry()).recordStats()
+				.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "customers");
+		log.info("Customer cache initialised with maximum size {}, TTL {} and negative TTL {}", maximumSize,
+				expireAfterWrite, negativeExpireAfterWrite);
+	}
+
+	// Returns null for an unknown customer; concurrent misses for the same ID share one load
+	public Customer get(String customerId, Function<String, Customer> loader) {
+		return CallerLoads.get(cache, customerId, () -> Optional.ofNullable(loader.apply(customerId))).orElse(null);
+	}
+
+	// Returns null when the ID is not cached or still loading, and an empty Optional when the customer is known
+	// not to exist
+	public Optional<Customer> getIfPresent(String customerId) {
+		CompletableFuture<Optional<Customer>> customer = cache.getIfPresent(customerId);
+		return customer == null || !customer.isDone() || customer.isCompletedExceptionally() ? null
+				: customer.join();
+	}
+
+	public boolean isKnownCustomer(String customerId) {
+		Optional<Customer> customer = getIfPresent(customerId);
+		return customer != null && customer.isPresent();
+	}
+
+	public void put(Customer customer) {
+		cache.put(customer.getCustomerId(), CompletableFuture.completedFuture(Optional.of(customer)));
+	}
+
+	public void putMissing(String customerId) {
+		cache.put(customerId, CompletableFuture.completedFuture(Optional.empty()));
+	}
+
+	public void invalidate(String customerId) {
+		cache.synchronous().invalidate(customerId);
+	}
+
+	public void invalidateAll() {
+		cache.synchronous().invalidateAll();
+	}
+
+	private class CustomerExpiry implements Expiry<String, Optional<Customer>> {
+
+		@Override
+		public long expireAfterCreate(String customerId, Optional<Customer> customer, long currentTime) {
+			return (customer.isPresent() ? expireAfterWrite : negativeExpireAfterWrite).toNanos();
+		}
+
+		@Override
+		public long expireAfterUpdate(String customerId, Optional<Customer> customer, long currentTime,
+				long currentDuration) {
+			return expireAfterCreate(customerId, customer, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String customerId, Optional<Customer> customer, long currentTime,
+				long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.assignment.rewardsapplication.cache;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// A bounded set of recently recorded transactions. Unlike a Bloom filter it has no false positives, so a hit can be
+// answered as a duplicate without asking Mongo; a miss still falls through to the unique index.
+@Component
+public class RecentTransactionIds {
+
+	private static final Logger log = LogManager.getLogger(RecentTransactionIds.class);
+
+	private static final char SEPARATOR = '\u0000';
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${rewards.idempotency.recent-ids.maximum-size:100000}")
+	private long maximumSize;
+
+	private Cache<String, Boolean> cache;
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "recentTransactionIds");
+		log.info("Recent transaction ID filter initialised with maximum size {}", maximumSize);
+	}
+
+	public boolean contains(String customerId, String transactionId) {
+		return cache.getIfPresent(key(customerId, transactionId)) != null;
+	}
+
+	public void add(String customerId, String transactionId) {
+		cache.put(key(customerId, transactionId), Boolean.TRUE);
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	private static String key(String customerId, String transactionId) {
+		return customerId + SEPARATOR + transactionId;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.assignment.rewardsapplication.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Component
+public class RewardsResponseCache {
+
+	private static final Logger log = LogManager.getLogger(RewardsResponseCache.class);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${rewards.cache.rewards.maximum-size:10000}")
+	private long maximumSize;
+
+	@Value("${rewards.cache.rewards.expire-after-write:10m}")
+	private Duration expireAfterWrite;
+
+	private AsyncCache<RewardsCacheKey, CachedRewards> cache;
+
+	// The cached keys of each customer, so a write invalidates that customer's entries without scanning the cache
+	private final ConcurrentHashMap<String, CustomerEntries> customers = new ConcurrentHashMap<>();
+
+	// Generations come from one sequence, so a customer whose entries were dropped never reuses an old one
+	private final AtomicLong nextGeneration = new AtomicLong();
+
+	@PostConstruct
+	public void init() {
+		cache = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(expireAfterWrite).recordStats()
+				.removalListener((RewardsCacheKey key, CachedRewards value, RemovalCause cause) -> {
+					if (cause != RemovalCause.REPLACED) {
+						unindex(key);
+					}
+				}).buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "rewards");
+		log.info("Rewards response cache initialised with maximum size {} and TTL {}", maximumSize, expireAfterWrite);
+	}
+
+	public CustomerDetailsDTO get(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options, Supplier<CustomerDetailsDTO> loader) {
+		RewardsCacheKey key = new RewardsCacheKey(customerId, fromDate, toDate, options);
+		while (true) {
+			CustomerEntries[] loadedFor = new CustomerEntries[1];
+			// A load that overlapped a write for this customer answers its own caller but is not published
+			CachedRewards rewards = CallerLoads.get(cache, key, () -> {
+				// Only the loading caller indexes the key, and a failed load takes it out again before the callers
+				// waiting on it retry, so misses and errors never leave keys behind in the index
+				CustomerEntries entries = customers.compute(customerId, (id, existing) -> {
+					CustomerEntries registered = existing == null
+							? new CustomerEntries(nextGeneration.incrementAndGet())
+							: existing;
+					registered.keys.add(key);
+					return registered;
+				});
+				loadedFor[0] = entries;
+				long generation = entries.generation.get();
+				try {
+					return new CachedRewards(generation, loader.get());
+				} catch (RuntimeException | Error e) {
+					unindex(key);
+					throw e;
+				}
+			}, published -> published.generation == loadedFor[0].generation.get()
+					&& customers.get(customerId) == loadedFor[0]);
+			if (loadedFor[0] != null || rewards.generation == currentGeneration(customerId)) {
+				return rewards.details;
+			}
+			// An entry the last invalidation did not reach, because its key left the index while it was loading
+			cache.synchronous().asMap().remove(key, rewards);
+		}
+	}
+
+	public void invalidate(Collection<String> customerIds) {
+		for (String customerId : customerIds) {
+			if (customerId == null) {
+				continue;
+			}
+			CustomerEntries entries = customers.computeIfPresent(customerId, (id, existing) -> {
+				existing.generation.set(nextGeneration.incrementAndGet());
+				return existing;
+			});
+			if (entries != null) {
+				cache.synchronous().invalidateAll(new ArrayList<>(entries.keys));
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		customers.values().forEach(entries -> entries.generation.set(nextGeneration.incrementAndGet()));
+		cache.synchronous().invalidateAll();
+	}
+
+	private long currentGeneration(String customerId) {
+		CustomerEntries entries = customers.get(customerId);
+		return entries == null ? 0 : entries.generation.get();
+	}
+
+	private void unindex(RewardsCacheKey key) {
+		customers.computeIfPresent(key.getCustomerId(), (id, entries) -> {
+			entries.keys.remove(key);
+			return entries.keys.isEmpty() ? null : entries;
+		});
+	}
+
+	private static class CustomerEntries {
+
+		private final AtomicLong generation;
+
+		private final Set<RewardsCacheKey> keys = ConcurrentHashMap.newKeySet();
+
+		CustomerEntries(long generation) {
+			this.generation = new AtomicLong(generation);
+		}
+	}
+
+	@AllArgsConstructor
+	private static class CachedRewards {
+
+		private final long generation;
+
+		private final CustomerDetailsDTO details;
+	}
+
+	@Data
+	@AllArgsConstructor
+	private static class RewardsCacheKey {
+
+		private String customerId;
+
+		private LocalDate fromDate;
+
+		private LocalDate toDate;
+
+		private RewardsQueryOptions options;
+	}
+}
\ No newline at end of file
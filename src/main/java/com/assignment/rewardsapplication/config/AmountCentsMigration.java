@@ -0,0 +1,75 @@
+package com.assignment.rewardsapplication.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.MoneyUtils;
+
+@Component
+public class AmountCentsMigration implements SmartInitializingSingleton {
+
+	private static final Logger log = LogManager.getLogger(AmountCentsMigration.class);
+
+	private static final String LEGACY_AMOUNT_FIELD = "amount";
+	private static final String AMOUNT_CENTS_FIELD = "amount_cents";
+	private static final int BATCH_SIZE = 1000;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Value("${rewards.mongo.migrate-amounts:true}")
+	private boolean enabled;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (!enabled) {
+			log.info("Transaction amount migration is disabled");
+			return;
+		}
+
+		String collection = mongoTemplate.getCollectionName(Transaction.class);
+		Query query = new Query(
+				Criteria.where(AMOUNT_CENTS_FIELD).exists(false).and(LEGACY_AMOUNT_FIELD).exists(true));
+		query.fields().include(LEGACY_AMOUNT_FIELD);
+
+		long migrated = 0;
+		int pending = 0;
+		BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+		try (CloseableIterator<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+			while (documents.hasNext()) {
+				Document document = documents.next();
+				Number amount = (Number) document.get(LEGACY_AMOUNT_FIELD);
+				bulkOperations.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))),
+						new Update().set(AMOUNT_CENTS_FIELD, MoneyUtils.roundToCents(amount.doubleValue()))
+								.unset(LEGACY_AMOUNT_FIELD));
+				if (++pending == BATCH_SIZE) {
+					bulkOperations.execute();
+					migrated += pending;
+					pending = 0;
+					bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, collection);
+				}
+			}
+		}
+		if (pending > 0) {
+			bulkOperations.execute();
+			migrated += pending;
+		}
+
+		if (migrated > 0) {
+			log.info("Migrated {} transactions from '{}' to '{}'", migrated, LEGACY_AMOUNT_FIELD, AMOUNT_CENTS_FIELD);
+		}
+	}
+}
\ No newline at end of file
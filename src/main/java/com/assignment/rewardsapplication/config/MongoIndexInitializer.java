@@ -0,0 +1,158 @@
+package com.assignment.rewardsapplication.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MongoIndexInitializer implements SmartInitializingSingleton {
+
+	private static final Logger log = LogManager.getLogger(MongoIndexInitializer.class);
+
+	private static final String MODE_CREATE = "create";
+	private static final String MODE_VERIFY = "verify";
+	private static final int DUPLICATE_SAMPLE_SIZE = 5;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoMappingContext mongoMappingContext;
+
+	@Value("${rewards.mongo.indexes:create}")
+	private String mode;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (!MODE_CREATE.equalsIgnoreCase(mode) && !MODE_VERIFY.equalsIgnoreCase(mode)) {
+			log.info("MongoDB index bootstrap is disabled (mode: {})", mode);
+			return;
+		}
+
+		IndexResolver indexResolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+		List<String> missingIndexes = new ArrayList<>();
+		List<String> mismatchedIndexes = new ArrayList<>();
+
+		for (MongoPersistentEntity<?> entity : mongoMappingContext.getPersistentEntities()) {
+			if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+				continue;
+			}
+			IndexOperations indexOperations = mongoTemplate.indexOps(entity.getType());
+			Map<String, Document> existingIndexes = new HashMap<>();
+			for (Document existing : mongoTemplate.getCollection(entity.getCollection()).listIndexes()) {
+				existingIndexes.put(existing.getString("name"), existing);
+			}
+
+			for (IndexDefinition index : indexResolver.resolveIndexFor(entity.getType())) {
+				String name = index.getIndexOptions().getString("name");
+				Document existing = existingIndexes.get(name);
+				if (existing != null && sameDefinition(index, existing)) {
+					continue;
+				}
+				if (MODE_VERIFY.equalsIgnoreCase(mode)) {
+					if (existing == null) {
+						missingIndexes.add(entity.getCollection() + "." + name);
+					} else {
+						mismatchedIndexes.add(entity.getCollection() + "." + name + " (found " + describe(existing)
+								+ ", expected " + describe(index) + ")");
+					}
+					continue;
+				}
+				checkNoDuplicates(entity.getCollection(), name, index);
+				if (existing != null) {
+					// An index keeps its old definition when the annotation changes, so replace it
+					log.warn("Index {} on collection {} is {} but {} is expected; rebuilding it", name,
+							entity.getCollection(), describe(existing), describe(index));
+					indexOperations.dropIndex(name);
+				} else {
+					log.info("Creating index {} on collection {}", name, entity.getCollection());
+				}
+				indexOperations.ensureIndex(index);
+			}
+		}
+
+		if (!missingIndexes.isEmpty() || !mismatchedIndexes.isEmpty()) {
+			throw new IllegalStateException("Missing MongoDB indexes: " + missingIndexes
+					+ "; MongoDB indexes that differ from their definitions: " + mismatchedIndexes);
+		}
+		log.info("MongoDB indexes verified (mode: {})", mode);
+	}
+
+	private static boolean sameDefinition(IndexDefinition index, Document existing) {
+		Document options = index.getIndexOptions();
+		return keySpec(index.getIndexKeys()).equals(keySpec(existing.get("key", Document.class)))
+				&& Boolean.TRUE.equals(options.get("unique")) == Boolean.TRUE.equals(existing.get("unique"))
+				&& Objects.equals(options.get("partialFilterExpression"), existing.get("partialFilterExpression"));
+	}
+
+	// Key order matters for a compound index, and the server may return 1 as a double
+	private static List<String> keySpec(Document keys) {
+		return keys.entrySet().stream().map(key -> key.getKey() + ":"
+				+ (key.getValue() instanceof Number ? ((Number) key.getValue()).intValue() : key.getValue()))
+				.collect(Collectors.toList());
+	}
+
+	private static String describe(IndexDefinition index) {
+		Document options = index.getIndexOptions();
+		return describe(new Document("key", index.getIndexKeys()).append("unique", options.get("unique"))
+				.append("partialFilterExpression", options.get("partialFilterExpression")));
+	}
+
+	private static String describe(Document index) {
+		Document definition = new Document("key", keySpec(index.get("key", Document.class)));
+		if (Boolean.TRUE.equals(index.get("unique"))) {
+			definition.append("unique", true);
+		}
+		if (index.get("partialFilterExpression") != null) {
+			definition.append("partialFilterExpression", index.get("partialFilterExpression"));
+		}
+		return definition.toJson();
+	}
+
+	// Building a unique index over existing duplicates fails with E11000 deep inside startup, so look for them first
+	// and name the offending keys
+	private void checkNoDuplicates(String collection, String name, IndexDefinition index) {
+		if (!Boolean.TRUE.equals(index.getIndexOptions().get("unique"))) {
+			return;
+		}
+		Document groupKey = new Document();
+		for (String field : index.getIndexKeys().keySet()) {
+			groupKey.append(field.replace('.', '_'), "$" + field);
+		}
+		List<Document> pipeline = Arrays.asList(
+				new Document("$group", new Document("_id", groupKey).append("count", new Document("$sum", 1))),
+				new Document("$match", new Document("count", new Document("$gt", 1))));
+
+		long duplicateKeys = 0;
+		List<String> samples = new ArrayList<>();
+		for (Document duplicate : mongoTemplate.getCollection(collection).aggregate(pipeline).allowDiskUse(true)) {
+			if (++duplicateKeys <= DUPLICATE_SAMPLE_SIZE) {
+				samples.add(duplicate.get("_id", Document.class).toJson() + " x" + duplicate.get("count"));
+			}
+		}
+		if (duplicateKeys > 0) {
+			throw new IllegalStateException("Cannot create unique index " + name + " on collection " + collection
+					+ ": " + duplicateKeys + " keys are held by more than one document, e.g. " + samples
+					+ ". Remove the duplicates and restart; see 'Unique indexes on existing data' in the README.");
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.assignment.rewardsapplication.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Tomcat only applies server.compression.min-response-size to responses with a Content-Length, and Jackson writes
+// without one, so every JSON body was gzipped however small. Bodies are held until they outgrow the threshold: one
+// that ends below it goes out with its length and uncompressed, a larger one streams on and is compressed.
+@Component
+public class ResponseBufferingFilter extends OncePerRequestFilter {
+
+	@Value("${server.compression.min-response-size:2KB}")
+	private DataSize minResponseSize;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		BufferingResponse bufferingResponse = new BufferingResponse(response, (int) minResponseSize.toBytes());
+		filterChain.doFilter(request, bufferingResponse);
+		// A streamed body is written on another thread after this returns, so it is passed straight through
+		if (request.isAsyncStarted()) {
+			bufferingResponse.stopBuffering();
+		} else {
+			bufferingResponse.finish();
+		}
+	}
+
+	private static class BufferingResponse extends HttpServletResponseWrapper {
+
+		private final int threshold;
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		// A response is written by one thread at a time; an async hand-off only needs to see the latest state
+		private volatile boolean buffering = true;
+
+		private ServletOutputStream outputStream;
+
+		private PrintWriter writer;
+
+		BufferingResponse(HttpServletResponse response, int threshold) {
+			super(response);
+			this.threshold = threshold;
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (writer != null) {
+				throw new IllegalStateException("getWriter() has already been called for this response");
+			}
+			if (outputStream == null) {
+				outputStream = new BufferingOutputStream();
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) {
+				if (outputStream != null) {
+					throw new IllegalStateException("getOutputStream() has already been called for this response");
+				}
+				outputStream = new BufferingOutputStream();
+				writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+			}
+			return writer;
+		}
+
+		// Spring flushes every ResponseEntity to commit its headers, which would commit before the length is known.
+		// While buffering, the commit waits for the end of the request or for the body to pass the threshold.
+		@Override
+		public void flushBuffer() throws IOException {
+			if (writer != null) {
+				writer.flush();
+			}
+			if (!buffering) {
+				super.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			super.resetBuffer();
+			buffer.reset();
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			buffer.reset();
+		}
+
+		void stopBuffering() throws IOException {
+			if (buffering) {
+				buffering = false;
+				if (buffer.size() > 0) {
+					buffer.writeTo(getResponse().getOutputStream());
+					buffer.reset();
+				}
+			}
+		}
+
+		void finish() throws IOException {
+			if (outputStream == null) {
+				return;
+			}
+			if (writer != null) {
+				writer.flush();
+			}
+			if (buffering && !isCommitted()) {
+				setContentLength(buffer.size());
+			}
+			stopBuffering();
+		}
+
+		private void write(byte[] bytes, int offset, int length) throws IOException {
+			if (buffering && buffer.size() + length <= threshold) {
+				buffer.write(bytes, offset, length);
+				return;
+			}
+			stopBuffering();
+			getResponse().getOutputStream().write(bytes, offset, length);
+		}
+
+		private void flush() throws IOException {
+			// Converters flush after every body; only a body already past the threshold goes out early
+			if (!buffering) {
+				getResponse().getOutputStream().flush();
+			}
+		}
+
+		private class BufferingOutputStream extends ServletOutputStream {
+
+			@Override
+			public void write(int b) throws IOException {
+				BufferingResponse.this.write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] bytes, int offset, int length) throws IOException {
+				BufferingResponse.this.write(bytes, offset, length);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				BufferingResponse.this.flush();
+			}
+
+			@Override
+			public boolean isReady() {
+				if (buffering) {
+					return true;
+				}
+				try {
+					return getResponse().getOutputStream().isReady();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			// Non-blocking writes happen off the request thread, so they go straight to the wrapped stream
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				try {
+					stopBuffering();
+					getResponse().getOutputStream().setWriteListener(writeListener);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.assignment.rewardsapplication.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rewards.rules")
+public class RewardRulesProperties {
+
+	private String source = "yaml";
+
+	private List<RewardCampaign> campaigns = new ArrayList<>();
+}
\ No newline at end of file
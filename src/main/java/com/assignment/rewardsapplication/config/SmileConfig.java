@@ -0,0 +1,47 @@
+package com.assignment.rewardsapplication.config;
+
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+// Serves application/x-jackson-smile to clients that ask for it in Accept; JSON stays the default. Smile writes each
+// field name once per response and back-references it afterwards, and with shared string values the customer ID
+// and dates repeated across transactions are written once as well.
+@Configuration
+public class SmileConfig {
+
+	// The encoder and decoder constructors that take an ObjectMapper do not fall back to the default Smile types
+	private static final MimeType[] SMILE_MIME_TYPES = { new MimeType("application", "x-jackson-smile"),
+			new MimeType("application", "*+x-jackson-smile") };
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+			Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper(objectMapperBuilder));
+	}
+
+	@Bean
+	public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		ObjectMapper objectMapper = smileObjectMapper(objectMapperBuilder);
+		return configurer -> {
+			configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(objectMapper, SMILE_MIME_TYPES));
+			configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(objectMapper, SMILE_MIME_TYPES));
+		};
+	}
+
+	// Built from Boot's builder so spring.jackson settings apply to Smile the same way they apply to JSON
+	public static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+		SmileFactory smileFactory = SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+				.build();
+		return objectMapperBuilder.createXmlMapper(false).factory(smileFactory).build();
+	}
+}
\ No newline at end of file
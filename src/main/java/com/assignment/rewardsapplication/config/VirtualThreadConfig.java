@@ -0,0 +1,26 @@
+package com.assignment.rewardsapplication.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.assignment.rewardsapplication.utils.VirtualThreads;
+
+@ConditionalOnProperty(name = "rewards.threads.virtual", havingValue = "true")
+@Configuration
+public class VirtualThreadConfig {
+
+	private static final Logger log = LogManager.getLogger(VirtualThreadConfig.class);
+
+	// Every request gets its own virtual thread, so server.tomcat.threads.max no longer caps concurrent requests
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> {
+			protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-handler-"));
+			log.info("Tomcat requests run on virtual threads");
+		};
+	}
+}
\ No newline at end of file
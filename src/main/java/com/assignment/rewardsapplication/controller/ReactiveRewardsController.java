@@ -0,0 +1,66 @@
+package com.assignment.rewardsapplication.controller;
+
+import java.time.LocalDate;
+
+import javax.validation.Valid;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.service.impl.ReactiveRewardsService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@RestController
+@RequestMapping("/api/rewards")
+public class ReactiveRewardsController {
+
+	private static final Logger log = LogManager.getLogger(ReactiveRewardsController.class);
+
+	@Autowired
+	private ReactiveRewardsService reactiveRewardsService;
+
+	@PostMapping("/transaction")
+	public Mono<ResponseEntity<String>> addCustomerTransaction(
+			@Valid @RequestBody CustomerTransactionDTO customerTransactionDTO) {
+		log.info("Calling reactive service to save transaction {} for customer {}",
+				customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+		return reactiveRewardsService.addCustomerTransaction(customerTransactionDTO)
+				.map(status -> ResponseEntity.ok(status == TransactionResultStatus.ALREADY_RECORDED
+						? "Transaction already recorded."
+						: "Customer and Transaction saved successfully!"));
+	}
+
+	@GetMapping("/customers/{customerId}")
+	public Mono<ResponseEntity<CustomerDetailsDTO>> getCustomerReward(@PathVariable String customerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+		log.info("Fetching reward points reactively for customerId: {}", customerId);
+		return reactiveRewardsService.getCustomerRewards(customerId, fromDate, toDate).map(ResponseEntity::ok);
+	}
+
+	@GetMapping(value = "/customers/{customerId}/transactions", produces = "application/x-ndjson")
+	public Flux<TransactionDTO> streamCustomerTransactions(@PathVariable String customerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+		log.info("Streaming transactions reactively for customerId: {}", customerId);
+		return reactiveRewardsService.streamCustomerTransactions(customerId, fromDate, toDate);
+	}
+}
\ No newline at end of file
@@ -1,14 +1,22 @@
 package com.assignment.rewardsapplication.controller;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
 
 import javax.validation.Valid;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,11 +25,29 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
 import com.assignment.rewardsapplication.dto.ErrorResponseDTO;
+import com.assignment.rewardsapplication.dto.ImportResultDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.service.impl.LeaderboardService;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
+import com.assignment.rewardsapplication.service.impl.RewardRulesService;
 import com.assignment.rewardsapplication.service.impl.RewardsService;
+import com.assignment.rewardsapplication.service.impl.TransactionImportService;
+import com.assignment.rewardsapplication.service.impl.TransactionWriteBehindService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -31,6 +57,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+@Profile("!reactive")
 @Tag(name = "Rewards Application", description = "Operations related to customer rewards and transactions")
 @RestController
 @RequestMapping("/api/rewards")
@@ -38,34 +65,192 @@ public class RewardsController {
 
 	private static final Logger log = LogManager.getLogger(RewardsController.class);
 
+	private static final String NDJSON_VALUE = "application/x-ndjson";
+
 	@Autowired
 	private RewardsService rewardsService;
 
+	@Autowired
+	private TransactionImportService transactionImportService;
+
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Autowired
+	private RewardRulesService rewardRulesService;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
+	@Autowired
+	private TransactionWriteBehindService transactionWriteBehindService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${rewards.batch.max-size:10000}")
+	private int maxBatchSize;
+
+	@Value("${rewards.query.max-customers:10000}")
+	private int maxQueryCustomers;
+
 	@Operation(summary = "Record a new customer transaction", description = "Endpoint to save customer details and their transaction.")
-	@ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Customer and Transaction saved successfully!")))
+	@ApiResponse(responseCode = "200", description = "Success, or the transaction was already recorded by an earlier attempt", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Customer and Transaction saved successfully!")))
+	@ApiResponse(responseCode = "202", description = "Accepted into the write-behind buffer (rewards.ingestion.mode=write-behind) and saved shortly after", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Transaction accepted and will be saved shortly.")))
 	@ApiResponse(responseCode = "400", description = "Failure", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Invalid Request Payload!")))
+	@ApiResponse(responseCode = "429", description = "The write-behind buffer is full", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Too many pending transactions. Please retry later.")))
 	@PostMapping("/transaction")
 	public ResponseEntity<String> addCustomerTransaction(
 			@Valid @RequestBody @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(schema = @Schema(implementation = CustomerTransactionDTO.class), examples = {
 					@ExampleObject(name = "Customer Transaction payload", description = "Sample payload to test the API", value = "{\"customerId\": \"CUST001\", \"customerName\": \"Kamesh Raj\", \"transactionId\": \"TXN123\", \"amount\": 75.50, \"transactionDate\": \"2025-04-01T10:00:00\"}") })) CustomerTransactionDTO customerTransactionDTO) {
-		log.info("Calling service to save customer data : " + customerTransactionDTO);
-		rewardsService.addCustomerTransaction(customerTransactionDTO);
+		log.info("Calling service to save transaction {} for customer {}", customerTransactionDTO.getTransactionId(),
+				customerTransactionDTO.getCustomerId());
+		TransactionResultStatus status = transactionWriteBehindService.isEnabled()
+				? transactionWriteBehindService.enqueue(customerTransactionDTO)
+				: rewardsService.addCustomerTransaction(customerTransactionDTO);
+		if (status == TransactionResultStatus.ACCEPTED) {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body("Transaction accepted and will be saved shortly.");
+		}
+		if (status == TransactionResultStatus.THROTTLED) {
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+					.body("Too many pending transactions. Please retry later.");
+		}
+		if (status == TransactionResultStatus.ALREADY_RECORDED) {
+			return ResponseEntity.ok("Transaction already recorded.");
+		}
+		if (status == TransactionResultStatus.FAILED) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.body("Transaction could not be saved. Please try again later.");
+		}
 		return ResponseEntity.ok("Customer and Transaction saved successfully!");
 	}
 
-	@Operation(summary = "Get reward points for a customer", description = "Retrieves reward points, transaction details, and monthly points for a specific customer, optionally within a date range.")
+	@Operation(summary = "Record a batch of customer transactions", description = "Endpoint to save many customers and transactions in one request. Every item is validated individually and its outcome is reported in submission order.")
+	@ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(schema = @Schema(implementation = BatchTransactionResponseDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Empty or oversized batch", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@PostMapping("/transactions/batch")
+	public ResponseEntity<BatchTransactionResponseDTO> addCustomerTransactions(
+			@RequestBody List<CustomerTransactionDTO> customerTransactionDTOs) {
+		if (customerTransactionDTOs == null || customerTransactionDTOs.isEmpty()) {
+			throw new IllegalArgumentException("Batch must contain at least one transaction.");
+		}
+		if (customerTransactionDTOs.size() > maxBatchSize) {
+			throw new IllegalArgumentException(
+					"Batch size exceeds the limit of " + maxBatchSize + " transactions.");
+		}
+		log.info("Calling service to save batch of {} transactions", customerTransactionDTOs.size());
+		return ResponseEntity.ok(rewardsService.addCustomerTransactions(customerTransactionDTOs));
+	}
+
+	@Operation(summary = "Import a transaction file", description = "Streams an NDJSON or CSV file of transactions from the request body and saves it in bounded chunks. Re-sending the same file with the same import ID resumes after the last committed chunk.")
+	@ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = ImportResultDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Missing import ID or unsupported format", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Rows failed to save; the import stopped at the last checkpoint and can be resumed", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@PostMapping(value = "/transactions/import", consumes = { "application/x-ndjson", "text/csv",
+			"application/octet-stream" })
+	public ResponseEntity<ImportResultDTO> importCustomerTransactions(
+			@Parameter(description = "Identifier used to checkpoint and resume the import", required = true, example = "pos-archive-2024") @RequestParam String importId,
+			@Parameter(description = "Format of the file (ndjson or csv)", example = "ndjson") @RequestParam(defaultValue = "ndjson") String format,
+			InputStream inputStream) {
+		log.info("Calling service to import transactions for import ID: {}", importId);
+		return ResponseEntity.ok(transactionImportService.importTransactions(importId, format, inputStream));
+	}
+
+	@Operation(summary = "Get reward points for a customer", description = "Retrieves reward points, transaction details, and monthly points for a specific customer, optionally within a date range. Passing a limit or cursor returns the transactions one page at a time, ordered by date, and includeTransactions=false returns only the points.")
 	@ApiResponse(responseCode = "200", description = "Successfully retrieved customer reward details", content = @Content(schema = @Schema(implementation = CustomerDetailsDTO.class)))
-	@ApiResponse(responseCode = "400", description = "Invalid Customer ID or date range", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Invalid Customer ID, date range, limit or cursor", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
 	@ApiResponse(responseCode = "404", description = "Customer not found or no transactions found for the given criteria", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
 	@ApiResponse(responseCode = "500", description = "Unexpected error occurred", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@ApiResponse(responseCode = "503", description = "Every lookup thread and queue slot is taken; retry after the Retry-After delay", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
 	@GetMapping("/customers/{customerId}")
 	public ResponseEntity<CustomerDetailsDTO> getCustomerReward(
 			@Parameter(description = "ID of the customer to retrieve rewards for", required = true, example = "CUST001") @PathVariable String customerId,
 			@Parameter(description = "Start date for filtering transactions (YYYY-MM-DD)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
-			@Parameter(description = "End date for filtering transactions (YYYY-MM-DD)", example = "2025-03-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+			@Parameter(description = "End date for filtering transactions (YYYY-MM-DD)", example = "2025-03-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+			@Parameter(description = "Whether to include the transactions in the response", example = "true") @RequestParam(defaultValue = "true") boolean includeTransactions,
+			@Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Maximum number of transactions in the page", example = "100") @RequestParam(required = false) Integer limit) {
 
 		log.info("Fetching reward points for customerId: {}", customerId);
-		CustomerDetailsDTO customerDetailsDTO = rewardsService.getCustomerRewards(customerId, fromDate, toDate);
+		CustomerDetailsDTO customerDetailsDTO = rewardsService.getCustomerRewards(customerId, fromDate, toDate,
+				new RewardsQueryOptions(includeTransactions, cursor, limit));
 		return new ResponseEntity<>(customerDetailsDTO, HttpStatus.OK);
 	}
+
+	@Operation(summary = "Get reward points for many customers", description = "Retrieves the monthly and total points of up to rewards.query.max-customers customers, optionally within a date range, using one customer query and one transaction query.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved the points", content = @Content(schema = @Schema(implementation = CustomerRewardsQueryResponseDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Empty or oversized query, invalid Customer ID or date range", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@PostMapping("/customers/query")
+	public ResponseEntity<CustomerRewardsQueryResponseDTO> queryCustomerRewards(
+			@RequestBody CustomerRewardsQueryDTO customerRewardsQueryDTO) {
+		List<String> customerIds = customerRewardsQueryDTO.getCustomerIds();
+		if (customerIds == null || customerIds.isEmpty()) {
+			throw new IllegalArgumentException("Query must contain at least one customer ID.");
+		}
+		if (customerIds.size() > maxQueryCustomers) {
+			throw new IllegalArgumentException(
+					"Query size exceeds the limit of " + maxQueryCustomers + " customers.");
+		}
+		log.info("Fetching reward points for {} customers", customerIds.size());
+		return ResponseEntity.ok(rewardsService.getCustomersRewards(customerIds,
+				customerRewardsQueryDTO.getFromDate(), customerRewardsQueryDTO.getToDate()));
+	}
+
+	@Operation(summary = "Stream the transactions of a customer", description = "Writes the customer's transactions as newline-delimited JSON, ordered by date, while they are read from the database.")
+	@ApiResponse(responseCode = "200", description = "Transactions streamed", content = @Content(mediaType = NDJSON_VALUE, schema = @Schema(implementation = TransactionDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Invalid Customer ID or date range", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@ApiResponse(responseCode = "404", description = "Customer not found", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@GetMapping(value = "/customers/{customerId}/transactions", produces = NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamCustomerTransactions(
+			@Parameter(description = "ID of the customer to stream transactions for", required = true, example = "CUST001") @PathVariable String customerId,
+			@Parameter(description = "Start date for filtering transactions (YYYY-MM-DD)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+			@Parameter(description = "End date for filtering transactions (YYYY-MM-DD)", example = "2025-03-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+
+		log.info("Streaming transactions for customerId: {}", customerId);
+		Stream<TransactionDTO> transactions = rewardsService.streamCustomerTransactions(customerId, fromDate, toDate);
+		ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+		StreamingResponseBody body = outputStream -> {
+			try (Stream<TransactionDTO> stream = transactions) {
+				Iterator<TransactionDTO> iterator = stream.iterator();
+				while (iterator.hasNext()) {
+					writer.writeValue(outputStream, iterator.next());
+					outputStream.write('\n');
+				}
+			}
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+	}
+
+	@Operation(summary = "Get the customers with the most reward points", description = "Returns the top customers by points, all-time or within a date range, from an in-memory ranking kept up to date as transactions are saved. Date ranges are widened to whole calendar months and can start at most rewards.leaderboard.retained-months months back.")
+	@ApiResponse(responseCode = "200", description = "Successfully retrieved the leaderboard", content = @Content(schema = @Schema(implementation = LeaderboardDTO.class)))
+	@ApiResponse(responseCode = "400", description = "Invalid limit or date range", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@GetMapping("/leaderboard")
+	public ResponseEntity<LeaderboardDTO> getLeaderboard(
+			@Parameter(description = "Start date of the window (YYYY-MM-DD)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@Parameter(description = "End date of the window (YYYY-MM-DD)", example = "2025-03-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@Parameter(description = "Number of customers to return", example = "10") @RequestParam(required = false) Integer limit) {
+		log.info("Fetching leaderboard from {} to {}", from, to);
+		return ResponseEntity.ok(leaderboardService.getLeaderboard(from, to, limit));
+	}
+
+	@Operation(summary = "Rebuild the monthly points aggregate", description = "Regenerates the customer_monthly_points collection from the transactions collection into a staging collection and swaps it in. Reads keep using the previous totals until the swap.")
+	@ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Monthly points rebuilt from 1200 transactions.")))
+	@ApiResponse(responseCode = "409", description = "Another instance is rebuilding the aggregate", content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+	@PostMapping("/admin/monthly-points/rebuild")
+	public ResponseEntity<String> rebuildMonthlyPoints() {
+		log.info("Calling service to rebuild monthly points aggregate");
+		long transactionCount = monthlyPointsService.rebuildMonthlyPoints();
+		return ResponseEntity.ok("Monthly points rebuilt from " + transactionCount + " transactions.");
+	}
+
+	@Operation(summary = "Reload the reward rules", description = "Recompiles the reward campaigns from the configured source (rewards.rules.source) and swaps them in atomically. If the points change, the monthly points aggregate is rebuilt in the background and full-history reads compute points from the transactions until it completes.")
+	@ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "Reward rules reloaded with 3 campaigns.")))
+	@PostMapping("/admin/reward-rules/reload")
+	public ResponseEntity<String> reloadRewardRules() {
+		log.info("Calling service to reload reward rules");
+		int campaignCount = rewardRulesService.reloadRules();
+		return ResponseEntity.ok("Reward rules reloaded with " + campaignCount + " campaigns.");
+	}
 }
\ No newline at end of file
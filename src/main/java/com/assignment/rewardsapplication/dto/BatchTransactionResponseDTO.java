@@ -0,0 +1,30 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the per-item outcome of a transaction batch")
+public class BatchTransactionResponseDTO {
+
+	@Schema(description = "Number of transactions received in the batch", example = "3")
+	private int received;
+
+	@Schema(description = "Number of transactions saved", example = "2")
+	private int saved;
+
+	@Schema(description = "Number of transactions skipped because they were recorded before", example = "0")
+	private int alreadyRecorded;
+
+	@Schema(description = "Number of transactions that were rejected or failed", example = "1")
+	private int rejected;
+
+	@Schema(description = "Outcome of every transaction, in submission order")
+	private List<TransactionResultDTO> results;
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.assignment.rewardsapplication.dto;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -17,6 +18,7 @@ public class Customer {
 	@Id
 	private String id;
 
+	@Indexed(name = "customer_id_idx", unique = true)
 	@Field("customer_id")
 	private String customerId;
 
@@ -2,6 +2,8 @@ package com.assignment.rewardsapplication.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,7 +21,8 @@ public class CustomerDetailsDTO {
 	@Schema(description = "Name of the customer", example = "John Doe")
 	private String customerName;
 
-	@Schema(description = "List of individual transactions for the customer")
+	@Schema(description = "List of individual transactions for the customer, omitted when includeTransactions is false")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
 	private List<TransactionDTO> transaction;
 
 	@Schema(description = "List of monthly reward points for the customer")
@@ -27,4 +30,8 @@ public class CustomerDetailsDTO {
 
 	@Schema(description = "Total reward points accumulated by the customer", example = "210")
 	private int totalPoints;
+
+	@Schema(description = "Cursor for the next page of transactions, present only when more transactions exist", example = "MjAyNS0wMy0xNVQxMDowMHw2NjQxZjE")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
 }
\ No newline at end of file
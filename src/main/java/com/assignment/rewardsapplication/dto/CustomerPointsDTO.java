@@ -0,0 +1,27 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the reward points of one customer in a bulk query")
+public class CustomerPointsDTO {
+
+	@Schema(description = "Unique identifier of the customer", example = "CUST001")
+	private String customerId;
+
+	@Schema(description = "Name of the customer", example = "John Doe")
+	private String customerName;
+
+	@Schema(description = "List of monthly reward points for the customer")
+	private List<MonthlyPointsDTO> monthlyPoints;
+
+	@Schema(description = "Total reward points accumulated by the customer", example = "210")
+	private int totalPoints;
+}
\ No newline at end of file
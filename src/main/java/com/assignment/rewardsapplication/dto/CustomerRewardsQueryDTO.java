@@ -0,0 +1,25 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents a request for the reward points of many customers")
+public class CustomerRewardsQueryDTO {
+
+	@Schema(description = "IDs of the customers to retrieve points for", example = "[\"CUST001\", \"CUST002\"]")
+	private List<String> customerIds;
+
+	@Schema(description = "Start date for filtering transactions (YYYY-MM-DD)", example = "2025-01-01")
+	private LocalDate fromDate;
+
+	@Schema(description = "End date for filtering transactions (YYYY-MM-DD)", example = "2025-03-31")
+	private LocalDate toDate;
+}
\ No newline at end of file
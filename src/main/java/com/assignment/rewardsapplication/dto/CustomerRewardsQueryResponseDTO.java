@@ -0,0 +1,27 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the reward points of the customers in a bulk query")
+public class CustomerRewardsQueryResponseDTO {
+
+	@Schema(description = "Number of distinct customer IDs requested", example = "3")
+	private int requested;
+
+	@Schema(description = "Number of customers found", example = "2")
+	private int found;
+
+	@Schema(description = "Points of every customer found, in request order")
+	private List<CustomerPointsDTO> customers;
+
+	@Schema(description = "Requested customer IDs that do not exist", example = "[\"CUST999\"]")
+	private List<String> notFound;
+}
\ No newline at end of file
@@ -8,6 +8,12 @@ import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.Size;
 
+import com.assignment.rewardsapplication.utils.CentsJsonDeserializer;
+import com.assignment.rewardsapplication.utils.CentsJsonSerializer;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -33,12 +39,18 @@ public class CustomerTransactionDTO {
 	@NotBlank(message = "Transaction ID is required and cannot be empty.")
 	private String transactionId;
 
-	@Schema(description = "Amount of the transaction", example = "75.50")
+	@Schema(name = "amount", description = "Amount of the transaction, with at most two decimal places", example = "75.50", type = "number")
 	@NotNull(message = "Amount is required.")
 	@Positive(message = "Amount must be a positive value.")
-	private Double amount;
+	@JsonProperty("amount")
+	@JsonSerialize(using = CentsJsonSerializer.class)
+	@JsonDeserialize(using = CentsJsonDeserializer.class)
+	private Long amountCents;
 
 	@Schema(description = "Date and time of the transaction", example = "2024-05-14T15:45:00")
 	@NotNull(message = "Transaction date is required.")
 	private LocalDateTime transactionDate;
+
+	@Schema(description = "Optional purchase category used for campaign multipliers", example = "GROCERY")
+	private String category;
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "import_checkpoints")
+public class ImportCheckpoint {
+
+	@Id
+	private String importId;
+
+	@Field("lines_committed")
+	private long linesCommitted;
+
+	@Field("rows_imported")
+	private long rowsImported;
+
+	@Field("rows_rejected")
+	private long rowsRejected;
+
+	@Field("completed")
+	private boolean completed;
+
+	@Field("updated_at")
+	private LocalDateTime updatedAt;
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.assignment.rewardsapplication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the outcome of a streaming transaction import")
+public class ImportResultDTO {
+
+	@Schema(description = "Identifier used to checkpoint and resume the import", example = "pos-archive-2024")
+	private String importId;
+
+	@Schema(description = "Format of the imported file", example = "ndjson")
+	private String format;
+
+	@Schema(description = "Rows skipped because an earlier run already committed them", example = "0")
+	private long rowsSkipped;
+
+	@Schema(description = "Rows read in this run", example = "50000")
+	private long rowsRead;
+
+	@Schema(description = "Rows saved in this run", example = "49990")
+	private long rowsImported;
+
+	@Schema(description = "Rows that could not be parsed, failed validation or could not be saved", example = "10")
+	private long rowsRejected;
+
+	@Schema(description = "Duration of this run in milliseconds", example = "2500")
+	private long elapsedMillis;
+
+	@Schema(description = "Throughput of this run in rows per second", example = "20000.0")
+	private double rowsPerSecond;
+}
\ No newline at end of file
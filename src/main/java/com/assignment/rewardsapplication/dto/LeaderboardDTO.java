@@ -0,0 +1,29 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the customers with the most reward points in a window")
+public class LeaderboardDTO {
+
+	@Schema(description = "First day of the window, widened to the start of its month; omitted for all-time", example = "2025-01-01")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private LocalDate fromDate;
+
+	@Schema(description = "Last day of the window, widened to the end of its month; omitted for all-time", example = "2025-03-31")
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private LocalDate toDate;
+
+	@Schema(description = "Customers ordered by points, highest first")
+	private List<LeaderboardEntryDTO> entries;
+}
\ No newline at end of file
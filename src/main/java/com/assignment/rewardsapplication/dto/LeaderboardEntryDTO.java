@@ -0,0 +1,25 @@
+package com.assignment.rewardsapplication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents one customer on the leaderboard")
+public class LeaderboardEntryDTO {
+
+	@Schema(description = "Position on the leaderboard, starting at 1", example = "1")
+	private int rank;
+
+	@Schema(description = "Unique identifier of the customer", example = "CUST001")
+	private String customerId;
+
+	@Schema(description = "Name of the customer", example = "John Doe")
+	private String customerName;
+
+	@Schema(description = "Reward points earned in the window", example = "1250")
+	private long points;
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.assignment.rewardsapplication.dto;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "customer_monthly_points")
+@CompoundIndex(name = "customer_month_idx", def = "{'customer_id': 1, 'year': 1, 'month': 1}", unique = true)
+public class MonthlyPoints {
+
+	@Id
+	private String id;
+
+	@Field("customer_id")
+	private String customerId;
+
+	@Field("year")
+	private int year;
+
+	@Field("month")
+	private int month;
+
+	@Field("points")
+	private int points;
+}
\ No newline at end of file
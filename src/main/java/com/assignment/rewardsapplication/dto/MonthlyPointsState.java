@@ -0,0 +1,38 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "monthly_points_state")
+public class MonthlyPointsState {
+
+	@Id
+	private String id;
+
+	// Set by the first rebuild that completes; until then the aggregate is not read
+	@Field("completed_at")
+	private LocalDateTime completedAt;
+
+	@Field("transaction_count")
+	private long transactionCount;
+
+	// RewardRules version the completed rebuild computed the points with
+	@Field("rules_version")
+	private String rulesVersion;
+
+	@Field("rebuild_owner")
+	private String rebuildOwner;
+
+	@Field("rebuild_lease_until")
+	private LocalDateTime rebuildLeaseUntil;
+}
\ No newline at end of file
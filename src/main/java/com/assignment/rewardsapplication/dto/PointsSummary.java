@@ -0,0 +1,17 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PointsSummary {
+
+	private int totalPoints;
+
+	private List<MonthlyPointsDTO> monthlyPoints;
+}
\ No newline at end of file
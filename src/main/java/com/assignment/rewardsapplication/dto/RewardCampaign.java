@@ -0,0 +1,43 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "reward_campaigns")
+public class RewardCampaign {
+
+	@Id
+	private String id;
+
+	@Field("name")
+	private String name;
+
+	@Field("effective_from")
+	private LocalDate effectiveFrom;
+
+	@Field("effective_to")
+	private LocalDate effectiveTo;
+
+	@Field("tiers")
+	private List<RewardTier> tiers = new ArrayList<>();
+
+	@Field("category_multiplier_percents")
+	private Map<String, Integer> categoryMultiplierPercents = new HashMap<>();
+
+	@Field("max_points_per_transaction")
+	private Integer maxPointsPerTransaction;
+}
\ No newline at end of file
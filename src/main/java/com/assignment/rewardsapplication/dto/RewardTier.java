@@ -0,0 +1,19 @@
+package com.assignment.rewardsapplication.dto;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardTier {
+
+	@Field("threshold_cents")
+	private long thresholdCents;
+
+	@Field("points_per_dollar")
+	private int pointsPerDollar;
+}
\ No newline at end of file
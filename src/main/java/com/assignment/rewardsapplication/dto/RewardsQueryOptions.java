@@ -0,0 +1,17 @@
+package com.assignment.rewardsapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RewardsQueryOptions {
+
+	private boolean includeTransactions = true;
+
+	private String cursor;
+
+	private Integer limit;
+}
\ No newline at end of file
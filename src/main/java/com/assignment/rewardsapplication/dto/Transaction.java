@@ -6,6 +6,8 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import lombok.AllArgsConstructor;
@@ -16,6 +18,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "transactions")
+@CompoundIndexes({
+		@CompoundIndex(name = "customer_date_idx", def = "{'customer_id': 1, 'transaction_date': 1, '_id': 1}"),
+		@CompoundIndex(name = "customer_transaction_idx", def = "{'customer_id': 1, 'transaction_id': 1}", unique = true),
+		@CompoundIndex(name = "customer_points_idx", def = "{'customer_id': 1, 'transaction_date': 1, 'amount_cents': 1, 'category': 1, '_id': 1}") })
 public class Transaction {
 
 	@Id
@@ -29,13 +35,15 @@ public class Transaction {
 	@Field("customer_id")
 	private String customerId;
 
-	@NotNull
 	@Positive
-	@Field("amount")
-	private Double amount;
+	@Field("amount_cents")
+	private long amountCents;
 
 	@NotNull
 	@Field("transaction_date")
 	private LocalDateTime transactionDate;
 
+	@Field("category")
+	private String category;
+
 }
\ No newline at end of file
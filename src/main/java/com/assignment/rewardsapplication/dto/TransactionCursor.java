@@ -0,0 +1,17 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionCursor {
+
+	private LocalDateTime transactionDate;
+
+	private String id;
+}
\ No newline at end of file
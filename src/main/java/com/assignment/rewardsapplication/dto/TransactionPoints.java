@@ -0,0 +1,28 @@
+package com.assignment.rewardsapplication.dto;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The fields of a transaction that reward points are calculated from, read without the rest of the document
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPoints {
+
+	@Field("customer_id")
+	private String customerId;
+
+	@Field("amount_cents")
+	private long amountCents;
+
+	@Field("transaction_date")
+	private LocalDateTime transactionDate;
+
+	@Field("category")
+	private String category;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.assignment.rewardsapplication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Represents the outcome of a single transaction within a batch")
+public class TransactionResultDTO {
+
+	@Schema(description = "Position of the transaction in the submitted batch", example = "0")
+	private int index;
+
+	@Schema(description = "Unique identifier for the transaction", example = "TXN123")
+	private String transactionId;
+
+	@Schema(description = "Identifier of the customer who made the transaction", example = "CUST001")
+	private String customerId;
+
+	@Schema(description = "Outcome of the transaction", example = "CREATED")
+	private TransactionResultStatus status;
+
+	@Schema(description = "Reason for the outcome when the transaction was not created", example = "Amount must be a positive value.")
+	private String message;
+}
\ No newline at end of file
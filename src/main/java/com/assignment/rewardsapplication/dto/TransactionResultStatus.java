@@ -0,0 +1,5 @@
+package com.assignment.rewardsapplication.dto;
+
+public enum TransactionResultStatus {
+	CREATED, ACCEPTED, ALREADY_RECORDED, INVALID, THROTTLED, FAILED
+}
\ No newline at end of file
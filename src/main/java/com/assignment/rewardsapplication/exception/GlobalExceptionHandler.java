@@ -1,16 +1,21 @@
 package com.assignment.rewardsapplication.exception;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import com.assignment.rewardsapplication.dto.ErrorResponseDTO;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import java.util.HashMap;
 import java.util.Map;
 
+@Profile("!reactive")
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -25,6 +30,16 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
 	}
 
+	@ExceptionHandler(HttpMessageNotReadableException.class)
+	public ResponseEntity<ErrorResponseDTO> handleMessageNotReadableException(HttpMessageNotReadableException ex,
+			WebRequest request) {
+		String message = ex.getCause() instanceof InvalidFormatException
+				? ((InvalidFormatException) ex.getCause()).getOriginalMessage()
+				: "Malformed request body.";
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.BAD_REQUEST, message);
+		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+	}
+
 	@ExceptionHandler(CustomerNotFoundException.class)
 	public ResponseEntity<ErrorResponseDTO> handleCustomerNotFoundException(CustomerNotFoundException ex,
 			WebRequest request) {
@@ -32,6 +47,35 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
 	}
 
+	@ExceptionHandler(RewardsTimeoutException.class)
+	public ResponseEntity<ErrorResponseDTO> handleRewardsTimeoutException(RewardsTimeoutException ex,
+			WebRequest request) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+	}
+
+	@ExceptionHandler(RewardsOverloadedException.class)
+	public ResponseEntity<ErrorResponseDTO> handleRewardsOverloadedException(RewardsOverloadedException ex,
+			WebRequest request) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+				.body(errorResponse);
+	}
+
+	@ExceptionHandler(TransactionImportException.class)
+	public ResponseEntity<ErrorResponseDTO> handleTransactionImportException(TransactionImportException ex,
+			WebRequest request) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler(RebuildInProgressException.class)
+	public ResponseEntity<ErrorResponseDTO> handleRebuildInProgressException(RebuildInProgressException ex,
+			WebRequest request) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.CONFLICT, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+	}
+
 	@ExceptionHandler(IllegalArgumentException.class)
 	public ResponseEntity<ErrorResponseDTO> handleIllegalArgumentException(IllegalArgumentException ex,
 			WebRequest request) {
@@ -0,0 +1,53 @@
+package com.assignment.rewardsapplication.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.assignment.rewardsapplication.dto.ErrorResponseDTO;
+
+@Profile("reactive")
+@ControllerAdvice
+public class ReactiveExceptionHandler {
+
+	@ExceptionHandler(WebExchangeBindException.class)
+	public ResponseEntity<ErrorResponseDTO> handleValidationErrors(WebExchangeBindException ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.BAD_REQUEST, "Validation failed for request.");
+		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(ServerWebInputException.class)
+	public ResponseEntity<ErrorResponseDTO> handleServerWebInputException(ServerWebInputException ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.BAD_REQUEST, ex.getReason());
+		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(CustomerNotFoundException.class)
+	public ResponseEntity<ErrorResponseDTO> handleCustomerNotFoundException(CustomerNotFoundException ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.NOT_FOUND, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+	}
+
+	@ExceptionHandler(RewardsTimeoutException.class)
+	public ResponseEntity<ErrorResponseDTO> handleRewardsTimeoutException(RewardsTimeoutException ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ResponseEntity<ErrorResponseDTO> handleIllegalArgumentException(IllegalArgumentException ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.BAD_REQUEST, ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(Exception.class)
+	public ResponseEntity<ErrorResponseDTO> handleGenericException(Exception ex) {
+		ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.INTERNAL_SERVER_ERROR,
+				"An unexpected error occurred. Please try again later.");
+		return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.assignment.rewardsapplication.exception;
+
+public class RebuildInProgressException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RebuildInProgressException(String message) {
+		super(message);
+	}
+}
\ No newline at end of file
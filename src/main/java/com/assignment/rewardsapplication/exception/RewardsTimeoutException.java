@@ -0,0 +1,10 @@
+package com.assignment.rewardsapplication.exception;
+
+public class RewardsTimeoutException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public RewardsTimeoutException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
\ No newline at end of file
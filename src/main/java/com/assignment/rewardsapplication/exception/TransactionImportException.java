@@ -0,0 +1,10 @@
+package com.assignment.rewardsapplication.exception;
+
+public class TransactionImportException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public TransactionImportException(String message) {
+		super(message);
+	}
+}
\ No newline at end of file
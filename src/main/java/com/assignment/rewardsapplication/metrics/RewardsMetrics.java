@@ -0,0 +1,51 @@
+package com.assignment.rewardsapplication.metrics;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class RewardsMetrics {
+
+	public static final String SERVICE_TIMER = "rewards.service";
+
+	public static final String SERVICE_TRANSACTIONS = "rewards.service.transactions";
+
+	private static final String NO_EXCEPTION = "none";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	public <T> T timeService(String method, Supplier<T> call) {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String exception = NO_EXCEPTION;
+		try {
+			return call.get();
+		} catch (RuntimeException e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(SERVICE_TIMER).description("Time spent in rewards service calls")
+					.tags("method", method, "exception", exception).publishPercentileHistogram()
+					.register(meterRegistry));
+		}
+	}
+
+	public void timeService(String method, Runnable call) {
+		timeService(method, () -> {
+			call.run();
+			return null;
+		});
+	}
+
+	public void recordTransactions(String method, int transactions) {
+		DistributionSummary.builder(SERVICE_TRANSACTIONS).description("Transactions handled per rewards service call")
+				.baseUnit("transactions").tag("method", method).publishPercentileHistogram().register(meterRegistry)
+				.record(transactions);
+	}
+}
\ No newline at end of file
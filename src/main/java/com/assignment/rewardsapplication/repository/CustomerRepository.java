@@ -1,11 +1,16 @@
 package com.assignment.rewardsapplication.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.assignment.rewardsapplication.dto.Customer;
 
-public interface CustomerRepository extends MongoRepository<Customer, String> {
+public interface CustomerRepository extends MongoRepository<Customer, String>, CustomerRepositoryCustom {
 
 	Customer findByCustomerId(String customerId);
 
+	List<Customer> findByCustomerIdIn(Collection<String> customerIds);
+
 }
\ No newline at end of file
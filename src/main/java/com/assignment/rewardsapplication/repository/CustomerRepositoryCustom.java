@@ -0,0 +1,18 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.mongodb.bulk.BulkWriteError;
+
+public interface CustomerRepositoryCustom {
+
+	Map<Integer, BulkWriteError> bulkInsert(List<Customer> customers);
+
+	boolean insertIfAbsent(Customer customer);
+
+	Customer findCustomer(String customerId, Duration maxTime);
+
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.mongodb.bulk.BulkWriteError;
+
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Override
+	public Map<Integer, BulkWriteError> bulkInsert(List<Customer> customers) {
+		Map<Integer, BulkWriteError> errors = new HashMap<>();
+		if (customers.isEmpty()) {
+			return errors;
+		}
+		try {
+			mongoTemplate.bulkOps(BulkMode.UNORDERED, Customer.class).insert(customers).execute();
+		} catch (BulkOperationException e) {
+			for (BulkWriteError error : e.getErrors()) {
+				errors.put(error.getIndex(), error);
+			}
+		}
+		return errors;
+	}
+
+	@Override
+	public boolean insertIfAbsent(Customer customer) {
+		Query query = new Query(where("customerId").is(customer.getCustomerId()));
+		Update update = new Update().setOnInsert("customerName", customer.getCustomerName());
+		try {
+			return mongoTemplate.upsert(query, update, Customer.class).getUpsertedId() != null;
+		} catch (DuplicateKeyException e) {
+			// Two upserts raced on the unique customer_id index and the other one created the customer
+			return false;
+		}
+	}
+
+	@Override
+	public Customer findCustomer(String customerId, Duration maxTime) {
+		return mongoTemplate.findOne(new Query(where("customerId").is(customerId)).maxTime(maxTime), Customer.class);
+	}
+}
\ No newline at end of file
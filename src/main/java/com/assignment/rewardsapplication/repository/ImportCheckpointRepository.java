@@ -0,0 +1,9 @@
+package com.assignment.rewardsapplication.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.assignment.rewardsapplication.dto.ImportCheckpoint;
+
+public interface ImportCheckpointRepository extends MongoRepository<ImportCheckpoint, String> {
+
+}
\ No newline at end of file
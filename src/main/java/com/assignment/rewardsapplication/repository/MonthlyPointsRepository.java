@@ -0,0 +1,13 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+public interface MonthlyPointsRepository extends MongoRepository<MonthlyPoints, String>, MonthlyPointsRepositoryCustom {
+
+	List<MonthlyPoints> findByCustomerIdOrderByYearAscMonthAsc(String customerId);
+
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.util.List;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+public interface MonthlyPointsRepositoryCustom {
+
+	void incrementPoints(List<MonthlyPoints> deltas);
+
+	void incrementPoints(List<MonthlyPoints> deltas, String collection);
+
+	void resetStagingCollection(String collection);
+
+	void promoteStagingCollection(String collection);
+
+}
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+public class MonthlyPointsRepositoryCustomImpl implements MonthlyPointsRepositoryCustom {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoMappingContext mongoMappingContext;
+
+	@Override
+	public void incrementPoints(List<MonthlyPoints> deltas) {
+		incrementPoints(deltas, mongoTemplate.getCollectionName(MonthlyPoints.class));
+	}
+
+	@Override
+	public void incrementPoints(List<MonthlyPoints> deltas, String collection) {
+		if (deltas.isEmpty()) {
+			return;
+		}
+		if (deltas.size() == 1) {
+			MonthlyPoints delta = deltas.get(0);
+			mongoTemplate.upsert(monthQuery(delta), new Update().inc("points", delta.getPoints()), MonthlyPoints.class,
+					collection);
+			return;
+		}
+		List<Pair<Query, Update>> updates = new ArrayList<>(deltas.size());
+		for (MonthlyPoints delta : deltas) {
+			updates.add(Pair.of(monthQuery(delta), new Update().inc("points", delta.getPoints())));
+		}
+		mongoTemplate.bulkOps(BulkMode.UNORDERED, MonthlyPoints.class, collection).upsert(updates).execute();
+	}
+
+	// An empty copy with the same indexes as the live collection, so upserts into it stay index lookups
+	@Override
+	public void resetStagingCollection(String collection) {
+		mongoTemplate.dropCollection(collection);
+		IndexOperations indexOperations = mongoTemplate.indexOps(collection);
+		new MongoPersistentEntityIndexResolver(mongoMappingContext).resolveIndexFor(MonthlyPoints.class)
+				.forEach(indexOperations::ensureIndex);
+	}
+
+	@Override
+	public void promoteStagingCollection(String collection) {
+		MongoNamespace live = new MongoNamespace(mongoTemplate.getDb().getName(),
+				mongoTemplate.getCollectionName(MonthlyPoints.class));
+		mongoTemplate.getCollection(collection).renameCollection(live, new RenameCollectionOptions().dropTarget(true));
+	}
+
+	private Query monthQuery(MonthlyPoints delta) {
+		return new Query(where("customerId").is(delta.getCustomerId()).and("year").is(delta.getYear()).and("month")
+				.is(delta.getMonth()));
+	}
+}
\ No newline at end of file
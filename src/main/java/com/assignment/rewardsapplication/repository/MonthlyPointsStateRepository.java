@@ -0,0 +1,10 @@
+package com.assignment.rewardsapplication.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.assignment.rewardsapplication.dto.MonthlyPointsState;
+
+public interface MonthlyPointsStateRepository
+		extends MongoRepository<MonthlyPointsState, String>, MonthlyPointsStateRepositoryCustom {
+
+}
\ No newline at end of file
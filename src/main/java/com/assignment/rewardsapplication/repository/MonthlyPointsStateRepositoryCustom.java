@@ -0,0 +1,15 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.time.Duration;
+
+public interface MonthlyPointsStateRepositoryCustom {
+
+	boolean acquireRebuildLease(String id, String owner, Duration lease);
+
+	void extendRebuildLease(String id, String owner, Duration lease);
+
+	void completeRebuild(String id, String owner, long transactionCount, String rulesVersion);
+
+	void releaseRebuildLease(String id, String owner);
+
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.assignment.rewardsapplication.dto.MonthlyPointsState;
+
+public class MonthlyPointsStateRepositoryCustomImpl implements MonthlyPointsStateRepositoryCustom {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Override
+	public boolean acquireRebuildLease(String id, String owner, Duration lease) {
+		LocalDateTime now = LocalDateTime.now();
+		Query query = new Query(where("id").is(id).orOperator(where("rebuildLeaseUntil").is(null),
+				where("rebuildLeaseUntil").lt(now)));
+		Update update = new Update().set("rebuildOwner", owner).set("rebuildLeaseUntil", now.plus(lease));
+		try {
+			mongoTemplate.upsert(query, update, MonthlyPointsState.class);
+			return true;
+		} catch (DuplicateKeyException e) {
+			// The document exists and its lease has not expired, so the upsert tried to insert a second one
+			return false;
+		}
+	}
+
+	@Override
+	public void extendRebuildLease(String id, String owner, Duration lease) {
+		mongoTemplate.updateFirst(ownerQuery(id, owner),
+				new Update().set("rebuildLeaseUntil", LocalDateTime.now().plus(lease)), MonthlyPointsState.class);
+	}
+
+	@Override
+	public void completeRebuild(String id, String owner, long transactionCount, String rulesVersion) {
+		mongoTemplate.updateFirst(ownerQuery(id, owner),
+				new Update().set("completedAt", LocalDateTime.now()).set("transactionCount", transactionCount)
+						.set("rulesVersion", rulesVersion).unset("rebuildOwner").unset("rebuildLeaseUntil"),
+				MonthlyPointsState.class);
+	}
+
+	@Override
+	public void releaseRebuildLease(String id, String owner) {
+		mongoTemplate.updateFirst(ownerQuery(id, owner), new Update().unset("rebuildOwner").unset("rebuildLeaseUntil"),
+				MonthlyPointsState.class);
+	}
+
+	private Query ownerQuery(String id, String owner) {
+		return new Query(where("id").is(id).and("rebuildOwner").is(owner));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.assignment.rewardsapplication.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+
+public interface RewardCampaignRepository extends MongoRepository<RewardCampaign, String> {
+
+}
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.assignment.rewardsapplication.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -9,10 +10,15 @@ import org.springframework.stereotype.Repository;
 import com.assignment.rewardsapplication.dto.Transaction;
 
 @Repository
-public interface TransactionRepository extends MongoRepository<Transaction, String> {
+public interface TransactionRepository extends MongoRepository<Transaction, String>, TransactionRepositoryCustom {
 	List<Transaction> findByCustomerId(String customerId);
 
 	List<Transaction> findByCustomerIdAndTransactionDateBetween(String customerId, LocalDateTime fromDate,
 			LocalDateTime toDate);
 
+	Stream<Transaction> streamByCustomerIdOrderByTransactionDateAscIdAsc(String customerId);
+
+	Stream<Transaction> streamByCustomerIdAndTransactionDateBetweenOrderByTransactionDateAscIdAsc(String customerId,
+			LocalDateTime fromDate, LocalDateTime toDate);
+
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.bson.types.ObjectId;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.mongodb.bulk.BulkWriteError;
+
+public interface TransactionRepositoryCustom {
+
+	Map<Integer, BulkWriteError> bulkInsert(List<Transaction> transactions);
+
+	List<MonthlyPoints> aggregateMonthlyPoints(String customerId, LocalDateTime from, LocalDateTime to,
+			RewardRules rules);
+
+	Stream<MonthlyPoints> streamMonthlyPoints(RewardRules rules, ObjectId upTo);
+
+	Stream<TransactionPoints> streamTransactionPoints(Collection<String> customerIds, LocalDateTime from,
+			LocalDateTime to);
+
+	Stream<TransactionPoints> streamAllTransactionPoints(ObjectId upTo);
+
+	long countTransactionsAfter(ObjectId after);
+
+	List<Transaction> findTransactionPage(String customerId, LocalDateTime from, LocalDateTime to,
+			TransactionCursor after, int limit);
+
+	List<Transaction> findCustomerTransactions(String customerId, LocalDateTime from, LocalDateTime to,
+			Duration maxTime);
+
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.assignment.rewardsapplication.repository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+	private static final String CUSTOMER_ID = "customer_id";
+	private static final String AMOUNT_CENTS = "amount_cents";
+	private static final String TRANSACTION_DATE = "transaction_date";
+	private static final String CATEGORY = "category";
+
+	// Fields of customer_points_idx, and _id is left out, so the projected reads are answered from the index alone.
+	// _id ends the index only so the rebuild's cut-off can be applied to index keys as well.
+	private static final Bson POINTS_FIELDS = Projections.fields(
+			Projections.include(CUSTOMER_ID, AMOUNT_CENTS, TRANSACTION_DATE, CATEGORY), Projections.excludeId());
+	private static final Bson POINTS_INDEX = new Document(CUSTOMER_ID, 1).append(TRANSACTION_DATE, 1)
+			.append(AMOUNT_CENTS, 1).append(CATEGORY, 1).append("_id", 1);
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Override
+	public Map<Integer, BulkWriteError> bulkInsert(List<Transaction> transactions) {
+		Map<Integer, BulkWriteError> errors = new HashMap<>();
+		if (transactions.isEmpty()) {
+			return errors;
+		}
+		try {
+			mongoTemplate.bulkOps(BulkMode.UNORDERED, Transaction.class).insert(transactions).execute();
+		} catch (BulkOperationException e) {
+			for (BulkWriteError error : e.getErrors()) {
+				errors.put(error.getIndex(), error);
+			}
+		}
+		return errors;
+	}
+
+	@Override
+	public List<MonthlyPoints> aggregateMonthlyPoints(String customerId, LocalDateTime from, LocalDateTime to,
+			RewardRules rules) {
+		Criteria criteria = Criteria.where("customerId").is(customerId);
+		if (from != null && to != null) {
+			criteria = criteria.and("transactionDate").gt(from).lt(to);
+		}
+
+		// LocalDateTime values are stored as instants in the JVM zone, so month boundaries are resolved there too
+		DateOperators.DateOperatorFactory transactionDate = DateOperators.dateOf("transactionDate")
+				.withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()));
+
+		AggregationExpression points = rules.toPointsExpression("amountCents", "transactionDate", "category");
+
+		TypedAggregation<Transaction> aggregation = Aggregation.newAggregation(Transaction.class,
+				Aggregation.match(criteria),
+				Aggregation.project().and(transactionDate.year()).as("year").and(transactionDate.month()).as("month")
+						.and(points).as("points"),
+				Aggregation.group("year", "month").sum("points").as("points"),
+				Aggregation.sort(Sort.by("year", "month")),
+				Aggregation.project("year", "month", "points").andExclude("_id"));
+
+		return mongoTemplate.aggregate(aggregation, MonthlyPoints.class).getMappedResults();
+	}
+
+	@Override
+	public Stream<MonthlyPoints> streamMonthlyPoints(RewardRules rules, ObjectId upTo) {
+		DateOperators.DateOperatorFactory transactionDate = DateOperators.dateOf("transactionDate")
+				.withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()));
+
+		AggregationExpression points = rules.toPointsExpression("amountCents", "transactionDate", "category");
+
+		TypedAggregation<Transaction> aggregation = Aggregation.newAggregation(Transaction.class,
+				Aggregation.match(Criteria.where("id").lte(upTo)),
+				Aggregation.project("customerId").and(transactionDate.year()).as("year")
+						.and(transactionDate.month()).as("month").and(points).as("points"),
+				Aggregation.group("customerId", "year", "month").sum("points").as("points"),
+				Aggregation.project("year", "month", "points").and("_id.customerId").as("customer_id")
+						.andExclude("_id"))
+				.withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+		return mongoTemplate.aggregateStream(aggregation, MonthlyPoints.class).stream();
+	}
+
+	@Override
+	public List<Transaction> findTransactionPage(String customerId, LocalDateTime from, LocalDateTime to,
+			TransactionCursor after, int limit) {
+		Criteria criteria = Criteria.where("customerId").is(customerId);
+		if (from != null && to != null) {
+			criteria = criteria.and("transactionDate").gt(from).lt(to);
+		}
+		if (after != null) {
+			criteria = criteria.orOperator(Criteria.where("transactionDate").gt(after.getTransactionDate()),
+					Criteria.where("transactionDate").is(after.getTransactionDate()).and("id")
+							.gt(new ObjectId(after.getId())));
+		}
+
+		Query query = new Query(criteria).with(Sort.by("transactionDate", "id")).limit(limit);
+		return mongoTemplate.find(query, Transaction.class);
+	}
+
+	@Override
+	public List<Transaction> findCustomerTransactions(String customerId, LocalDateTime from, LocalDateTime to,
+			Duration maxTime) {
+		Criteria criteria = Criteria.where("customerId").is(customerId);
+		if (from != null && to != null) {
+			criteria = criteria.and("transactionDate").gt(from).lt(to);
+		}
+		// maxTimeMS makes the server abandon the query once the caller has stopped waiting for it
+		return mongoTemplate.find(new Query(criteria).maxTime(maxTime), Transaction.class);
+	}
+
+	@Override
+	public Stream<TransactionPoints> streamTransactionPoints(Collection<String> customerIds, LocalDateTime from,
+			LocalDateTime to) {
+		Bson filter = Filters.in(CUSTOMER_ID, customerIds);
+		if (from != null && to != null) {
+			filter = Filters.and(filter, Filters.gt(TRANSACTION_DATE, toDate(from)),
+					Filters.lt(TRANSACTION_DATE, toDate(to)));
+		}
+		return streamPoints(filter);
+	}
+
+	@Override
+	public Stream<TransactionPoints> streamAllTransactionPoints(ObjectId upTo) {
+		return streamPoints(Filters.lte("_id", upTo));
+	}
+
+	@Override
+	public long countTransactionsAfter(ObjectId after) {
+		return mongoTemplate.count(new Query(Criteria.where("id").gt(after)), Transaction.class);
+	}
+
+	// Points-only reads skip the mapping converter: the documents carry four fields, read straight off the driver
+	public static TransactionPoints toTransactionPoints(Document document) {
+		Number amountCents = document.get(AMOUNT_CENTS, Number.class);
+		Date transactionDate = document.getDate(TRANSACTION_DATE);
+		return new TransactionPoints(document.getString(CUSTOMER_ID),
+				amountCents == null ? 0 : amountCents.longValue(),
+				transactionDate == null ? null
+						: LocalDateTime.ofInstant(transactionDate.toInstant(), ZoneId.systemDefault()),
+				document.getString(CATEGORY));
+	}
+
+	// The hint keeps unfiltered scans on the covering index too, where the planner would pick a collection scan
+	private Stream<TransactionPoints> streamPoints(Bson filter) {
+		MongoCursor<Document> cursor = mongoTemplate.execute(Transaction.class,
+				collection -> collection.find(filter).projection(POINTS_FIELDS).hint(POINTS_INDEX).iterator());
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+				.onClose(cursor::close).map(TransactionRepositoryCustomImpl::toTransactionPoints);
+	}
+
+	// LocalDateTime values are stored as instants in the JVM zone, as the mapping converter writes them
+	private static Date toDate(LocalDateTime dateTime) {
+		return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+	}
+}
\ No newline at end of file
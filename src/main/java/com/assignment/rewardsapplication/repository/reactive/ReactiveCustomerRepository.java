@@ -0,0 +1,15 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assignment.rewardsapplication.dto.Customer;
+
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveCustomerRepository
+		extends ReactiveMongoRepository<Customer, String>, ReactiveCustomerRepositoryCustom {
+	Mono<Customer> findByCustomerId(String customerId);
+
+}
\ No newline at end of file
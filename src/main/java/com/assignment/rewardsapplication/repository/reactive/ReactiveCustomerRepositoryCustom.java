@@ -0,0 +1,11 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import com.assignment.rewardsapplication.dto.Customer;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerRepositoryCustom {
+
+	Mono<Boolean> insertIfAbsent(Customer customer);
+
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.assignment.rewardsapplication.dto.Customer;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveCustomerRepositoryCustomImpl implements ReactiveCustomerRepositoryCustom {
+
+	@Autowired
+	private ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@Override
+	public Mono<Boolean> insertIfAbsent(Customer customer) {
+		Query query = new Query(where("customerId").is(customer.getCustomerId()));
+		return reactiveMongoTemplate
+				.upsert(query, new Update().setOnInsert("customerName", customer.getCustomerName()), Customer.class)
+				.map(result -> result.getUpsertedId() != null)
+				.onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+@Repository
+public interface ReactiveMonthlyPointsRepository
+		extends ReactiveMongoRepository<MonthlyPoints, String>, ReactiveMonthlyPointsRepositoryCustom {
+
+}
\ No newline at end of file
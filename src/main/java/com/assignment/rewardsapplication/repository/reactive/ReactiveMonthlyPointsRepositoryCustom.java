@@ -0,0 +1,13 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveMonthlyPointsRepositoryCustom {
+
+	Mono<Void> incrementPoints(MonthlyPoints delta);
+
+	Mono<Void> incrementPoints(MonthlyPoints delta, String collection);
+
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveMonthlyPointsRepositoryCustomImpl implements ReactiveMonthlyPointsRepositoryCustom {
+
+	@Autowired
+	private ReactiveMongoTemplate reactiveMongoTemplate;
+
+	@Override
+	public Mono<Void> incrementPoints(MonthlyPoints delta) {
+		return incrementPoints(delta, reactiveMongoTemplate.getCollectionName(MonthlyPoints.class));
+	}
+
+	@Override
+	public Mono<Void> incrementPoints(MonthlyPoints delta, String collection) {
+		Query query = new Query(where("customerId").is(delta.getCustomerId()).and("year").is(delta.getYear())
+				.and("month").is(delta.getMonth()));
+		return reactiveMongoTemplate
+				.upsert(query, new Update().inc("points", delta.getPoints()), MonthlyPoints.class, collection).then();
+	}
+}
\ No newline at end of file
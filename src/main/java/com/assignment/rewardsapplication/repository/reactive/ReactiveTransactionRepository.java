@@ -0,0 +1,24 @@
+package com.assignment.rewardsapplication.repository.reactive;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assignment.rewardsapplication.dto.Transaction;
+
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<Transaction, String> {
+	Flux<Transaction> findByCustomerId(String customerId);
+
+	Flux<Transaction> findByCustomerIdAndTransactionDateBetween(String customerId, LocalDateTime fromDate,
+			LocalDateTime toDate);
+
+	Flux<Transaction> findByCustomerIdOrderByTransactionDateAscIdAsc(String customerId);
+
+	Flux<Transaction> findByCustomerIdAndTransactionDateBetweenOrderByTransactionDateAscIdAsc(String customerId,
+			LocalDateTime fromDate, LocalDateTime toDate);
+
+}
\ No newline at end of file
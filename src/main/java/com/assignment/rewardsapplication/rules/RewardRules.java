@@ -0,0 +1,287 @@
+package com.assignment.rewardsapplication.rules;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.util.DigestUtils;
+
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.dto.RewardTier;
+
+public final class RewardRules {
+
+	private static final long CENTS_PER_DOLLAR = 100;
+	private static final long PERCENT = 100;
+	private static final int NO_CAP = Integer.MAX_VALUE;
+	private static final int MAX_DAY_TABLE_SIZE = 1 << 16;
+
+	private final long[] segmentStartDays;
+
+	private final CampaignRules[] segmentRules;
+
+	private final long dayTableStart;
+
+	private final CampaignRules[] dayTable;
+
+	private final int campaignCount;
+
+	private final String version;
+
+	private RewardRules(long[] segmentStartDays, CampaignRules[] segmentRules, int campaignCount, String version) {
+		this.segmentStartDays = segmentStartDays;
+		this.segmentRules = segmentRules;
+		this.campaignCount = campaignCount;
+		this.version = version;
+
+		// Dated campaigns usually span a few years, so a per-day table turns the segment search into one array read
+		long span = segmentRules.length > 1 ? segmentStartDays[segmentStartDays.length - 1] - segmentStartDays[1] : 0;
+		if (segmentRules.length > 1 && span <= MAX_DAY_TABLE_SIZE) {
+			dayTableStart = segmentStartDays[1];
+			dayTable = new CampaignRules[(int) span];
+			for (int i = 0; i < dayTable.length; i++) {
+				dayTable[i] = segmentRules[countBelow(segmentStartDays, dayTableStart + i + 1) - 1];
+			}
+		} else {
+			dayTableStart = 0;
+			dayTable = null;
+		}
+	}
+
+	public static RewardRules standard() {
+		RewardCampaign campaign = new RewardCampaign();
+		campaign.setName("standard");
+		campaign.setTiers(
+				Arrays.asList(new RewardTier(50 * CENTS_PER_DOLLAR, 1), new RewardTier(100 * CENTS_PER_DOLLAR, 2)));
+		return compile(Collections.singletonList(campaign));
+	}
+
+	public static RewardRules compile(List<RewardCampaign> campaigns) {
+		List<CampaignRules> compiled = new ArrayList<>(campaigns.size());
+		TreeSet<Long> boundaries = new TreeSet<>();
+		boundaries.add(Long.MIN_VALUE);
+		for (RewardCampaign campaign : campaigns) {
+			CampaignRules rules = new CampaignRules(campaign);
+			compiled.add(rules);
+			boundaries.add(rules.fromDay);
+			if (rules.toDay != Long.MAX_VALUE) {
+				boundaries.add(rules.toDay + 1);
+			}
+		}
+
+		List<Long> starts = new ArrayList<>();
+		List<CampaignRules> segments = new ArrayList<>();
+		for (long day : boundaries) {
+			CampaignRules active = null;
+			for (CampaignRules rules : compiled) {
+				if (rules.fromDay <= day && day <= rules.toDay && (active == null || rules.fromDay >= active.fromDay)) {
+					active = rules;
+				}
+			}
+			if (segments.isEmpty() || segments.get(segments.size() - 1) != active) {
+				starts.add(day);
+				segments.add(active);
+			}
+		}
+		return new RewardRules(starts.stream().mapToLong(Long::longValue).toArray(),
+				segments.toArray(new CampaignRules[0]), compiled.size(), fingerprint(campaigns));
+	}
+
+	// Built from the fields that affect points, in campaign order since that breaks ties between overlapping
+	// campaigns; names and ids are left out
+	private static String fingerprint(List<RewardCampaign> campaigns) {
+		StringBuilder description = new StringBuilder();
+		for (RewardCampaign campaign : campaigns) {
+			Map<String, Integer> multipliers = campaign.getCategoryMultiplierPercents();
+			description.append(campaign.getEffectiveFrom()).append('|').append(campaign.getEffectiveTo()).append('|')
+					.append(campaign.getTiers()).append('|')
+					.append(multipliers == null ? null : new TreeMap<>(multipliers)).append('|')
+					.append(campaign.getMaxPointsPerTransaction()).append('\n');
+		}
+		return DigestUtils.md5DigestAsHex(description.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	public int getCampaignCount() {
+		return campaignCount;
+	}
+
+	// Equal for rules that award the same points, so materialized totals can be matched to the rules behind them
+	public String getVersion() {
+		return version;
+	}
+
+	public int calculatePoints(long amountCents, LocalDateTime transactionDate, String category) {
+		CampaignRules rules = segmentRules.length == 1 ? segmentRules[0] : findSegment(transactionDate);
+		return rules == null ? 0 : rules.calculatePoints(amountCents, category);
+	}
+
+	private CampaignRules findSegment(LocalDateTime transactionDate) {
+		long day = transactionDate.toLocalDate().toEpochDay();
+		if (dayTable == null) {
+			return segmentRules[countBelow(segmentStartDays, day + 1) - 1];
+		}
+		long offset = day - dayTableStart;
+		if (offset < 0) {
+			return segmentRules[0];
+		}
+		return offset < dayTable.length ? dayTable[(int) offset] : segmentRules[segmentRules.length - 1];
+	}
+
+	// Branch-free lower bound: the conditional move keeps random keys from stalling on mispredicted branches
+	private static int countBelow(long[] sorted, long key) {
+		int base = 0;
+		int length = sorted.length;
+		while (length > 1) {
+			int half = length >>> 1;
+			base = sorted[base + half] < key ? base + half : base;
+			length -= half;
+		}
+		return base + (sorted[base] < key ? 1 : 0);
+	}
+
+	public AggregationExpression toPointsExpression(String amountField, String dateField, String categoryField) {
+		Object expression = segmentExpression(segmentRules[0], amountField, categoryField);
+		for (int i = 1; i < segmentRules.length; i++) {
+			Date segmentStart = Date.from(
+					LocalDate.ofEpochDay(segmentStartDays[i]).atStartOfDay(ZoneId.systemDefault()).toInstant());
+			expression = otherwise(
+					ConditionalOperators.when(ComparisonOperators.valueOf(dateField).greaterThanEqualToValue(segmentStart))
+							.then(segmentExpression(segmentRules[i], amountField, categoryField)),
+					expression);
+		}
+		return expression instanceof AggregationExpression ? (AggregationExpression) expression
+				: ArithmeticOperators.valueOf(amountField).multiplyBy(0);
+	}
+
+	private Object segmentExpression(CampaignRules rules, String amountField, String categoryField) {
+		return rules == null ? 0 : rules.toPointsExpression(amountField, categoryField);
+	}
+
+	private static AggregationExpression otherwise(ConditionalOperators.Cond.OtherwiseBuilder condition, Object value) {
+		return value instanceof AggregationExpression ? condition.otherwiseValueOf((AggregationExpression) value)
+				: condition.otherwise(value);
+	}
+
+	private static final class CampaignRules {
+
+		private final long fromDay;
+
+		private final long toDay;
+
+		private final long[] thresholds;
+
+		private final long[] pointsPerDollar;
+
+		private final long[] basePointCents;
+
+		private final Map<String, Integer> categoryPercents;
+
+		private final int maxPoints;
+
+		private CampaignRules(RewardCampaign campaign) {
+			String name = campaign.getName();
+			if (campaign.getTiers() == null || campaign.getTiers().isEmpty()) {
+				throw new IllegalArgumentException("Reward campaign '" + name + "' must define at least one tier.");
+			}
+			fromDay = campaign.getEffectiveFrom() == null ? Long.MIN_VALUE : campaign.getEffectiveFrom().toEpochDay();
+			toDay = campaign.getEffectiveTo() == null ? Long.MAX_VALUE : campaign.getEffectiveTo().toEpochDay();
+			if (toDay < fromDay) {
+				throw new IllegalArgumentException("Reward campaign '" + name + "' ends before it starts.");
+			}
+
+			List<RewardTier> tiers = new ArrayList<>(campaign.getTiers());
+			tiers.sort((a, b) -> Long.compare(a.getThresholdCents(), b.getThresholdCents()));
+			thresholds = new long[tiers.size()];
+			pointsPerDollar = new long[tiers.size()];
+			basePointCents = new long[tiers.size()];
+			for (int i = 0; i < tiers.size(); i++) {
+				RewardTier tier = tiers.get(i);
+				if (tier.getThresholdCents() < 0 || tier.getPointsPerDollar() < 0) {
+					throw new IllegalArgumentException(
+							"Reward campaign '" + name + "' has a tier with a negative threshold or rate.");
+				}
+				if (i > 0 && tier.getThresholdCents() == thresholds[i - 1]) {
+					throw new IllegalArgumentException("Reward campaign '" + name + "' has duplicate tier thresholds.");
+				}
+				thresholds[i] = tier.getThresholdCents();
+				pointsPerDollar[i] = tier.getPointsPerDollar();
+				basePointCents[i] = i == 0 ? 0
+						: basePointCents[i - 1] + (thresholds[i] - thresholds[i - 1]) * pointsPerDollar[i - 1];
+			}
+
+			categoryPercents = new HashMap<>();
+			if (campaign.getCategoryMultiplierPercents() != null) {
+				for (Map.Entry<String, Integer> multiplier : campaign.getCategoryMultiplierPercents().entrySet()) {
+					if (multiplier.getValue() == null || multiplier.getValue() < 0) {
+						throw new IllegalArgumentException("Reward campaign '" + name
+								+ "' has an invalid multiplier for category '" + multiplier.getKey() + "'.");
+					}
+					categoryPercents.put(multiplier.getKey(), multiplier.getValue());
+				}
+			}
+			maxPoints = campaign.getMaxPointsPerTransaction() == null ? NO_CAP : campaign.getMaxPointsPerTransaction();
+		}
+
+		private int calculatePoints(long amountCents, String category) {
+			int tier = countBelow(thresholds, amountCents) - 1;
+			if (tier < 0) {
+				return 0;
+			}
+			long pointCents = basePointCents[tier] + (amountCents - thresholds[tier]) * pointsPerDollar[tier];
+			long percent = PERCENT;
+			if (category != null && !categoryPercents.isEmpty()) {
+				Integer categoryPercent = categoryPercents.get(category);
+				if (categoryPercent != null) {
+					percent = categoryPercent;
+				}
+			}
+			return (int) Math.min(pointCents * percent / (PERCENT * CENTS_PER_DOLLAR), maxPoints);
+		}
+
+		private AggregationExpression toPointsExpression(String amountField, String categoryField) {
+			Object pointCents = 0;
+			for (int i = 0; i < thresholds.length; i++) {
+				AggregationExpression tierPointCents = ArithmeticOperators.valueOf(ArithmeticOperators
+						.valueOf(ArithmeticOperators.valueOf(amountField).subtract(thresholds[i]))
+						.multiplyBy(pointsPerDollar[i])).add(basePointCents[i]);
+				pointCents = otherwise(
+						ConditionalOperators.when(ComparisonOperators.valueOf(amountField).greaterThanValue(thresholds[i]))
+								.thenValueOf(tierPointCents),
+						pointCents);
+			}
+
+			Object percent = PERCENT;
+			for (Map.Entry<String, Integer> categoryPercent : categoryPercents.entrySet()) {
+				percent = otherwise(ConditionalOperators
+						.when(ComparisonOperators.valueOf(categoryField).equalToValue(categoryPercent.getKey()))
+						.then(categoryPercent.getValue()), percent);
+			}
+
+			AggregationExpression weighted = percent instanceof AggregationExpression
+					? ArithmeticOperators.valueOf((AggregationExpression) pointCents)
+							.multiplyBy((AggregationExpression) percent)
+					: ArithmeticOperators.valueOf((AggregationExpression) pointCents).multiplyBy(PERCENT);
+			AggregationExpression points = ArithmeticOperators
+					.valueOf(ArithmeticOperators.valueOf(weighted).divideBy(PERCENT * CENTS_PER_DOLLAR)).trunc();
+			if (maxPoints == NO_CAP) {
+				return points;
+			}
+			return ConditionalOperators.when(ComparisonOperators.valueOf(points).greaterThanValue(maxPoints))
+					.then(maxPoints).otherwiseValueOf(points);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+public interface LeaderboardService {
+	LeaderboardDTO getLeaderboard(LocalDate fromDate, LocalDate toDate, Integer limit);
+
+	void recordMonthlyPoints(Collection<MonthlyPoints> deltas);
+
+	void requestRebuild();
+
+	long rebuildLeaderboard();
+}
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardEntryDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.repository.CustomerRepository;
+import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+import com.assignment.rewardsapplication.utils.RankedPoints;
+import com.assignment.rewardsapplication.utils.RankedPoints.Rank;
+
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+	private static final Logger log = LogManager.getLogger(LeaderboardServiceImpl.class);
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private ConversionAndValidatorUtils conversionAndValidatorUtils;
+
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	// Lazy because the monthly points service records its deltas here
+	@Lazy
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Value("${rewards.leaderboard.default-limit:10}")
+	private int defaultLimit;
+
+	@Value("${rewards.leaderboard.max-limit:100}")
+	private int maxLimit;
+
+	@Value("${rewards.leaderboard.retained-months:24}")
+	private int retainedMonths;
+
+	private volatile Boards boards = new Boards();
+
+	// Set while a rebuild runs; deltas go to the live boards as usual and are kept here to replay onto the rebuilt ones
+	private volatile Queue<MonthlyPoints> pendingDeltas;
+
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	// Requests made while a rebuild is queued share it; one made while a rebuild runs queues another
+	private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "leaderboard-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Override
+	public LeaderboardDTO getLeaderboard(LocalDate fromDate, LocalDate toDate, Integer limit) {
+		int size = limit == null ? defaultLimit : limit;
+		if (size < 1 || size > maxLimit) {
+			log.error("Invalid leaderboard limit: {}", limit);
+			throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit + ".");
+		}
+		if (conversionAndValidatorUtils.isValidDates(fromDate, toDate)) {
+			log.error("Invalid date range: fromDate = {}, toDate = {}", fromDate, toDate);
+			throw new IllegalArgumentException("Invalid date range. From-date should be before to-date.");
+		}
+
+		Boards current = boards;
+		if (fromDate == null || toDate == null) {
+			return new LeaderboardDTO(null, null, toEntries(current.allTime.top(size)));
+		}
+
+		int fromMonth = epochMonth(fromDate.getYear(), fromDate.getMonthValue());
+		int toMonth = epochMonth(toDate.getYear(), toDate.getMonthValue());
+		if (fromMonth < oldestRetainedMonth()) {
+			log.error("Leaderboard window starts before the retained months: {}", fromDate);
+			throw new IllegalArgumentException(
+					"Leaderboard windows can start at most " + retainedMonths + " months back.");
+		}
+		List<Rank> ranks = current.top(fromMonth, toMonth, size);
+		return new LeaderboardDTO(fromDate.withDayOfMonth(1), toDate.with(TemporalAdjusters.lastDayOfMonth()),
+				toEntries(ranks));
+	}
+
+	@Override
+	public void recordMonthlyPoints(Collection<MonthlyPoints> deltas) {
+		Queue<MonthlyPoints> pending = pendingDeltas;
+		if (pending != null) {
+			pending.addAll(deltas);
+		}
+		addAll(boards, deltas);
+	}
+
+	@Override
+	public void requestRebuild() {
+		if (!rebuildQueued.compareAndSet(false, true)) {
+			return;
+		}
+		rebuildExecutor.execute(() -> {
+			rebuildQueued.set(false);
+			try {
+				rebuildLeaderboard();
+			} catch (RuntimeException e) {
+				log.error("Leaderboard rebuild failed", e);
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdown();
+	}
+
+	// Reads keep using the current boards while the rebuild aggregates the transactions up to its cut-off. Deltas
+	// recorded after the cut-off are replayed onto the rebuilt boards before they are swapped in.
+	@Override
+	public long rebuildLeaderboard() {
+		rebuildLock.lock();
+		try {
+			log.info("Rebuilding leaderboard from transactions");
+			long startTime = System.nanoTime();
+			RewardRules rules = pointsCalculationUtils.getRewardRules();
+			Queue<MonthlyPoints> pending = new ConcurrentLinkedQueue<>();
+
+			ObjectId cutOff;
+			monthlyPointsService.pauseWrites();
+			try {
+				cutOff = new ObjectId();
+				pendingDeltas = pending;
+			} finally {
+				monthlyPointsService.resumeWrites();
+			}
+
+			Boards rebuilt = new Boards();
+			try {
+				int oldestMonth = oldestRetainedMonth();
+				try (Stream<MonthlyPoints> monthlyPoints = transactionRepository.streamMonthlyPoints(rules, cutOff)) {
+					Iterator<MonthlyPoints> iterator = monthlyPoints.iterator();
+					while (iterator.hasNext()) {
+						MonthlyPoints points = iterator.next();
+						rebuilt.add(epochMonth(points.getYear(), points.getMonth()), points.getCustomerId(),
+								points.getPoints(), oldestMonth);
+					}
+				}
+				monthlyPointsService.pauseWrites();
+				try {
+					addAll(rebuilt, pending);
+					boards = rebuilt;
+				} finally {
+					pendingDeltas = null;
+					monthlyPointsService.resumeWrites();
+				}
+			} catch (RuntimeException e) {
+				pendingDeltas = null;
+				throw e;
+			}
+
+			log.info("Rebuilt leaderboard for {} customers in {} ms", rebuilt.allTime.size(),
+					(System.nanoTime() - startTime) / 1_000_000);
+			return rebuilt.allTime.size();
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private void addAll(Boards target, Collection<MonthlyPoints> deltas) {
+		int oldestMonth = oldestRetainedMonth();
+		for (MonthlyPoints delta : deltas) {
+			target.add(epochMonth(delta.getYear(), delta.getMonth()), delta.getCustomerId(), delta.getPoints(),
+					oldestMonth);
+		}
+		target.months.keySet().removeIf(month -> month < oldestMonth);
+	}
+
+	private List<LeaderboardEntryDTO> toEntries(List<Rank> ranks) {
+		Map<String, String> customerNames = new HashMap<>();
+		if (!ranks.isEmpty()) {
+			for (Customer customer : customerRepository
+					.findByCustomerIdIn(ranks.stream().map(Rank::getCustomerId).collect(Collectors.toList()))) {
+				customerNames.put(customer.getCustomerId(), customer.getCustomerName());
+			}
+		}
+		List<LeaderboardEntryDTO> entries = new ArrayList<>(ranks.size());
+		for (Rank rank : ranks) {
+			entries.add(new LeaderboardEntryDTO(entries.size() + 1, rank.getCustomerId(),
+					customerNames.get(rank.getCustomerId()), rank.getPoints()));
+		}
+		return entries;
+	}
+
+	private int oldestRetainedMonth() {
+		LocalDate today = LocalDate.now();
+		return epochMonth(today.getYear(), today.getMonthValue()) - retainedMonths + 1;
+	}
+
+	private static int epochMonth(int year, int month) {
+		return year * 12 + month - 1;
+	}
+
+	private static final class Boards {
+
+		private final RankedPoints allTime = new RankedPoints();
+
+		private final ConcurrentHashMap<Integer, RankedPoints> months = new ConcurrentHashMap<>();
+
+		private void add(int epochMonth, String customerId, long points, int oldestMonth) {
+			allTime.add(customerId, points);
+			if (epochMonth >= oldestMonth) {
+				months.computeIfAbsent(epochMonth, month -> new RankedPoints()).add(customerId, points);
+			}
+		}
+
+		private List<Rank> top(int fromMonth, int toMonth, int limit) {
+			if (fromMonth == toMonth) {
+				RankedPoints month = months.get(fromMonth);
+				return month == null ? new ArrayList<>() : month.top(limit);
+			}
+
+			Map<String, Long> totals = new HashMap<>();
+			for (Map.Entry<Integer, RankedPoints> month : months.entrySet()) {
+				if (month.getKey() >= fromMonth && month.getKey() <= toMonth) {
+					month.getValue().getTotals().forEach((customerId, points) -> totals.merge(customerId, points,
+							Long::sum));
+				}
+			}
+
+			// A min-heap capped at the limit keeps the best customers without sorting every total in the window
+			PriorityQueue<Rank> best = new PriorityQueue<>(limit + 1, RankedPoints.HIGHEST_FIRST.reversed());
+			for (Map.Entry<String, Long> total : totals.entrySet()) {
+				best.offer(new Rank(total.getKey(), total.getValue()));
+				if (best.size() > limit) {
+					best.poll();
+				}
+			}
+			List<Rank> top = new ArrayList<>(best);
+			top.sort(RankedPoints.HIGHEST_FIRST);
+			return top;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.util.List;
+
+import com.assignment.rewardsapplication.dto.Transaction;
+
+public interface MonthlyPointsService {
+	boolean isAggregateReady();
+
+	void requestRebuild();
+
+	void startWrite();
+
+	boolean tryStartWrite();
+
+	void finishWrite();
+
+	void pauseWrites();
+
+	void resumeWrites();
+
+	String getStagingCollection();
+
+	void countStagedTransactions(int transactions);
+
+	void recordTransactions(List<Transaction> transactions);
+
+	long rebuildMonthlyPoints();
+}
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.MonthlyPointsState;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.exception.RebuildInProgressException;
+import com.assignment.rewardsapplication.repository.MonthlyPointsRepository;
+import com.assignment.rewardsapplication.repository.MonthlyPointsStateRepository;
+import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@Service
+public class MonthlyPointsServiceImpl implements MonthlyPointsService {
+
+	private static final Logger log = LogManager.getLogger(MonthlyPointsServiceImpl.class);
+
+	private static final String STAGING_COLLECTION = "customer_monthly_points_rebuild";
+
+	private static final int WRITE_PERMITS = Integer.MAX_VALUE;
+
+	private static final String STATE_ID = "customer_monthly_points";
+
+	private static final long READY_RECHECK_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+	@Autowired
+	private MonthlyPointsRepository monthlyPointsRepository;
+
+	@Autowired
+	private MonthlyPointsStateRepository monthlyPointsStateRepository;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	@Autowired
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
+	@Value("${rewards.monthly-points.rebuild-flush-size:10000}")
+	private int rebuildFlushSize;
+
+	@Value("${rewards.monthly-points.backfill:true}")
+	private boolean backfill;
+
+	@Value("${rewards.monthly-points.rebuild-lease:10m}")
+	private Duration rebuildLease;
+
+	// Rules version of the last completed rebuild. The aggregate stays usable while the loaded rules match it, so
+	// only a mismatch is rechecked.
+	private volatile String aggregateRulesVersion;
+
+	private volatile long readyCheckedAt = System.nanoTime() - READY_RECHECK_NANOS;
+
+	// Each write holds a permit from before its transactions are inserted until their points are recorded. The
+	// monthly points and leaderboard rebuilds take every permit to pick their cut-off and to swap in their result, so
+	// no write straddles either step. The semaphore is fair so a steady stream of writes cannot keep them waiting.
+	private final Semaphore writeGate = new Semaphore(WRITE_PERMITS, true);
+
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	// Set while a rebuild is running; writes are applied to it as well as to the live collection
+	private volatile String stagingCollection;
+
+	// Transactions this instance applied to the staging collection, checked against those saved after the cut-off
+	private final AtomicLong stagedTransactions = new AtomicLong();
+
+	private volatile boolean applicationReady;
+
+	// Requests made while a rebuild is queued share it; one made while a rebuild runs queues another
+	private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+	private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "monthly-points-rebuild");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@Override
+	public boolean isAggregateReady() {
+		String rulesVersion = pointsCalculationUtils.getRewardRules().getVersion();
+		if (rulesVersion.equals(aggregateRulesVersion)) {
+			return true;
+		}
+		long now = System.nanoTime();
+		if (now - readyCheckedAt >= READY_RECHECK_NANOS) {
+			readyCheckedAt = now;
+			aggregateRulesVersion = monthlyPointsStateRepository.findById(STATE_ID)
+					.filter(state -> state.getCompletedAt() != null).map(MonthlyPointsState::getRulesVersion)
+					.orElse(null);
+		}
+		return rulesVersion.equals(aggregateRulesVersion);
+	}
+
+	// A deployment that adds the aggregate to existing data, or that changes the reward rules, rebuilds it once in
+	// the background; reads fall back to the transactions until it completes
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		applicationReady = true;
+		if (backfill && !isAggregateReady()) {
+			requestRebuild();
+		}
+	}
+
+	@Override
+	public void requestRebuild() {
+		// Rules loaded during startup are covered by the check once the application is ready
+		if (!applicationReady || !rebuildQueued.compareAndSet(false, true)) {
+			return;
+		}
+		rebuildExecutor.execute(() -> {
+			rebuildQueued.set(false);
+			try {
+				rebuildMonthlyPoints();
+			} catch (RebuildInProgressException e) {
+				log.info("Monthly points rebuild skipped: {}", e.getMessage());
+			} catch (RuntimeException e) {
+				log.error("Monthly points rebuild failed", e);
+			}
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		rebuildExecutor.shutdown();
+	}
+
+	@Override
+	public void startWrite() {
+		writeGate.acquireUninterruptibly();
+	}
+
+	// The timed form, unlike tryAcquire(), does not jump ahead of a rebuild waiting for the gate
+	@Override
+	public boolean tryStartWrite() {
+		try {
+			return writeGate.tryAcquire(0, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	@Override
+	public void finishWrite() {
+		writeGate.release();
+	}
+
+	// Waits for the writes in flight to finish and holds off new ones until resumed
+	@Override
+	public void pauseWrites() {
+		writeGate.acquireUninterruptibly(WRITE_PERMITS);
+	}
+
+	@Override
+	public void resumeWrites() {
+		writeGate.release(WRITE_PERMITS);
+	}
+
+	@Override
+	public String getStagingCollection() {
+		return stagingCollection;
+	}
+
+	@Override
+	public void countStagedTransactions(int transactions) {
+		stagedTransactions.addAndGet(transactions);
+	}
+
+	@Override
+	public void recordTransactions(List<Transaction> transactions) {
+		Map<String, MonthlyPoints> deltas = new LinkedHashMap<>();
+		for (Transaction transaction : transactions) {
+			addDelta(deltas, transaction.getCustomerId(), transaction.getTransactionDate(),
+					pointsCalculationUtils.calculatePoints(transaction));
+		}
+		List<MonthlyPoints> monthlyPoints = new ArrayList<>(deltas.values());
+		monthlyPointsRepository.incrementPoints(monthlyPoints);
+		String staging = stagingCollection;
+		if (staging != null) {
+			monthlyPointsRepository.incrementPoints(monthlyPoints, staging);
+			countStagedTransactions(transactions.size());
+		}
+		leaderboardService.recordMonthlyPoints(deltas.values());
+	}
+
+	// Reads keep using the live collection while the rebuild fills a staging copy, which is then renamed over it.
+	// Transactions up to the cut-off are streamed into the copy; writes after it reach the copy by being applied
+	// to both collections. Only this instance's writes do, so rebuilds need every write to go through this instance:
+	// a rebuild that finds transactions saved after its cut-off by another instance is abandoned, not promoted.
+	@Override
+	public long rebuildMonthlyPoints() {
+		rebuildLock.lock();
+		String owner = new ObjectId().toHexString();
+		try {
+			// The staging collection is shared, so a second rebuild must not start while this one runs
+			if (!monthlyPointsStateRepository.acquireRebuildLease(STATE_ID, owner, rebuildLease)) {
+				throw new RebuildInProgressException("A monthly points rebuild is already running on another instance.");
+			}
+			log.info("Rebuilding monthly points aggregate from transactions");
+			RewardRules rules = pointsCalculationUtils.getRewardRules();
+			monthlyPointsRepository.resetStagingCollection(STAGING_COLLECTION);
+
+			ObjectId cutOff;
+			pauseWrites();
+			try {
+				cutOff = new ObjectId();
+				stagedTransactions.set(0);
+				stagingCollection = STAGING_COLLECTION;
+			} finally {
+				resumeWrites();
+			}
+
+			long transactionCount;
+			try {
+				transactionCount = streamIntoStaging(cutOff, rules, owner);
+				pauseWrites();
+				try {
+					long unstaged = transactionRepository.countTransactionsAfter(cutOff) - stagedTransactions.get();
+					if (unstaged > 0) {
+						throw new IllegalStateException(unstaged + " transactions were saved by another instance "
+								+ "during the monthly points rebuild. Rebuild while a single instance takes writes.");
+					}
+					monthlyPointsRepository.promoteStagingCollection(STAGING_COLLECTION);
+					stagingCollection = null;
+				} finally {
+					resumeWrites();
+				}
+			} catch (RuntimeException e) {
+				stagingCollection = null;
+				monthlyPointsRepository.resetStagingCollection(STAGING_COLLECTION);
+				monthlyPointsStateRepository.releaseRebuildLease(STATE_ID, owner);
+				throw e;
+			} finally {
+				rewardsResponseCache.invalidateAll();
+			}
+			// Rules swapped in while the rebuild ran have queued another, and reads skip this one until it is done
+			monthlyPointsStateRepository.completeRebuild(STATE_ID, owner, transactionCount, rules.getVersion());
+			aggregateRulesVersion = rules.getVersion();
+
+			log.info("Rebuilt monthly points aggregate from {} transactions", transactionCount);
+			return transactionCount;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	private long streamIntoStaging(ObjectId cutOff, RewardRules rules, String owner) {
+		long transactionCount = 0;
+		Map<String, MonthlyPoints> deltas = new LinkedHashMap<>();
+		try (Stream<TransactionPoints> transactions = transactionRepository.streamAllTransactionPoints(cutOff)) {
+			Iterator<TransactionPoints> iterator = transactions.iterator();
+			while (iterator.hasNext()) {
+				TransactionPoints transaction = iterator.next();
+				addDelta(deltas, transaction.getCustomerId(), transaction.getTransactionDate(), rules
+						.calculatePoints(transaction.getAmountCents(), transaction.getTransactionDate(),
+								transaction.getCategory()));
+				transactionCount++;
+				if (deltas.size() >= rebuildFlushSize) {
+					monthlyPointsRepository.incrementPoints(new ArrayList<>(deltas.values()), STAGING_COLLECTION);
+					deltas.clear();
+					monthlyPointsStateRepository.extendRebuildLease(STATE_ID, owner, rebuildLease);
+				}
+			}
+		}
+		monthlyPointsRepository.incrementPoints(new ArrayList<>(deltas.values()), STAGING_COLLECTION);
+		return transactionCount;
+	}
+
+	private void addDelta(Map<String, MonthlyPoints> deltas, String customerId, LocalDateTime transactionDate,
+			int points) {
+		int year = transactionDate.getYear();
+		int month = transactionDate.getMonthValue();
+
+		String key = customerId + "|" + year + "|" + month;
+		MonthlyPoints delta = deltas.get(key);
+		if (delta == null) {
+			deltas.put(key, new MonthlyPoints(null, customerId, year, month, points));
+		} else {
+			delta.setPoints(delta.getPoints() + points);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+
+import java.time.LocalDate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRewardsService {
+	Mono<TransactionResultStatus> addCustomerTransaction(CustomerTransactionDTO dto);
+
+	Mono<CustomerDetailsDTO> getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate);
+
+	Flux<TransactionDTO> streamCustomerTransactions(String customerId, LocalDate fromDate, LocalDate toDate);
+}
\ No newline at end of file
@@ -0,0 +1,260 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.cache.CustomerCache;
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+import com.assignment.rewardsapplication.exception.RewardsTimeoutException;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveCustomerRepository;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveMonthlyPointsRepository;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveTransactionRepository;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.MonthlyPointsAccumulator;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class ReactiveRewardsServiceImpl implements ReactiveRewardsService {
+
+	private static final Logger log = LogManager.getLogger(ReactiveRewardsServiceImpl.class);
+
+	private static final Duration WRITE_GATE_RETRY = Duration.ofMillis(10);
+
+	@Autowired
+	private ReactiveTransactionRepository reactiveTransactionRepository;
+
+	@Autowired
+	private ReactiveCustomerRepository reactiveCustomerRepository;
+
+	@Autowired
+	private ReactiveMonthlyPointsRepository reactiveMonthlyPointsRepository;
+
+	@Autowired
+	private ConversionAndValidatorUtils conversionAndValidatorUtils;
+
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
+	@Autowired
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Autowired
+	private RecentTransactionIds recentTransactionIds;
+
+	@Autowired
+	private CustomerCache customerCache;
+
+	@Autowired
+	private TimeLimiterRegistry timeLimiterRegistry;
+
+	@Override
+	public Mono<TransactionResultStatus> addCustomerTransaction(CustomerTransactionDTO customerTransactionDTO) {
+		log.debug("In reactive Service layer : {}", customerTransactionDTO);
+
+		if (recentTransactionIds.contains(customerTransactionDTO.getCustomerId(),
+				customerTransactionDTO.getTransactionId())) {
+			log.info("Transaction {} for customer Id {} already recorded", customerTransactionDTO.getTransactionId(),
+					customerTransactionDTO.getCustomerId());
+			return Mono.just(TransactionResultStatus.ALREADY_RECORDED);
+		}
+
+		Transaction transaction = conversionAndValidatorUtils.prepareTransaction(customerTransactionDTO);
+		return saveCustomer(customerTransactionDTO)
+				.then(Mono.usingWhen(startWrite(), started -> saveTransaction(transaction),
+						started -> Mono.fromRunnable(monthlyPointsService::finishWrite)))
+				.doOnNext(status -> {
+					recentTransactionIds.add(transaction.getCustomerId(), transaction.getTransactionId());
+					if (status == TransactionResultStatus.CREATED) {
+						rewardsResponseCache.invalidate(Collections.singleton(transaction.getCustomerId()));
+						log.info("Transaction saved successfully with {} for customer Id {}",
+								customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+					} else {
+						log.info("Transaction {} for customer Id {} already recorded",
+								customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+					}
+				});
+	}
+
+	// The gate is usually free; a monthly points rebuild holds it only to pick its cut-off and to swap collections.
+	// Retrying on a timer keeps the event loop unblocked and leaves nothing to release if the caller cancels.
+	private Mono<Boolean> startWrite() {
+		return Mono.fromSupplier(monthlyPointsService::tryStartWrite).filter(started -> started)
+				.repeatWhenEmpty(attempts -> attempts.delayElements(WRITE_GATE_RETRY));
+	}
+
+	private Mono<TransactionResultStatus> saveTransaction(Transaction transaction) {
+		return reactiveTransactionRepository.save(transaction).map(saved -> TransactionResultStatus.CREATED)
+				.onErrorResume(DuplicateKeyException.class, e -> Mono.just(TransactionResultStatus.ALREADY_RECORDED))
+				.flatMap(status -> status == TransactionResultStatus.CREATED
+						? recordMonthlyPoints(transaction).thenReturn(status)
+						: Mono.just(status));
+	}
+
+	private Mono<Void> recordMonthlyPoints(Transaction transaction) {
+		MonthlyPoints delta = toMonthlyPointsDelta(transaction);
+		Mono<Void> increment = reactiveMonthlyPointsRepository.incrementPoints(delta);
+		String staging = monthlyPointsService.getStagingCollection();
+		if (staging != null) {
+			increment = increment.then(reactiveMonthlyPointsRepository.incrementPoints(delta, staging))
+					.then(Mono.fromRunnable(() -> monthlyPointsService.countStagedTransactions(1)));
+		}
+		return increment
+				.then(Mono.fromRunnable(() -> leaderboardService.recordMonthlyPoints(Collections.singletonList(delta))));
+	}
+
+	// Customers already cached are known to exist and skip the upsert
+	private Mono<Void> saveCustomer(CustomerTransactionDTO customerTransactionDTO) {
+		String customerId = customerTransactionDTO.getCustomerId();
+		if (customerCache.isKnownCustomer(customerId)) {
+			return Mono.empty();
+		}
+		Customer customer = conversionAndValidatorUtils.prepareCustomer(customerTransactionDTO);
+		return reactiveCustomerRepository.insertIfAbsent(customer).doOnNext(inserted -> {
+			if (inserted) {
+				log.info("Saved new customer : {}", customerId);
+				customerCache.put(customer);
+			} else {
+				customerCache.invalidate(customerId);
+			}
+		}).then();
+	}
+
+	@Override
+	public Mono<CustomerDetailsDTO> getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate) {
+		return Mono.<Void>fromRunnable(() -> validateRewardsQuery(customerId, fromDate, toDate))
+				.then(Mono.defer(() -> {
+					Optional<Customer> cached = customerCache.getIfPresent(customerId);
+					if (cached != null && !cached.isPresent()) {
+						return Mono.empty();
+					}
+					// On a cache miss the customer and transaction queries are subscribed together
+					return Mono.zip(findCustomer(customerId), findTransactions(customerId, fromDate, toDate, false)
+							.collect(RewardsAccumulator::new, RewardsAccumulator::add));
+				}))
+				.filter(customerRewards -> !customerRewards.getT2().transactions.isEmpty())
+				.map(customerRewards -> customerRewards.getT2().toCustomerDetailsDTO(customerRewards.getT1()))
+				// Timing out cancels both subscriptions, which closes their cursors on the server
+				.timeout(rewardsTimeout())
+				.onErrorMap(TimeoutException.class, e -> {
+					log.error("Rewards lookup for customerId: {} timed out after {}", customerId, rewardsTimeout());
+					return new RewardsTimeoutException("Rewards lookup timed out. Please try again later.", e);
+				})
+				.doOnNext(dto -> log.info("Successfully calculated reward points for customer ID '{}'", customerId))
+				.switchIfEmpty(Mono.error(() -> {
+					log.error("No transactions found for customerId: {} from {} to {}", customerId, fromDate, toDate);
+					return new CustomerNotFoundException("No transactions found for the given inputs.");
+				}));
+	}
+
+	@Override
+	public Flux<TransactionDTO> streamCustomerTransactions(String customerId, LocalDate fromDate, LocalDate toDate) {
+		return Mono.<Void>fromRunnable(() -> validateRewardsQuery(customerId, fromDate, toDate))
+				.then(Mono.defer(() -> findCustomer(customerId)))
+				.switchIfEmpty(Mono.error(() -> {
+					log.error("No customer found for customerId: {}", customerId);
+					return new CustomerNotFoundException("No transactions found for the given inputs.");
+				}))
+				.thenMany(Flux.defer(() -> findTransactions(customerId, fromDate, toDate, true)))
+				.map(conversionAndValidatorUtils::convertToTransactionDTO);
+	}
+
+	private Duration rewardsTimeout() {
+		return timeLimiterRegistry.timeLimiter("rewardCalculationService").getTimeLimiterConfig()
+				.getTimeoutDuration();
+	}
+
+	// Unknown IDs are cached too, so scraping missing customers does not reach Mongo on every request
+	private Mono<Customer> findCustomer(String customerId) {
+		Optional<Customer> cached = customerCache.getIfPresent(customerId);
+		if (cached != null) {
+			return Mono.justOrEmpty(cached);
+		}
+		return reactiveCustomerRepository.findByCustomerId(customerId).doOnNext(customerCache::put)
+				.switchIfEmpty(Mono.fromRunnable(() -> customerCache.putMissing(customerId)));
+	}
+
+	private void validateRewardsQuery(String customerId, LocalDate fromDate, LocalDate toDate) {
+		if (!conversionAndValidatorUtils.isValidCustomerId(customerId)) {
+			log.error("Validation failure with customerId: {}", customerId);
+			throw new IllegalArgumentException("Invalid Customer ID.");
+		}
+
+		if (conversionAndValidatorUtils.isValidDates(fromDate, toDate)) {
+			log.error("Invalid date range: fromDate = {}, toDate = {}", fromDate, toDate);
+			throw new IllegalArgumentException("Invalid date range. From-date should be before to-date.");
+		}
+	}
+
+	private Flux<Transaction> findTransactions(String customerId, LocalDate fromDate, LocalDate toDate,
+			boolean ordered) {
+		if (fromDate == null || toDate == null) {
+			return ordered ? reactiveTransactionRepository.findByCustomerIdOrderByTransactionDateAscIdAsc(customerId)
+					: reactiveTransactionRepository.findByCustomerId(customerId);
+		}
+		LocalDateTime from = fromDate.atStartOfDay();
+		LocalDateTime to = toDate.atStartOfDay().plusDays(1).minusNanos(1);
+		return ordered
+				? reactiveTransactionRepository.findByCustomerIdAndTransactionDateBetweenOrderByTransactionDateAscIdAsc(
+						customerId, from, to)
+				: reactiveTransactionRepository.findByCustomerIdAndTransactionDateBetween(customerId, from, to);
+	}
+
+	private MonthlyPoints toMonthlyPointsDelta(Transaction transaction) {
+		LocalDateTime transactionDate = transaction.getTransactionDate();
+		return new MonthlyPoints(null, transaction.getCustomerId(), transactionDate.getYear(),
+				transactionDate.getMonthValue(), pointsCalculationUtils.calculatePoints(transaction));
+	}
+
+	private class RewardsAccumulator {
+
+		private final List<TransactionDTO> transactions = new ArrayList<>();
+
+		private final MonthlyPointsAccumulator monthlyPoints = new MonthlyPointsAccumulator();
+
+		private int totalPoints;
+
+		private void add(Transaction transaction) {
+			int points = pointsCalculationUtils.calculatePoints(transaction);
+			monthlyPoints.add(transaction.getTransactionDate(), points);
+
+			transactions.add(conversionAndValidatorUtils.convertToTransactionDTO(transaction));
+			totalPoints += points;
+		}
+
+		private CustomerDetailsDTO toCustomerDetailsDTO(Customer customer) {
+			return new CustomerDetailsDTO(customer.getCustomerId(), customer.getCustomerName(), transactions,
+					monthlyPoints.toMonthlyPoints(), totalPoints, null);
+		}
+	}
+}
\ No newline at end of file
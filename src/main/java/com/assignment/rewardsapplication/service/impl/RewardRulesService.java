@@ -0,0 +1,5 @@
+package com.assignment.rewardsapplication.service.impl;
+
+public interface RewardRulesService {
+	int reloadRules();
+}
\ No newline at end of file
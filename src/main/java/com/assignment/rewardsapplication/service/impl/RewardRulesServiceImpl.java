@@ -0,0 +1,70 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.config.RewardRulesProperties;
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.repository.RewardCampaignRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+@Service
+public class RewardRulesServiceImpl implements RewardRulesService, SmartInitializingSingleton {
+
+	private static final Logger log = LogManager.getLogger(RewardRulesServiceImpl.class);
+
+	private static final String SOURCE_MONGO = "mongo";
+
+	@Autowired
+	private RewardRulesProperties rewardRulesProperties;
+
+	@Autowired
+	private RewardCampaignRepository rewardCampaignRepository;
+
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	@Autowired
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Autowired
+	private LeaderboardService leaderboardService;
+
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		reloadRules();
+	}
+
+	@Override
+	public int reloadRules() {
+		String source = rewardRulesProperties.getSource();
+		List<RewardCampaign> campaigns = SOURCE_MONGO.equalsIgnoreCase(source) ? rewardCampaignRepository.findAll()
+				: rewardRulesProperties.getCampaigns();
+		if (campaigns.isEmpty()) {
+			log.warn("No reward campaigns found in {}, falling back to the standard tiers", source);
+		}
+
+		RewardRules rules = campaigns.isEmpty() ? RewardRules.standard() : RewardRules.compile(campaigns);
+		RewardRules previousRules = pointsCalculationUtils.getRewardRules();
+		pointsCalculationUtils.setRewardRules(rules);
+		rewardsResponseCache.invalidateAll();
+		leaderboardService.requestRebuild();
+		// The materialized totals were computed under the previous rules; reads skip them until this rebuild is done
+		if (previousRules == null || !rules.getVersion().equals(previousRules.getVersion())) {
+			monthlyPointsService.requestRebuild();
+		}
+
+		log.info("Loaded {} reward campaigns from {}", rules.getCampaignCount(), source);
+		return rules.getCampaignCount();
+	}
+}
\ No newline at end of file
@@ -1,12 +1,29 @@
 package com.assignment.rewardsapplication.service.impl;
 
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface RewardsService {
-	void addCustomerTransaction(CustomerTransactionDTO dto);
+	TransactionResultStatus addCustomerTransaction(CustomerTransactionDTO dto);
+
+	BatchTransactionResponseDTO addCustomerTransactions(List<CustomerTransactionDTO> dtos);
 
 	CustomerDetailsDTO getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate);
+
+	CustomerDetailsDTO getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options);
+
+	CustomerRewardsQueryResponseDTO getCustomersRewards(List<String> customerIds, LocalDate fromDate,
+			LocalDate toDate);
+
+	Stream<TransactionDTO> streamCustomerTransactions(String customerId, LocalDate fromDate, LocalDate toDate);
 }
\ No newline at end of file
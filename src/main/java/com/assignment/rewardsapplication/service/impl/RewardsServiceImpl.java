@@ -1,30 +1,87 @@
 package com.assignment.rewardsapplication.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import com.assignment.rewardsapplication.cache.CustomerCache;
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
 import com.assignment.rewardsapplication.dto.Customer;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerPointsDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
 import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.dto.TransactionResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
 import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+import com.assignment.rewardsapplication.exception.RewardsOverloadedException;
+import com.assignment.rewardsapplication.exception.RewardsTimeoutException;
+import com.assignment.rewardsapplication.metrics.RewardsMetrics;
 import com.assignment.rewardsapplication.repository.CustomerRepository;
+import com.assignment.rewardsapplication.repository.MonthlyPointsRepository;
 import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
 import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.MonthlyPointsAccumulator;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+import com.assignment.rewardsapplication.utils.VirtualThreads;
 import com.google.gson.Gson;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.bulk.BulkWriteError;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 
 @Service
 public class RewardsServiceImpl implements RewardsService {
 
 	private static final Logger log = LogManager.getLogger(RewardsServiceImpl.class);
+	private static final String CALCULATION_MODE_MONGO = "mongo";
+	private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+	private static final String ALREADY_RECORDED_MESSAGE = "Transaction already recorded.";
 	private final Gson gson = new Gson();
 
 	@Autowired
@@ -36,70 +93,568 @@ public class RewardsServiceImpl implements RewardsService {
 	@Autowired
 	private ConversionAndValidatorUtils conversionAndValidatorUtils;
 
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Autowired
+	private MonthlyPointsRepository monthlyPointsRepository;
+
+	@Autowired
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Autowired
+	private RecentTransactionIds recentTransactionIds;
+
+	@Autowired
+	private CustomerCache customerCache;
+
+	@Autowired
+	private RewardsMetrics rewardsMetrics;
+
+	@Autowired
+	private TimeLimiterRegistry timeLimiterRegistry;
+
+	@Value("${rewards.query.lookup-threads:16}")
+	private int lookupThreads;
+
+	@Value("${rewards.query.lookup-queue-size:32}")
+	private int lookupQueueSize;
+
+	@Value("${rewards.threads.virtual:false}")
+	private boolean virtualThreads;
+
+	@Value("${rewards.points.calculation-mode:jvm}")
+	private String pointsCalculationMode;
+
+	@Value("${rewards.transactions.default-page-size:100}")
+	private int defaultPageSize;
+
+	@Value("${rewards.transactions.max-page-size:1000}")
+	private int maxPageSize;
+
+	private TimeLimiter timeLimiter;
+
+	private ExecutorService lookupExecutor;
+
+	@PostConstruct
+	public void init() {
+		timeLimiter = timeLimiterRegistry.timeLimiter("rewardCalculationService");
+		if (virtualThreads) {
+			// Lookups block on Mongo, so each gets a cheap virtual thread; the driver's connection pool bounds them
+			lookupExecutor = VirtualThreads.newThreadPerTaskExecutor("rewards-lookup-");
+			log.info("Rewards lookups use virtual threads and a {} deadline",
+					timeLimiter.getTimeLimiterConfig().getTimeoutDuration());
+			return;
+		}
+		AtomicInteger threadCount = new AtomicInteger();
+		// A short queue absorbs bursts; past it lookups are rejected with a 503 rather than run on the request thread,
+		// where the deadline could not interrupt them
+		lookupExecutor = new ThreadPoolExecutor(lookupThreads, lookupThreads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(lookupQueueSize), runnable -> {
+					Thread thread = new Thread(runnable, "rewards-lookup-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		log.info("Rewards lookups use {} threads, a queue of {} and a {} deadline", lookupThreads, lookupQueueSize,
+				timeLimiter.getTimeLimiterConfig().getTimeoutDuration());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		lookupExecutor.shutdown();
+	}
+
 	@Override
 	@CircuitBreaker(name = "customerService", fallbackMethod = "saveCustomerAndTransactionFallback")
-	public void addCustomerTransaction(CustomerTransactionDTO customerTransactionDTO) {
-		log.info("In Service layer : " + customerTransactionDTO);
+	public TransactionResultStatus addCustomerTransaction(CustomerTransactionDTO customerTransactionDTO) {
+		TransactionResultStatus status = rewardsMetrics.timeService("addCustomerTransaction",
+				() -> saveCustomerTransaction(customerTransactionDTO));
+		rewardsMetrics.recordTransactions("addCustomerTransaction", 1);
+		return status;
+	}
 
-		Customer existingCustomer = customerRepository.findByCustomerId(customerTransactionDTO.getCustomerId());
+	private TransactionResultStatus saveCustomerTransaction(CustomerTransactionDTO customerTransactionDTO) {
+		log.debug("In Service layer : {}", customerTransactionDTO);
+
+		// Gateway retries usually arrive shortly after the original, so most are answered here without a Mongo round trip
+		if (recentTransactionIds.contains(customerTransactionDTO.getCustomerId(),
+				customerTransactionDTO.getTransactionId())) {
+			log.info("Transaction {} for customer Id {} already recorded", customerTransactionDTO.getTransactionId(),
+					customerTransactionDTO.getCustomerId());
+			return TransactionResultStatus.ALREADY_RECORDED;
+		}
 
-		if (existingCustomer == null) {
-			Customer newCustomer = conversionAndValidatorUtils.prepareCustomer(customerTransactionDTO);
-			log.info("Saving new customer : " + newCustomer);
-			customerRepository.save(newCustomer);
+		// One atomic upsert instead of a lookup and a conditional save, so concurrent first writes cannot race.
+		// Customers already cached are known to exist and skip it.
+		String customerId = customerTransactionDTO.getCustomerId();
+		if (!customerCache.isKnownCustomer(customerId)) {
+			Customer customer = conversionAndValidatorUtils.prepareCustomer(customerTransactionDTO);
+			if (customerRepository.insertIfAbsent(customer)) {
+				log.info("Saved new customer : {}", customerId);
+				customerCache.put(customer);
+			} else {
+				// The stored name may differ from this request's, so the next read loads it
+				customerCache.invalidate(customerId);
+			}
 		}
 		Transaction transaction = conversionAndValidatorUtils.prepareTransaction(customerTransactionDTO);
-		log.info("Transaction before saving : " + transaction);
-		transactionRepository.save(transaction);
+		log.debug("Transaction before saving : {}", transaction);
+		// Held until the points are recorded, so a monthly points rebuild sees the insert and its points together
+		monthlyPointsService.startWrite();
+		try {
+			try {
+				transactionRepository.save(transaction);
+			} catch (DuplicateKeyException e) {
+				// The unique (customer_id, transaction_id) index catches the retries this instance has not seen
+				recentTransactionIds.add(transaction.getCustomerId(), transaction.getTransactionId());
+				log.info("Transaction {} for customer Id {} already recorded",
+						customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+				return TransactionResultStatus.ALREADY_RECORDED;
+			}
+			recentTransactionIds.add(transaction.getCustomerId(), transaction.getTransactionId());
+			monthlyPointsService.recordTransactions(Collections.singletonList(transaction));
+		} finally {
+			monthlyPointsService.finishWrite();
+		}
+		rewardsResponseCache.invalidate(Collections.singleton(transaction.getCustomerId()));
 
 		log.info("Transaction saved successfully with {} for customer Id {}", customerTransactionDTO.getTransactionId(),
 				customerTransactionDTO.getCustomerId());
+		return TransactionResultStatus.CREATED;
 	}
 
-	public void saveCustomerAndTransactionFallback(CustomerTransactionDTO dto, Throwable t) {
+	public TransactionResultStatus saveCustomerAndTransactionFallback(CustomerTransactionDTO dto, Throwable t) {
 		log.error("Fallback for saveCustomerAndTransaction. CustomerId: {}, TransactionId: {}, Error: {}",
 				dto.getCustomerId(), dto.getTransactionId(), t.getMessage());
+		return TransactionResultStatus.FAILED;
+	}
+
+	@Override
+	@CircuitBreaker(name = "customerService", fallbackMethod = "saveCustomerTransactionsFallback")
+	public BatchTransactionResponseDTO addCustomerTransactions(List<CustomerTransactionDTO> customerTransactionDTOs) {
+		BatchTransactionResponseDTO response = rewardsMetrics.timeService("addCustomerTransactions",
+				() -> saveCustomerTransactions(customerTransactionDTOs));
+		rewardsMetrics.recordTransactions("addCustomerTransactions", customerTransactionDTOs.size());
+		return response;
+	}
+
+	private BatchTransactionResponseDTO saveCustomerTransactions(List<CustomerTransactionDTO> customerTransactionDTOs) {
+		log.info("In Service layer : batch of {} transactions", customerTransactionDTOs.size());
+
+		TransactionResultDTO[] results = new TransactionResultDTO[customerTransactionDTOs.size()];
+		List<Integer> validIndexes = new ArrayList<>(customerTransactionDTOs.size());
+		Map<String, String> customerNames = new LinkedHashMap<>();
+
+		for (int i = 0; i < customerTransactionDTOs.size(); i++) {
+			CustomerTransactionDTO dto = customerTransactionDTOs.get(i);
+			if (dto == null) {
+				results[i] = new TransactionResultDTO(i, null, null, TransactionResultStatus.INVALID,
+						"Transaction payload is required.");
+				continue;
+			}
+			Set<ConstraintViolation<CustomerTransactionDTO>> violations = validator.validate(dto);
+			if (!violations.isEmpty()) {
+				String message = violations.stream().map(ConstraintViolation::getMessage).sorted()
+						.collect(Collectors.joining(" "));
+				results[i] = new TransactionResultDTO(i, dto.getTransactionId(), dto.getCustomerId(),
+						TransactionResultStatus.INVALID, message);
+				continue;
+			}
+			if (recentTransactionIds.contains(dto.getCustomerId(), dto.getTransactionId())) {
+				results[i] = new TransactionResultDTO(i, dto.getTransactionId(), dto.getCustomerId(),
+						TransactionResultStatus.ALREADY_RECORDED, ALREADY_RECORDED_MESSAGE);
+				continue;
+			}
+			validIndexes.add(i);
+			customerNames.putIfAbsent(dto.getCustomerId(), dto.getCustomerName());
+		}
+
+		customerNames.keySet().removeIf(customerCache::isKnownCustomer);
+		if (!customerNames.isEmpty()) {
+			for (Customer existingCustomer : customerRepository.findByCustomerIdIn(customerNames.keySet())) {
+				customerNames.remove(existingCustomer.getCustomerId());
+				customerCache.put(existingCustomer);
+			}
+			List<Customer> newCustomers = new ArrayList<>(customerNames.size());
+			for (Map.Entry<String, String> entry : customerNames.entrySet()) {
+				newCustomers.add(new Customer(null, entry.getKey(), entry.getValue()));
+			}
+			log.info("Saving {} new customers", newCustomers.size());
+			Map<Integer, BulkWriteError> customerErrors = customerRepository.bulkInsert(newCustomers);
+			for (int i = 0; i < newCustomers.size(); i++) {
+				BulkWriteError error = customerErrors.get(i);
+				if (error == null) {
+					customerCache.put(newCustomers.get(i));
+				} else {
+					log.error("Failed to save customer {} : {}", newCustomers.get(i).getCustomerId(),
+							error.getMessage());
+					customerCache.invalidate(newCustomers.get(i).getCustomerId());
+				}
+			}
+		}
+
+		List<Transaction> transactions = new ArrayList<>(validIndexes.size());
+		for (int index : validIndexes) {
+			transactions.add(conversionAndValidatorUtils.prepareTransaction(customerTransactionDTOs.get(index)));
+		}
+		monthlyPointsService.startWrite();
+		Map<Integer, BulkWriteError> transactionErrors;
+		List<Transaction> savedTransactions = new ArrayList<>(transactions.size());
+		try {
+			transactionErrors = transactionRepository.bulkInsert(transactions);
+			for (int i = 0; i < transactions.size(); i++) {
+				if (!transactionErrors.containsKey(i)) {
+					savedTransactions.add(transactions.get(i));
+				}
+			}
+			monthlyPointsService.recordTransactions(savedTransactions);
+		} finally {
+			monthlyPointsService.finishWrite();
+		}
+
+		for (int i = 0; i < validIndexes.size(); i++) {
+			int index = validIndexes.get(i);
+			CustomerTransactionDTO dto = customerTransactionDTOs.get(index);
+			BulkWriteError error = transactionErrors.get(i);
+			if (error == null) {
+				results[index] = new TransactionResultDTO(index, dto.getTransactionId(), dto.getCustomerId(),
+						TransactionResultStatus.CREATED, null);
+				recentTransactionIds.add(dto.getCustomerId(), dto.getTransactionId());
+			} else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+				results[index] = new TransactionResultDTO(index, dto.getTransactionId(), dto.getCustomerId(),
+						TransactionResultStatus.ALREADY_RECORDED, ALREADY_RECORDED_MESSAGE);
+				recentTransactionIds.add(dto.getCustomerId(), dto.getTransactionId());
+			} else {
+				results[index] = new TransactionResultDTO(index, dto.getTransactionId(), dto.getCustomerId(),
+						TransactionResultStatus.FAILED, error.getMessage());
+			}
+		}
+
+		rewardsResponseCache.invalidate(
+				savedTransactions.stream().map(Transaction::getCustomerId).collect(Collectors.toSet()));
+
+		int saved = savedTransactions.size();
+		int alreadyRecorded = (int) Arrays.stream(results)
+				.filter(result -> result.getStatus() == TransactionResultStatus.ALREADY_RECORDED).count();
+		log.info("Batch saved {} of {} transactions, {} already recorded", saved, results.length, alreadyRecorded);
+		return new BatchTransactionResponseDTO(results.length, saved, alreadyRecorded,
+				results.length - saved - alreadyRecorded, Arrays.asList(results));
+	}
+
+	public BatchTransactionResponseDTO saveCustomerTransactionsFallback(List<CustomerTransactionDTO> dtos,
+			Throwable t) {
+		log.error("Fallback for saveCustomerTransactions. Batch size: {}, Error: {}", dtos.size(), t.getMessage());
+		List<TransactionResultDTO> results = new ArrayList<>(dtos.size());
+		for (int i = 0; i < dtos.size(); i++) {
+			CustomerTransactionDTO dto = dtos.get(i);
+			results.add(new TransactionResultDTO(i, dto == null ? null : dto.getTransactionId(),
+					dto == null ? null : dto.getCustomerId(), TransactionResultStatus.FAILED, t.getMessage()));
+		}
+		return new BatchTransactionResponseDTO(dtos.size(), 0, 0, dtos.size(), results);
 	}
 
 	@Override
-	@CircuitBreaker(name = "rewardCalculationService", fallbackMethod = "calculateRewardPointsFallback")
 	public CustomerDetailsDTO getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate) {
+		return getCustomerRewards(customerId, fromDate, toDate, new RewardsQueryOptions());
+	}
 
-		List<Transaction> transactions;
+	@Override
+	@CircuitBreaker(name = "rewardCalculationService", fallbackMethod = "calculateRewardPointsFallback")
+	public CustomerDetailsDTO getCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options) {
+		CustomerDetailsDTO customerDetailsDTO = rewardsMetrics.timeService("getCustomerRewards",
+				() -> findCustomerRewards(customerId, fromDate, toDate, options));
+		rewardsMetrics.recordTransactions("getCustomerRewards",
+				customerDetailsDTO.getTransaction() == null ? 0 : customerDetailsDTO.getTransaction().size());
+		return customerDetailsDTO;
+	}
 
+	private CustomerDetailsDTO findCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options) {
+
+		validateRewardsQuery(customerId, fromDate, toDate);
+
+		if (options.getLimit() != null && (options.getLimit() < 1 || options.getLimit() > maxPageSize)) {
+			log.error("Invalid page limit: {}", options.getLimit());
+			throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize + ".");
+		}
+		TransactionCursor after = options.getCursor() == null ? null
+				: conversionAndValidatorUtils.decodeTransactionCursor(options.getCursor());
+
+		return rewardsResponseCache.get(customerId, fromDate, toDate, options,
+				() -> loadCustomerRewards(customerId, fromDate, toDate, options, after));
+	}
+
+	@Override
+	public CustomerRewardsQueryResponseDTO getCustomersRewards(List<String> customerIds, LocalDate fromDate,
+			LocalDate toDate) {
+		return rewardsMetrics.timeService("getCustomersRewards",
+				() -> findCustomersRewards(customerIds, fromDate, toDate));
+	}
+
+	private CustomerRewardsQueryResponseDTO findCustomersRewards(List<String> customerIds, LocalDate fromDate,
+			LocalDate toDate) {
+
+		Set<String> requestedIds = new LinkedHashSet<>(customerIds);
+		for (String customerId : requestedIds) {
+			if (!conversionAndValidatorUtils.isValidCustomerId(customerId)) {
+				log.error("Validation failure with customerId: {}", customerId);
+				throw new IllegalArgumentException("Invalid Customer ID: " + customerId + ".");
+			}
+		}
+		if (conversionAndValidatorUtils.isValidDates(fromDate, toDate)) {
+			log.error("Invalid date range: fromDate = {}, toDate = {}", fromDate, toDate);
+			throw new IllegalArgumentException("Invalid date range. From-date should be before to-date.");
+		}
+
+		Map<String, String> customerNames = new HashMap<>();
+		for (Customer customer : customerRepository.findByCustomerIdIn(requestedIds)) {
+			customerNames.put(customer.getCustomerId(), customer.getCustomerName());
+		}
+
+		// Transactions are folded into per-customer monthly sums as they stream in, so memory is bounded by
+		// customers x months rather than by the number of transactions
+		Map<String, MonthlyPointsAccumulator> accumulators = new HashMap<>();
+		if (!customerNames.isEmpty()) {
+			RewardRules rules = pointsCalculationUtils.getRewardRules();
+			// Only the four fields the points need are read, from the covering index, instead of whole documents
+			try (Stream<TransactionPoints> transactions = fromDate == null || toDate == null
+					? transactionRepository.streamTransactionPoints(customerNames.keySet(), null, null)
+					: transactionRepository.streamTransactionPoints(customerNames.keySet(), fromDate.atStartOfDay(),
+							toDate.atStartOfDay().plusDays(1).minusNanos(1))) {
+				transactions.forEach(transaction -> accumulators
+						.computeIfAbsent(transaction.getCustomerId(), customerId -> new MonthlyPointsAccumulator())
+						.add(transaction.getTransactionDate(), rules.calculatePoints(transaction.getAmountCents(),
+								transaction.getTransactionDate(), transaction.getCategory())));
+			}
+		}
+
+		List<CustomerPointsDTO> customers = new ArrayList<>(customerNames.size());
+		List<String> notFound = new ArrayList<>();
+		for (String customerId : requestedIds) {
+			if (!customerNames.containsKey(customerId)) {
+				notFound.add(customerId);
+				continue;
+			}
+			MonthlyPointsAccumulator accumulator = accumulators.get(customerId);
+			customers.add(accumulator == null
+					? new CustomerPointsDTO(customerId, customerNames.get(customerId), Collections.emptyList(), 0)
+					: new CustomerPointsDTO(customerId, customerNames.get(customerId), accumulator.toMonthlyPoints(),
+							accumulator.totalPoints()));
+		}
+
+		log.info("Calculated reward points for {} of {} requested customers", customers.size(), requestedIds.size());
+		return new CustomerRewardsQueryResponseDTO(requestedIds.size(), customers.size(), customers, notFound);
+	}
+
+	@Override
+	public Stream<TransactionDTO> streamCustomerTransactions(String customerId, LocalDate fromDate,
+			LocalDate toDate) {
+
+		validateRewardsQuery(customerId, fromDate, toDate);
+
+		if (findCustomer(customerId) == null) {
+			log.error("No customer found for customerId: {}", customerId);
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}
+
+		Stream<Transaction> transactions;
+		if (fromDate == null || toDate == null) {
+			transactions = transactionRepository.streamByCustomerIdOrderByTransactionDateAscIdAsc(customerId);
+		} else {
+			transactions = transactionRepository.streamByCustomerIdAndTransactionDateBetweenOrderByTransactionDateAscIdAsc(
+					customerId, fromDate.atStartOfDay(), toDate.atStartOfDay().plusDays(1).minusNanos(1));
+		}
+		return transactions.map(conversionAndValidatorUtils::convertToTransactionDTO);
+	}
+
+	private void validateRewardsQuery(String customerId, LocalDate fromDate, LocalDate toDate) {
 		if (!conversionAndValidatorUtils.isValidCustomerId(customerId)) {
-			log.error("Validation failure with customerId: " + customerId);
+			log.error("Validation failure with customerId: {}", customerId);
 			throw new IllegalArgumentException("Invalid Customer ID.");
 		}
 
 		if (conversionAndValidatorUtils.isValidDates(fromDate, toDate)) {
-			log.error("Invalid date range: fromDate = " + fromDate + ", toDate = " + toDate);
+			log.error("Invalid date range: fromDate = {}, toDate = {}", fromDate, toDate);
 			throw new IllegalArgumentException("Invalid date range. From-date should be before to-date.");
 		}
+	}
 
-		Customer customer = customerRepository.findByCustomerId(customerId);
+	private CustomerDetailsDTO loadCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options, TransactionCursor after) {
 
-		if (fromDate == null || toDate == null) {
-			transactions = transactionRepository.findByCustomerId(customerId);
+		boolean paged = options.getCursor() != null || options.getLimit() != null;
+		if (options.isIncludeTransactions() && !paged) {
+			return loadCustomerRewards(customerId, fromDate, toDate);
+		}
 
-		} else {
-			LocalDateTime from = fromDate.atStartOfDay();
-			LocalDateTime to = toDate.atStartOfDay().plusDays(1).minusNanos(1);
-			transactions = transactionRepository.findByCustomerIdAndTransactionDateBetween(customerId, from, to);
+		Customer customer = findCustomer(customerId);
+		if (customer == null) {
+			log.error("No customer found for customerId: {}", customerId);
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}
+
+		LocalDateTime from = null;
+		LocalDateTime to = null;
+		if (fromDate != null && toDate != null) {
+			from = fromDate.atStartOfDay();
+			to = toDate.atStartOfDay().plusDays(1).minusNanos(1);
+		}
+
+		List<MonthlyPoints> monthlyPoints = from == null && monthlyPointsService.isAggregateReady()
+				? monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId)
+				: Collections.emptyList();
+		if (monthlyPoints.isEmpty()) {
+			monthlyPoints = transactionRepository.aggregateMonthlyPoints(customerId, from, to,
+					pointsCalculationUtils.getRewardRules());
+		}
+
+		if (monthlyPoints.isEmpty()) {
+			log.error("No transactions found for customerId: {} from {} to {}", customerId, fromDate, toDate);
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}
+
+		List<Transaction> transactions = Collections.emptyList();
+		String nextCursor = null;
+		if (options.isIncludeTransactions()) {
+			int pageSize = options.getLimit() == null ? defaultPageSize : options.getLimit();
+			transactions = transactionRepository.findTransactionPage(customerId, from, to, after, pageSize + 1);
+			if (transactions.size() > pageSize) {
+				transactions = transactions.subList(0, pageSize);
+				nextCursor = conversionAndValidatorUtils.encodeTransactionCursor(transactions.get(pageSize - 1));
+			}
+		}
+
+		CustomerDetailsDTO dto = conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions,
+				monthlyPoints.stream().map(conversionAndValidatorUtils::convertToMonthlyPointsDTO)
+						.collect(Collectors.toList()));
+		if (!options.isIncludeTransactions()) {
+			dto.setTransaction(null);
+		}
+		dto.setNextCursor(nextCursor);
+
+		log.info("Successfully calculated reward points for customer ID '{}' with {} transactions in the page",
+				customerId, transactions.size());
+		return dto;
+	}
+
+	private CustomerDetailsDTO loadCustomerRewards(String customerId, LocalDate fromDate, LocalDate toDate) {
+
+		Optional<Customer> cachedCustomer = customerCache.getIfPresent(customerId);
+		if (cachedCustomer != null && !cachedCustomer.isPresent()) {
+			log.error("No customer found for customerId: {}", customerId);
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}
+
+		boolean dateRange = fromDate != null && toDate != null;
+		LocalDateTime from = dateRange ? fromDate.atStartOfDay() : null;
+		LocalDateTime to = dateRange ? toDate.atStartOfDay().plusDays(1).minusNanos(1) : null;
+
+		// On a cache miss both lookups go out together, so the request waits for the slower one instead of the sum
+		Duration maxTime = timeLimiter.getTimeLimiterConfig().getTimeoutDuration();
+		CompletableFuture<Customer> customerLookup = cachedCustomer != null
+				? CompletableFuture.completedFuture(cachedCustomer.get())
+				: submitLookup(customerId,
+						() -> customerCache.get(customerId, id -> customerRepository.findCustomer(id, maxTime)));
+		CompletableFuture<List<Transaction>> transactionLookup;
+		try {
+			transactionLookup = submitLookup(customerId,
+					() -> transactionRepository.findCustomerTransactions(customerId, from, to, maxTime));
+		} catch (RewardsOverloadedException e) {
+			customerLookup.cancel(false);
+			throw e;
 		}
+		awaitLookups(customerId, customerLookup, transactionLookup);
 
-		if (customer == null || transactions == null || transactions.isEmpty()) {
-			log.error("No transactions found for customerId: " + customerId + " from " + fromDate + " to " + toDate);
+		Customer customer = customerLookup.join();
+		if (customer == null) {
+			log.error("No customer found for customerId: {}", customerId);
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}
+		List<Transaction> transactions = transactionLookup.join();
+		if (transactions == null || transactions.isEmpty()) {
+			log.error("No transactions found for customerId: {} from {} to {}", customerId, fromDate, toDate);
 			throw new CustomerNotFoundException("No transactions found for the given inputs.");
 		}
 
-		CustomerDetailsDTO dto = conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions);
+		CustomerDetailsDTO dto;
+		// Both read paths use the aggregate exactly when the transaction query is unbounded
+		List<MonthlyPoints> monthlyPoints = !dateRange && monthlyPointsService.isAggregateReady()
+				? monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId)
+				: Collections.emptyList();
+		if (monthlyPoints.isEmpty() && CALCULATION_MODE_MONGO.equalsIgnoreCase(pointsCalculationMode)) {
+			monthlyPoints = transactionRepository.aggregateMonthlyPoints(customerId, from, to,
+					pointsCalculationUtils.getRewardRules());
+		}
+		if (monthlyPoints.isEmpty()) {
+			dto = conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions);
+		} else {
+			dto = conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions,
+					monthlyPoints.stream().map(conversionAndValidatorUtils::convertToMonthlyPointsDTO)
+							.collect(Collectors.toList()));
+		}
 
-		log.info("Successfully calculated reward points for customer ID '{}'. DTO: {}", customerId, gson.toJson(dto));
+		log.info("Successfully calculated reward points for customer ID '{}'", customerId);
+		// Serializing the whole response is only worth paying for when someone is reading it
+		if (log.isDebugEnabled()) {
+			log.debug("Rewards response for customer ID '{}' : {}", customerId, gson.toJson(dto));
+		}
 		return dto;
 	}
 
-	public void calculateRewardPointsFallback(String customerId, LocalDate fromDate, LocalDate toDate, Throwable t) {
+	private <T> CompletableFuture<T> submitLookup(String customerId, Supplier<T> lookup) {
+		try {
+			return CompletableFuture.supplyAsync(lookup, lookupExecutor);
+		} catch (RejectedExecutionException e) {
+			log.error("Rewards lookup for customerId: {} rejected, every lookup thread and queue slot is taken",
+					customerId);
+			throw new RewardsOverloadedException("Too many rewards lookups in progress. Please try again later.", e);
+		}
+	}
+
+	// Both lookups share the rewardCalculationService deadline, which includes any time spent in the queue. The
+	// queries carry it as maxTimeMS, so Mongo abandons them once nobody is waiting, and a lookup still queued at
+	// the deadline is cancelled before it runs.
+	private void awaitLookups(String customerId, CompletableFuture<?>... lookups) {
+		try {
+			timeLimiter.executeFutureSupplier(() -> CompletableFuture.allOf(lookups));
+		} catch (TimeoutException e) {
+			for (CompletableFuture<?> lookup : lookups) {
+				lookup.cancel(false);
+			}
+			throw rewardsTimeout(customerId, e);
+		} catch (RuntimeException e) {
+			if (NestedExceptionUtils.getMostSpecificCause(e) instanceof MongoExecutionTimeoutException) {
+				throw rewardsTimeout(customerId, e);
+			}
+			throw e;
+		} catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IllegalStateException("Rewards lookup for customer Id " + customerId + " failed.", e);
+		}
+	}
+
+	private RewardsTimeoutException rewardsTimeout(String customerId, Exception cause) {
+		log.error("Rewards lookup for customerId: {} timed out after {}", customerId,
+				timeLimiter.getTimeLimiterConfig().getTimeoutDuration());
+		return new RewardsTimeoutException("Rewards lookup timed out. Please try again later.", cause);
+	}
+
+	// Unknown IDs are cached too, so scraping missing customers does not reach Mongo on every request
+	private Customer findCustomer(String customerId) {
+		return customerCache.get(customerId, customerRepository::findByCustomerId);
+	}
+
+	public void calculateRewardPointsFallback(String customerId, LocalDate fromDate, LocalDate toDate,
+			RewardsQueryOptions options, Throwable t) {
 		log.error("Fallback for calculateRewardPoints. CustomerId: {}, FromDate: {}, ToDate: {}, Error: {}", customerId,
 				fromDate, toDate, t.getMessage());
 	}
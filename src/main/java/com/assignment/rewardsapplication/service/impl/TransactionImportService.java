@@ -0,0 +1,9 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.io.InputStream;
+
+import com.assignment.rewardsapplication.dto.ImportResultDTO;
+
+public interface TransactionImportService {
+	ImportResultDTO importTransactions(String importId, String format, InputStream inputStream);
+}
\ No newline at end of file
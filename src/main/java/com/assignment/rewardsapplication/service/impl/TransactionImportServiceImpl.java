@@ -0,0 +1,227 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.ImportCheckpoint;
+import com.assignment.rewardsapplication.dto.ImportResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.exception.TransactionImportException;
+import com.assignment.rewardsapplication.repository.ImportCheckpointRepository;
+import com.assignment.rewardsapplication.utils.MoneyUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Service
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+	private static final Logger log = LogManager.getLogger(TransactionImportServiceImpl.class);
+
+	private static final String FORMAT_NDJSON = "ndjson";
+	private static final String FORMAT_CSV = "csv";
+
+	@Autowired
+	private RewardsService rewardsService;
+
+	@Autowired
+	private ImportCheckpointRepository importCheckpointRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${rewards.import.chunk-size:1000}")
+	private int chunkSize;
+
+	@Override
+	public ImportResultDTO importTransactions(String importId, String format, InputStream inputStream) {
+		if (importId == null || importId.trim().isEmpty()) {
+			throw new IllegalArgumentException("Import ID is required.");
+		}
+		if (!FORMAT_NDJSON.equalsIgnoreCase(format) && !FORMAT_CSV.equalsIgnoreCase(format)) {
+			throw new IllegalArgumentException("Unsupported import format. Supported formats are ndjson and csv.");
+		}
+		boolean csv = FORMAT_CSV.equalsIgnoreCase(format);
+
+		ImportCheckpoint checkpoint = importCheckpointRepository.findById(importId)
+				.orElseGet(() -> new ImportCheckpoint(importId, 0, 0, 0, false, null));
+		long resumeFrom = checkpoint.getLinesCommitted();
+		long previouslyImported = checkpoint.getRowsImported();
+		long previouslyRejected = checkpoint.getRowsRejected();
+		log.info("Starting {} import '{}' from line {}", format, importId, resumeFrom);
+
+		long startTime = System.nanoTime();
+		long lineNumber = 0;
+		long rowsRead = 0;
+		long rowsImported = 0;
+		long rowsRejected = 0;
+		List<CustomerTransactionDTO> chunk = new ArrayList<>(chunkSize);
+
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			Map<String, Integer> csvColumns = csv ? parseCsvHeader(reader.readLine()) : null;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				lineNumber++;
+				if (lineNumber <= resumeFrom) {
+					continue;
+				}
+				rowsRead++;
+
+				try {
+					chunk.add(csv ? parseCsvLine(line, csvColumns) : objectMapper.readValue(line,
+							CustomerTransactionDTO.class));
+				} catch (IOException | RuntimeException e) {
+					log.warn("Rejected line {} of import '{}' : {}", lineNumber, importId, e.getMessage());
+					rowsRejected++;
+				}
+
+				if (chunk.size() >= chunkSize) {
+					BatchTransactionResponseDTO response = commitChunk(importId, lineNumber, chunk);
+					rowsImported += response.getSaved();
+					rowsRejected += countInvalid(response);
+					chunk.clear();
+					saveCheckpoint(checkpoint, lineNumber, previouslyImported + rowsImported,
+							previouslyRejected + rowsRejected, false);
+					log.info("Import '{}' committed line {} ({} rows/s)", importId, lineNumber,
+							rowsPerSecond(rowsRead, startTime));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read import '" + importId + "'", e);
+		}
+
+		if (!chunk.isEmpty()) {
+			BatchTransactionResponseDTO response = commitChunk(importId, lineNumber, chunk);
+			rowsImported += response.getSaved();
+			rowsRejected += countInvalid(response);
+		}
+		saveCheckpoint(checkpoint, Math.max(lineNumber, resumeFrom), previouslyImported + rowsImported,
+				previouslyRejected + rowsRejected, true);
+
+		long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+		ImportResultDTO result = new ImportResultDTO(importId, format.toLowerCase(), resumeFrom, rowsRead,
+				rowsImported, rowsRejected, elapsedMillis, rowsPerSecond(rowsRead, startTime));
+		log.info("Finished import '{}' : {} imported, {} rejected, {} rows/s", importId, rowsImported, rowsRejected,
+				result.getRowsPerSecond());
+		return result;
+	}
+
+	// Rows recorded by an earlier, interrupted run come back as already recorded and count as neither imported nor
+	// rejected. A row that failed to save stops the import before the checkpoint moves past its chunk, so resuming
+	// the import retries it.
+	private BatchTransactionResponseDTO commitChunk(String importId, long lineNumber,
+			List<CustomerTransactionDTO> chunk) {
+		BatchTransactionResponseDTO response = rewardsService.addCustomerTransactions(chunk);
+		long failed = response.getResults().stream()
+				.filter(result -> result.getStatus() == TransactionResultStatus.FAILED).count();
+		if (failed > 0) {
+			log.error("Import '{}' stopped at line {} : {} of {} rows failed to save", importId, lineNumber, failed,
+					chunk.size());
+			throw new TransactionImportException("Import '" + importId + "' stopped at line " + lineNumber + " : "
+					+ failed + " of " + chunk.size()
+					+ " rows failed to save. Send the file again with the same import ID to resume.");
+		}
+		return response;
+	}
+
+	private long countInvalid(BatchTransactionResponseDTO response) {
+		return response.getResults().stream()
+				.filter(result -> result.getStatus() == TransactionResultStatus.INVALID).count();
+	}
+
+	private void saveCheckpoint(ImportCheckpoint checkpoint, long linesCommitted, long rowsImported,
+			long rowsRejected, boolean completed) {
+		checkpoint.setLinesCommitted(linesCommitted);
+		checkpoint.setRowsImported(rowsImported);
+		checkpoint.setRowsRejected(rowsRejected);
+		checkpoint.setCompleted(completed);
+		checkpoint.setUpdatedAt(LocalDateTime.now());
+		importCheckpointRepository.save(checkpoint);
+	}
+
+	private double rowsPerSecond(long rows, long startTime) {
+		long elapsedNanos = System.nanoTime() - startTime;
+		return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+	}
+
+	private Map<String, Integer> parseCsvHeader(String header) {
+		if (header == null) {
+			throw new IllegalArgumentException("CSV import requires a header row.");
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		List<String> names = splitCsvLine(header);
+		for (int i = 0; i < names.size(); i++) {
+			columns.put(names.get(i).trim(), i);
+		}
+		return columns;
+	}
+
+	private CustomerTransactionDTO parseCsvLine(String line, Map<String, Integer> columns) {
+		List<String> values = splitCsvLine(line);
+		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		dto.setCustomerId(csvValue(values, columns, "customerId"));
+		dto.setCustomerName(csvValue(values, columns, "customerName"));
+		dto.setTransactionId(csvValue(values, columns, "transactionId"));
+		String amount = csvValue(values, columns, "amount");
+		dto.setAmountCents(amount == null ? null : MoneyUtils.parseCents(amount));
+		String transactionDate = csvValue(values, columns, "transactionDate");
+		dto.setTransactionDate(transactionDate == null ? null : LocalDateTime.parse(transactionDate));
+		dto.setCategory(csvValue(values, columns, "category"));
+		return dto;
+	}
+
+	private String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= values.size()) {
+			return null;
+		}
+		String value = values.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	private List<String> splitCsvLine(String line) {
+		List<String> values = new ArrayList<>();
+		StringBuilder value = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					value.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					value.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				values.add(value.toString());
+				value.setLength(0);
+			} else {
+				value.append(c);
+			}
+		}
+		values.add(value.toString());
+		return values;
+	}
+}
\ No newline at end of file
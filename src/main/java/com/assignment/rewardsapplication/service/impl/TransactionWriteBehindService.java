@@ -0,0 +1,12 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+
+public interface TransactionWriteBehindService {
+	boolean isEnabled();
+
+	TransactionResultStatus enqueue(CustomerTransactionDTO dto);
+
+	int getPendingCount();
+}
\ No newline at end of file
@@ -0,0 +1,444 @@
+package com.assignment.rewardsapplication.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class TransactionWriteBehindServiceImpl implements TransactionWriteBehindService {
+
+	public static final String PENDING_GAUGE = "rewards.ingestion.write-behind.pending";
+
+	private static final Logger log = LogManager.getLogger(TransactionWriteBehindServiceImpl.class);
+
+	private static final String MODE_WRITE_BEHIND = "write-behind";
+	private static final String SEGMENT_PREFIX = "transactions-";
+	private static final String SEGMENT_SUFFIX = ".ndjson";
+	private static final String DEAD_LETTER_FILE = "dead-letter.ndjson";
+	private static final byte[] NEWLINE = { '\n' };
+
+	@Autowired
+	private RewardsService rewardsService;
+
+	@Autowired
+	private RecentTransactionIds recentTransactionIds;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${rewards.ingestion.mode:sync}")
+	private String mode;
+
+	@Value("${rewards.ingestion.write-behind.capacity:10000}")
+	private int capacity;
+
+	@Value("${rewards.ingestion.write-behind.flush-size:500}")
+	private int flushSize;
+
+	@Value("${rewards.ingestion.write-behind.flush-interval:50ms}")
+	private Duration flushInterval;
+
+	@Value("${rewards.ingestion.write-behind.retry-interval:1s}")
+	private Duration retryInterval;
+
+	@Value("${rewards.ingestion.write-behind.max-attempts:60}")
+	private int maxAttempts;
+
+	@Value("${rewards.ingestion.write-behind.drain-timeout:30s}")
+	private Duration drainTimeout;
+
+	@Value("${rewards.ingestion.write-behind.journal.directory:data/write-behind}")
+	private String journalDirectory;
+
+	@Value("${rewards.ingestion.write-behind.journal.sync-on-append:false}")
+	private boolean syncOnAppend;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition flushNeeded = lock.newCondition();
+
+	// Guarded by lock. The buffer holds exactly the records appended to the current journal segment, so a segment
+	// can be deleted as soon as the batch it was swapped out with is saved
+	private List<CustomerTransactionDTO> buffer = new ArrayList<>();
+
+	private FileChannel journal;
+
+	private Path segment;
+
+	private long segmentSequence;
+
+	// Accepted but not yet saved, counting the batch being flushed; only written under lock
+	private volatile int pending;
+
+	private volatile boolean accepting;
+
+	private volatile long stoppedAt;
+
+	private Thread flusher;
+
+	@Override
+	public boolean isEnabled() {
+		return MODE_WRITE_BEHIND.equalsIgnoreCase(mode);
+	}
+
+	@Override
+	public int getPendingCount() {
+		return pending;
+	}
+
+	@PostConstruct
+	public void init() throws IOException {
+		if (!isEnabled()) {
+			return;
+		}
+		Path directory = Paths.get(journalDirectory);
+		Files.createDirectories(directory);
+		List<Path> leftoverSegments = listSegments(directory);
+		if (!leftoverSegments.isEmpty()) {
+			segmentSequence = sequenceOf(leftoverSegments.get(leftoverSegments.size() - 1));
+		}
+		openNextSegment();
+		Gauge.builder(PENDING_GAUGE, this, TransactionWriteBehindServiceImpl::getPendingCount)
+				.description("Transactions accepted but not yet saved to MongoDB").baseUnit("transactions")
+				.register(meterRegistry);
+
+		accepting = true;
+		flusher = new Thread(() -> flush(leftoverSegments), "write-behind-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+		log.info("Write-behind ingestion enabled with capacity {}, flush size {} and flush interval {}, journal in {}",
+				capacity, flushSize, flushInterval, directory.toAbsolutePath());
+	}
+
+	@Override
+	public TransactionResultStatus enqueue(CustomerTransactionDTO customerTransactionDTO) {
+		if (recentTransactionIds.contains(customerTransactionDTO.getCustomerId(),
+				customerTransactionDTO.getTransactionId())) {
+			log.info("Transaction {} for customer Id {} already recorded", customerTransactionDTO.getTransactionId(),
+					customerTransactionDTO.getCustomerId());
+			return TransactionResultStatus.ALREADY_RECORDED;
+		}
+
+		ByteBuffer[] record;
+		try {
+			record = new ByteBuffer[] { ByteBuffer.wrap(objectMapper.writeValueAsBytes(customerTransactionDTO)),
+					ByteBuffer.wrap(NEWLINE) };
+		} catch (IOException e) {
+			log.error("Failed to serialize transaction {} for customer Id {} : {}",
+					customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId(), e.getMessage());
+			return TransactionResultStatus.FAILED;
+		}
+
+		lock.lock();
+		try {
+			if (!accepting) {
+				log.warn("Write-behind buffer is shutting down, refusing transaction {} for customer Id {}",
+						customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+				return TransactionResultStatus.FAILED;
+			}
+			if (pending >= capacity) {
+				log.warn("Write-behind buffer is full, throttling transaction {} for customer Id {}",
+						customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+				return TransactionResultStatus.THROTTLED;
+			}
+			// The record reaches the journal before the caller is told it was accepted
+			while (record[1].hasRemaining()) {
+				journal.write(record);
+			}
+			if (syncOnAppend) {
+				journal.force(false);
+			}
+			buffer.add(customerTransactionDTO);
+			pending++;
+			if (buffer.size() == 1 || buffer.size() >= flushSize) {
+				flushNeeded.signal();
+			}
+		} catch (IOException e) {
+			log.error("Failed to journal transaction {} for customer Id {} : {}",
+					customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId(), e.getMessage());
+			return TransactionResultStatus.FAILED;
+		} finally {
+			lock.unlock();
+		}
+
+		log.info("Transaction {} for customer Id {} accepted for write-behind",
+				customerTransactionDTO.getTransactionId(), customerTransactionDTO.getCustomerId());
+		return TransactionResultStatus.ACCEPTED;
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		if (flusher == null) {
+			return;
+		}
+		lock.lock();
+		try {
+			stoppedAt = System.nanoTime();
+			accepting = false;
+			flushNeeded.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		flusher.join(drainTimeout.plus(retryInterval).toMillis());
+
+		lock.lock();
+		try {
+			closeJournal();
+			if (buffer.isEmpty()) {
+				deleteSegment(segment);
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (pending > 0) {
+			log.warn("Write-behind buffer stopped with {} transactions unsaved, they will be replayed from {} on the "
+					+ "next start", pending, journalDirectory);
+		} else {
+			log.info("Write-behind buffer drained");
+		}
+	}
+
+	private void flush(List<Path> leftoverSegments) {
+		try {
+			for (Path leftoverSegment : leftoverSegments) {
+				replay(leftoverSegment);
+			}
+			while (true) {
+				List<CustomerTransactionDTO> batch;
+				Path flushedSegment;
+				lock.lock();
+				try {
+					while (accepting && buffer.isEmpty()) {
+						flushNeeded.await();
+					}
+					// Group commit: wait up to one flush interval after the first record for the batch to fill
+					long deadline = System.nanoTime() + flushInterval.toNanos();
+					long remaining;
+					while (accepting && buffer.size() < flushSize
+							&& (remaining = deadline - System.nanoTime()) > 0) {
+						flushNeeded.awaitNanos(remaining);
+					}
+					if (buffer.isEmpty()) {
+						return;
+					}
+					batch = buffer;
+					buffer = new ArrayList<>(flushSize);
+					flushedSegment = rotateSegment();
+				} finally {
+					lock.unlock();
+				}
+
+				if (!commit(batch)) {
+					continue;
+				}
+				if (flushedSegment != null) {
+					deleteSegment(flushedSegment);
+				}
+				lock.lock();
+				try {
+					pending -= batch.size();
+				} finally {
+					lock.unlock();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("Write-behind flusher interrupted with {} transactions unsaved", pending);
+		}
+	}
+
+	private void replay(Path leftoverSegment) throws InterruptedException {
+		List<CustomerTransactionDTO> records = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(leftoverSegment, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				try {
+					records.add(objectMapper.readValue(line, CustomerTransactionDTO.class));
+				} catch (IOException e) {
+					// A crash in the middle of an append leaves a torn last line; that request was never acknowledged
+					log.warn("Skipped unreadable record in journal {} : {}", leftoverSegment, e.getMessage());
+				}
+			}
+		} catch (IOException e) {
+			log.error("Failed to read journal {} : {}", leftoverSegment, e.getMessage());
+			return;
+		}
+
+		log.info("Replaying {} transactions from journal {}", records.size(), leftoverSegment);
+		// Records that were saved before the crash come back as already recorded
+		if (commit(records)) {
+			deleteSegment(leftoverSegment);
+		}
+	}
+
+	// Returns false when the drain timeout runs out before every record is saved; the journal segment is then kept.
+	// Records still failing after maxAttempts are moved to the dead-letter journal and count as done.
+	private boolean commit(List<CustomerTransactionDTO> records) throws InterruptedException {
+		for (int from = 0; from < records.size(); from += flushSize) {
+			List<CustomerTransactionDTO> chunk = records.subList(from, Math.min(from + flushSize, records.size()));
+			int attempts = 0;
+			while (!chunk.isEmpty()) {
+				chunk = saveChunk(chunk);
+				attempts++;
+				if (!chunk.isEmpty()) {
+					if (attempts >= maxAttempts && deadLetter(chunk, attempts)) {
+						break;
+					}
+					if (!accepting && System.nanoTime() - stoppedAt > drainTimeout.toNanos()) {
+						return false;
+					}
+					TimeUnit.NANOSECONDS.sleep(retryInterval.toNanos());
+				}
+			}
+		}
+		return true;
+	}
+
+	// Returns the records that have to be retried
+	private List<CustomerTransactionDTO> saveChunk(List<CustomerTransactionDTO> chunk) {
+		BatchTransactionResponseDTO response;
+		try {
+			response = rewardsService.addCustomerTransactions(chunk);
+		} catch (RuntimeException e) {
+			log.error("Failed to flush {} buffered transactions, retrying in {} : {}", chunk.size(), retryInterval,
+					e.getMessage());
+			return chunk;
+		}
+
+		List<CustomerTransactionDTO> retry = new ArrayList<>();
+		for (TransactionResultDTO result : response.getResults()) {
+			if (result.getStatus() == TransactionResultStatus.FAILED) {
+				retry.add(chunk.get(result.getIndex()));
+			} else if (result.getStatus() == TransactionResultStatus.INVALID) {
+				log.warn("Dropped invalid buffered transaction {} for customer Id {} : {}", result.getTransactionId(),
+						result.getCustomerId(), result.getMessage());
+			}
+		}
+		log.info("Flushed {} buffered transactions : {} saved, {} already recorded, {} to retry", chunk.size(),
+				response.getSaved(), response.getAlreadyRecorded(), retry.size());
+		return retry;
+	}
+
+	// Returns false when the records could not be written, so they stay in the retry loop
+	private boolean deadLetter(List<CustomerTransactionDTO> records, int attempts) {
+		Path deadLetterJournal = Paths.get(journalDirectory).resolve(DEAD_LETTER_FILE);
+		try (FileChannel channel = FileChannel.open(deadLetterJournal, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			for (CustomerTransactionDTO record : records) {
+				ByteBuffer[] line = { ByteBuffer.wrap(objectMapper.writeValueAsBytes(record)),
+						ByteBuffer.wrap(NEWLINE) };
+				while (line[1].hasRemaining()) {
+					channel.write(line);
+				}
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			log.error("Failed to write {} transactions to dead-letter journal {}, retrying : {}", records.size(),
+					deadLetterJournal, e.getMessage());
+			return false;
+		}
+		for (CustomerTransactionDTO record : records) {
+			log.error("Moved transaction {} for customer Id {} to dead-letter journal {} after {} attempts",
+					record.getTransactionId(), record.getCustomerId(), deadLetterJournal, attempts);
+		}
+		return true;
+	}
+
+	// Called under lock. Returns the segment that was closed, or null when the journal could not be rotated and the
+	// current segment, which still holds the batch being flushed, has to be kept
+	private Path rotateSegment() {
+		Path closedSegment = segment;
+		FileChannel closedJournal = journal;
+		try {
+			openNextSegment();
+		} catch (IOException e) {
+			log.error("Failed to open a new journal segment, appending to {} : {}", segment, e.getMessage());
+			return null;
+		}
+		try {
+			closedJournal.close();
+		} catch (IOException e) {
+			log.warn("Failed to close journal {} : {}", closedSegment, e.getMessage());
+		}
+		return closedSegment;
+	}
+
+	private void openNextSegment() throws IOException {
+		Path nextSegment = Paths.get(journalDirectory)
+				.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentSequence + 1, SEGMENT_SUFFIX));
+		journal = FileChannel.open(nextSegment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		segment = nextSegment;
+		segmentSequence++;
+	}
+
+	private void closeJournal() {
+		try {
+			journal.close();
+		} catch (IOException e) {
+			log.warn("Failed to close journal {} : {}", segment, e.getMessage());
+		}
+	}
+
+	private void deleteSegment(Path savedSegment) {
+		try {
+			Files.deleteIfExists(savedSegment);
+		} catch (IOException e) {
+			log.warn("Failed to delete journal {}, its records will be replayed as already recorded : {}",
+					savedSegment, e.getMessage());
+		}
+	}
+
+	private static List<Path> listSegments(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> {
+				String name = file.getFileName().toString();
+				return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+			}).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static long sequenceOf(Path journalSegment) {
+		String name = journalSegment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+public class CentsJsonDeserializer extends StdDeserializer<Long> {
+
+	private static final long serialVersionUID = 1L;
+
+	public CentsJsonDeserializer() {
+		super(Long.class);
+	}
+
+	@Override
+	public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+		JsonToken token = parser.currentToken();
+		BigDecimal amount;
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			amount = parser.getDecimalValue();
+		} else if (token == JsonToken.VALUE_STRING) {
+			try {
+				amount = new BigDecimal(parser.getText().trim());
+			} catch (NumberFormatException e) {
+				throw InvalidFormatException.from(parser, "Amount must be a decimal number.", parser.getText(),
+						Long.class);
+			}
+		} else {
+			return (Long) context.handleUnexpectedToken(Long.class, parser);
+		}
+
+		try {
+			return MoneyUtils.toCents(amount);
+		} catch (IllegalArgumentException e) {
+			throw InvalidFormatException.from(parser, e.getMessage(), parser.getText(), Long.class);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+public class CentsJsonSerializer extends StdSerializer<Long> {
+
+	private static final long serialVersionUID = 1L;
+
+	public CentsJsonSerializer() {
+		super(Long.class);
+	}
+
+	@Override
+	public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+		generator.writeNumber(MoneyUtils.toDecimal(cents));
+	}
+}
\ No newline at end of file
@@ -1,22 +1,36 @@
 package com.assignment.rewardsapplication.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.assignment.rewardsapplication.dto.Customer;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.PointsSummary;
 import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
 import com.assignment.rewardsapplication.dto.TransactionDTO;
 
 @Component
 public class ConversionAndValidatorUtils {
 
+	private static final String CURSOR_SEPARATOR = "|";
+
+	private static final DateTimeFormatter TRANSACTION_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
 	@Autowired
 	private PointsCalculationUtils pointsCalculationUtils;
 
@@ -24,9 +38,8 @@ public class ConversionAndValidatorUtils {
 		TransactionDTO transactionDTO = new TransactionDTO();
 		transactionDTO.setCustomerId(transaction.getCustomerId());
 		transactionDTO.setTransactionId(transaction.getTransactionId());
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-		transactionDTO.setTransactionDate(transaction.getTransactionDate().format(formatter));
-		transactionDTO.setAmount(transaction.getAmount());
+		transactionDTO.setTransactionDate(transaction.getTransactionDate().format(TRANSACTION_DATE_FORMAT));
+		transactionDTO.setAmount(MoneyUtils.toAmount(transaction.getAmountCents()));
 		return transactionDTO;
 	}
 
@@ -39,13 +52,38 @@ public class ConversionAndValidatorUtils {
 		List<TransactionDTO> transactionDTOs = transactions.stream().map(this::convertToTransactionDTO)
 				.collect(Collectors.toList());
 		customerDetailsDTO.setTransaction(transactionDTOs);
-		customerDetailsDTO.setMonthlyPoints(
-				pointsCalculationUtils.calculateMonthlyPoints(customer.getCustomerId(), transactions));
-		customerDetailsDTO.setTotalPoints(pointsCalculationUtils.calculateTotalPoints(transactions));
+		PointsSummary pointsSummary = pointsCalculationUtils.calculatePointsSummary(customer.getCustomerId(),
+				transactions);
+		customerDetailsDTO.setMonthlyPoints(pointsSummary.getMonthlyPoints());
+		customerDetailsDTO.setTotalPoints(pointsSummary.getTotalPoints());
+
+		return customerDetailsDTO;
+	}
+
+	public CustomerDetailsDTO prepareCustomerDetailsDTO(Customer customer, List<Transaction> transactions,
+			List<MonthlyPointsDTO> monthlyPoints) {
+
+		CustomerDetailsDTO customerDetailsDTO = new CustomerDetailsDTO();
+		customerDetailsDTO.setId(customer.getCustomerId());
+		customerDetailsDTO.setCustomerName(customer.getCustomerName());
+
+		List<TransactionDTO> transactionDTOs = transactions.stream().map(this::convertToTransactionDTO)
+				.collect(Collectors.toList());
+		customerDetailsDTO.setTransaction(transactionDTOs);
+		customerDetailsDTO.setMonthlyPoints(monthlyPoints);
+		customerDetailsDTO.setTotalPoints(monthlyPoints.stream().mapToInt(MonthlyPointsDTO::getPoints).sum());
 
 		return customerDetailsDTO;
 	}
 
+	public MonthlyPointsDTO convertToMonthlyPointsDTO(MonthlyPoints monthlyPoints) {
+		MonthlyPointsDTO monthlyPointsDTO = new MonthlyPointsDTO();
+		monthlyPointsDTO.setYear(monthlyPoints.getYear());
+		monthlyPointsDTO.setMonth(Month.of(monthlyPoints.getMonth()).toString());
+		monthlyPointsDTO.setPoints(monthlyPoints.getPoints());
+		return monthlyPointsDTO;
+	}
+
 	public Customer prepareCustomer(CustomerTransactionDTO customerTransactionDTO) {
 
 		Customer customer = new Customer();
@@ -59,12 +97,32 @@ public class ConversionAndValidatorUtils {
 		Transaction transaction = new Transaction();
 		transaction.setCustomerId(customerTransactionDTO.getCustomerId());
 		transaction.setTransactionId(customerTransactionDTO.getTransactionId());
-		transaction.setAmount(customerTransactionDTO.getAmount());
+		transaction.setAmountCents(customerTransactionDTO.getAmountCents());
 		transaction.setTransactionDate(customerTransactionDTO.getTransactionDate());
+		transaction.setCategory(customerTransactionDTO.getCategory());
 
 		return transaction;
 	}
 
+	public String encodeTransactionCursor(Transaction transaction) {
+		String cursor = transaction.getTransactionDate() + CURSOR_SEPARATOR + transaction.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public TransactionCursor decodeTransactionCursor(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(CURSOR_SEPARATOR);
+			String id = separator < 0 ? null : decoded.substring(separator + 1);
+			if (id == null || !ObjectId.isValid(id)) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+			return new TransactionCursor(LocalDateTime.parse(decoded.substring(0, separator)), id);
+		} catch (IllegalArgumentException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor.");
+		}
+	}
+
 	public boolean isValidCustomerId(String customerId) {
 		if (customerId == null || customerId.length() != 7)
 			return false;
@@ -0,0 +1,40 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public final class MoneyUtils {
+
+	private static final int CENTS_SCALE = 2;
+
+	private MoneyUtils() {
+	}
+
+	public static long toCents(BigDecimal amount) {
+		if (amount.stripTrailingZeros().scale() > CENTS_SCALE) {
+			throw new IllegalArgumentException("Amount must not have more than two decimal places.");
+		}
+		try {
+			return amount.movePointRight(CENTS_SCALE).longValueExact();
+		} catch (ArithmeticException e) {
+			throw new IllegalArgumentException("Amount is out of range.");
+		}
+	}
+
+	public static long parseCents(String amount) {
+		return toCents(new BigDecimal(amount.trim()));
+	}
+
+	public static long roundToCents(double amount) {
+		return BigDecimal.valueOf(amount).setScale(CENTS_SCALE, RoundingMode.HALF_UP).movePointRight(CENTS_SCALE)
+				.longValueExact();
+	}
+
+	public static double toAmount(long cents) {
+		return cents / 100.0;
+	}
+
+	public static BigDecimal toDecimal(long cents) {
+		return BigDecimal.valueOf(cents, CENTS_SCALE);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+
+public class MonthlyPointsAccumulator {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int[] slots = new int[INITIAL_CAPACITY * 2];
+
+	private int[] epochMonths = new int[INITIAL_CAPACITY];
+
+	private int[] points = new int[INITIAL_CAPACITY];
+
+	private int size;
+
+	public void add(LocalDateTime transactionDate, int transactionPoints) {
+		add(transactionDate.getYear() * 12 + transactionDate.getMonthValue() - 1, transactionPoints);
+	}
+
+	public void add(int epochMonth, int transactionPoints) {
+		int mask = slots.length - 1;
+		int slot = hash(epochMonth) & mask;
+		while (slots[slot] != 0) {
+			int index = slots[slot] - 1;
+			if (epochMonths[index] == epochMonth) {
+				points[index] += transactionPoints;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+
+		if (size == epochMonths.length) {
+			grow();
+			add(epochMonth, transactionPoints);
+			return;
+		}
+		epochMonths[size] = epochMonth;
+		points[size] = transactionPoints;
+		slots[slot] = ++size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int totalPoints() {
+		int totalPoints = 0;
+		for (int i = 0; i < size; i++) {
+			totalPoints += points[i];
+		}
+		return totalPoints;
+	}
+
+	public MonthlyPointsAccumulator merge(MonthlyPointsAccumulator other) {
+		for (int i = 0; i < other.size; i++) {
+			add(other.epochMonths[i], other.points[i]);
+		}
+		return this;
+	}
+
+	public List<MonthlyPointsDTO> toMonthlyPoints() {
+		List<MonthlyPointsDTO> monthlyPoints = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int year = Math.floorDiv(epochMonths[i], 12);
+			Month month = Month.of(Math.floorMod(epochMonths[i], 12) + 1);
+			monthlyPoints.add(new MonthlyPointsDTO(year, month.toString(), points[i]));
+		}
+		return monthlyPoints;
+	}
+
+	private void grow() {
+		int capacity = epochMonths.length * 2;
+		epochMonths = Arrays.copyOf(epochMonths, capacity);
+		points = Arrays.copyOf(points, capacity);
+		slots = new int[capacity * 2];
+		int mask = slots.length - 1;
+		for (int i = 0; i < size; i++) {
+			int slot = hash(epochMonths[i]) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = i + 1;
+		}
+	}
+
+	private static int hash(int epochMonth) {
+		int h = epochMonth * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
\ No newline at end of file
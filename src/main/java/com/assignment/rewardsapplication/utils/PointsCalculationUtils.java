@@ -1,58 +1,181 @@
 package com.assignment.rewardsapplication.utils;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.PointsSummary;
 import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.rules.RewardRules;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class PointsCalculationUtils {
 
+	public static final String CALCULATION_TIMER = "rewards.points.calculation";
+
+	private static final int LEAF_SIZE = 8_192;
+
+	@Autowired
+	private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+	private volatile RewardRules rewardRules = RewardRules.standard();
+
+	@Value("${rewards.scoring.parallel-threshold:100000}")
+	private int parallelThreshold = 100_000;
+
+	@Value("${rewards.scoring.parallelism:0}")
+	private int parallelism;
+
+	private volatile ForkJoinPool scoringPool;
+
+	public RewardRules getRewardRules() {
+		return rewardRules;
+	}
+
+	public void setRewardRules(RewardRules rewardRules) {
+		this.rewardRules = rewardRules;
+	}
+
+	public void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	public int calculateTotalPoints(List<Transaction> transactions) {
-		return transactions.stream().mapToInt(tx -> calculatePoints(tx.getAmount())).sum();
+		long startTime = System.nanoTime();
+		int totalPoints = accumulate(rewardRules, transactions).totalPoints();
+		recordCalculation("calculateTotalPoints", startTime);
+		return totalPoints;
 	}
 
-	public int calculatePoints(double amount) {
-		int points = 0;
-		if (amount > 100) {
-			points += (int) ((amount - 100) * 2);
-			points += 50;
-		} else if (amount > 50) {
-			points += (int) (amount - 50);
-		}
-		return points;
+	public int calculatePoints(Transaction transaction) {
+		return calculatePoints(rewardRules, transaction);
 	}
 
 	public List<MonthlyPointsDTO> calculateMonthlyPoints(String customerId, List<Transaction> transactions) {
-		Map<String, MonthlyPointsDTO> monthlyPointsMap = new LinkedHashMap<>();
+		long startTime = System.nanoTime();
+		List<MonthlyPointsDTO> monthlyPoints = accumulate(rewardRules, transactions).toMonthlyPoints();
+		recordCalculation("calculateMonthlyPoints", startTime);
+		return monthlyPoints;
+	}
 
-		for (Transaction transaction : transactions) {
-			LocalDate transactionDate = transaction.getTransactionDate().toLocalDate();
-			int points = calculatePoints(transaction.getAmount());
+	public PointsSummary calculatePointsSummary(String customerId, List<Transaction> transactions) {
+		long startTime = System.nanoTime();
+		MonthlyPointsAccumulator accumulator = accumulate(rewardRules, transactions);
+		PointsSummary pointsSummary = new PointsSummary(accumulator.totalPoints(), accumulator.toMonthlyPoints());
+		recordCalculation("calculatePointsSummary", startTime);
+		return pointsSummary;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		ForkJoinPool pool = scoringPool;
+		if (pool != null) {
+			pool.shutdown();
+		}
+	}
 
-			String monthKey = transactionDate.getYear() + "-" + transactionDate.getMonth().toString();
+	private MonthlyPointsAccumulator accumulate(RewardRules rules, List<Transaction> transactions) {
+		if (transactions.size() < parallelThreshold || !(transactions instanceof RandomAccess)
+				|| scoringParallelism() < 2) {
+			return accumulate(rules, transactions, 0, transactions.size());
+		}
+		return scoringPool().invoke(new ScoringTask(rules, transactions, 0, transactions.size()));
+	}
 
-			MonthlyPointsDTO monthlyPointDTO = monthlyPointsMap.get(monthKey);
+	private static MonthlyPointsAccumulator accumulate(RewardRules rules, List<Transaction> transactions, int from,
+			int to) {
+		MonthlyPointsAccumulator accumulator = new MonthlyPointsAccumulator();
+		for (int i = from; i < to; i++) {
+			Transaction transaction = transactions.get(i);
+			accumulator.add(transaction.getTransactionDate(), calculatePoints(rules, transaction));
+		}
+		return accumulator;
+	}
 
-			if (monthlyPointDTO == null) {
-				monthlyPointDTO = new MonthlyPointsDTO();
-				monthlyPointDTO.setYear(transactionDate.getYear());
-				monthlyPointDTO.setMonth(transactionDate.getMonth().toString());
-				monthlyPointDTO.setPoints(points);
-			} else {
-				monthlyPointDTO.setPoints(monthlyPointDTO.getPoints() + points);
+	// Scoring gets its own pool so large histories never queue behind, or starve, parallel streams elsewhere
+	private ForkJoinPool scoringPool() {
+		ForkJoinPool pool = scoringPool;
+		if (pool == null) {
+			synchronized (this) {
+				pool = scoringPool;
+				if (pool == null) {
+					pool = new ForkJoinPool(scoringParallelism(), forkJoinPool -> {
+						ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+								.newThread(forkJoinPool);
+						thread.setName("points-scorer-" + thread.getPoolIndex());
+						return thread;
+					}, null, false);
+					scoringPool = pool;
+				}
 			}
-
-			monthlyPointsMap.put(monthKey, monthlyPointDTO);
 		}
+		return pool;
+	}
+
+	// Only list-level calls are timed: a timer around a single transaction would cost more than scoring it
+	private void recordCalculation(String method, long startTime) {
+		Timer.builder(CALCULATION_TIMER).description("Time spent calculating reward points").tag("method", method)
+				.publishPercentileHistogram().register(meterRegistry)
+				.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+	}
+
+	private int scoringParallelism() {
+		return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+	}
 
-		return new ArrayList<>(monthlyPointsMap.values());
+	private static int calculatePoints(RewardRules rules, Transaction transaction) {
+		return rules.calculatePoints(transaction.getAmountCents(), transaction.getTransactionDate(),
+				transaction.getCategory());
 	}
 
+	private static final class ScoringTask extends RecursiveTask<MonthlyPointsAccumulator> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient RewardRules rules;
+
+		private final transient List<Transaction> transactions;
+
+		private final int from;
+
+		private final int to;
+
+		private ScoringTask(RewardRules rules, List<Transaction> transactions, int from, int to) {
+			this.rules = rules;
+			this.transactions = transactions;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected MonthlyPointsAccumulator compute() {
+			if (to - from <= LEAF_SIZE) {
+				return accumulate(rules, transactions, from, to);
+			}
+			int middle = (from + to) >>> 1;
+			ScoringTask left = new ScoringTask(rules, transactions, from, middle);
+			left.fork();
+			MonthlyPointsAccumulator right = new ScoringTask(rules, transactions, middle, to).compute();
+			// Merging right into left keeps months in the order they were first seen, as the sequential pass does
+			return left.join().merge(right);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+public class RankedPoints {
+
+	public static final Comparator<Rank> HIGHEST_FIRST = Comparator.comparingLong(Rank::getPoints).reversed()
+			.thenComparing(Rank::getCustomerId);
+
+	private final ConcurrentHashMap<String, Long> totals = new ConcurrentHashMap<>();
+
+	private final ConcurrentSkipListSet<Rank> ranking = new ConcurrentSkipListSet<>(HIGHEST_FIRST);
+
+	public void add(String customerId, long points) {
+		if (points == 0) {
+			return;
+		}
+		totals.compute(customerId, (id, current) -> {
+			long updated = current == null ? points : current + points;
+			// The new rank goes in before the old one comes out, so a concurrent reader sees the customer at least
+			// once and skips the duplicate
+			ranking.add(new Rank(id, updated));
+			if (current != null) {
+				ranking.remove(new Rank(id, current));
+			}
+			return updated;
+		});
+	}
+
+	public long getPoints(String customerId) {
+		return totals.getOrDefault(customerId, 0L);
+	}
+
+	public Map<String, Long> getTotals() {
+		return Collections.unmodifiableMap(totals);
+	}
+
+	public int size() {
+		return totals.size();
+	}
+
+	public List<Rank> top(int limit) {
+		List<Rank> top = new ArrayList<>(limit);
+		Set<String> seen = new HashSet<>();
+		for (Rank rank : ranking) {
+			if (top.size() == limit) {
+				break;
+			}
+			if (seen.add(rank.getCustomerId())) {
+				top.add(rank);
+			}
+		}
+		return top;
+	}
+
+	@Data
+	@AllArgsConstructor
+	public static class Rank {
+
+		private final String customerId;
+
+		private final long points;
+	}
+}
\ No newline at end of file
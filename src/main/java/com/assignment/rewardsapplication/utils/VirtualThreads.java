@@ -0,0 +1,35 @@
+package com.assignment.rewardsapplication.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// The build targets Java 8, so the JDK 21 virtual-thread API is reached through reflection
+public final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+		try {
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+			ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor",
+					ThreadFactory.class);
+			return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+		} catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalStateException(unsupported(), e);
+		} catch (InvocationTargetException e) {
+			// JDK 19 and 20 have the API as a preview that throws unless --enable-preview is set
+			throw new IllegalStateException(unsupported(), e.getCause());
+		}
+	}
+
+	private static String unsupported() {
+		return "Virtual threads need JDK 21 or later; this JVM is " + System.getProperty("java.version") + ".";
+	}
+}
\ No newline at end of file
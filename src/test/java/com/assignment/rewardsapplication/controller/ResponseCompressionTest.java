@@ -0,0 +1,82 @@
+package com.assignment.rewardsapplication.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.util.StreamUtils;
+
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardEntryDTO;
+import com.assignment.rewardsapplication.service.impl.LeaderboardService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ResponseCompressionTest {
+
+	@LocalServerPort
+	private int port;
+
+	@MockBean
+	private LeaderboardService leaderboardService;
+
+	@Test
+	public void testResponseBelowMinimumSizeIsNotCompressed() throws IOException {
+		when(leaderboardService.getLeaderboard(isNull(), isNull(), isNull())).thenReturn(new LeaderboardDTO(null, null,
+				Collections.singletonList(new LeaderboardEntryDTO(1, "CUST001", "Alice Smith", 90))));
+
+		HttpURLConnection connection = getLeaderboard();
+
+		assertEquals(200, connection.getResponseCode());
+		assertNull(connection.getHeaderField("Content-Encoding"));
+		String body = read(connection.getInputStream());
+		assertTrue(body.length() < 2048);
+		assertEquals(body.length(), connection.getContentLength());
+	}
+
+	@Test
+	public void testResponseAboveMinimumSizeIsGzipped() throws IOException {
+		List<LeaderboardEntryDTO> entries = new ArrayList<>();
+		for (int rank = 1; rank <= 100; rank++) {
+			entries.add(new LeaderboardEntryDTO(rank, "CUST" + (1000 + rank), "Customer " + rank, 10_000 - rank));
+		}
+		when(leaderboardService.getLeaderboard(isNull(), isNull(), isNull()))
+				.thenReturn(new LeaderboardDTO(null, null, entries));
+
+		HttpURLConnection connection = getLeaderboard();
+
+		assertEquals(200, connection.getResponseCode());
+		assertEquals("gzip", connection.getHeaderField("Content-Encoding"));
+		String body = read(new GZIPInputStream(connection.getInputStream()));
+		assertTrue(body.length() > 2048);
+		assertTrue(body.contains("\"customerId\":\"CUST1100\""));
+	}
+
+	private HttpURLConnection getLeaderboard() throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(
+				"http://localhost:" + port + "/api/rewards/leaderboard").openConnection();
+		connection.setRequestProperty("Accept", "application/json");
+		connection.setRequestProperty("Accept-Encoding", "gzip");
+		return connection;
+	}
+
+	private String read(InputStream body) throws IOException {
+		try (InputStream in = body) {
+			return new String(StreamUtils.copyToByteArray(in), "UTF-8");
+		}
+	}
+}
\ No newline at end of file
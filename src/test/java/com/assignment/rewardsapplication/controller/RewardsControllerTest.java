@@ -1,29 +1,82 @@
 package com.assignment.rewardsapplication.controller;
 
+import com.assignment.rewardsapplication.config.SmileConfig;
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerPointsDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardEntryDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
+import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
 import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+import com.assignment.rewardsapplication.service.impl.LeaderboardService;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
 import com.assignment.rewardsapplication.service.impl.RewardsService;
+import com.assignment.rewardsapplication.service.impl.TransactionImportService;
+import com.assignment.rewardsapplication.service.impl.TransactionWriteBehindService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class RewardsControllerTest {
 
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
 	@Mock
 	private RewardsService rewardsService;
 
+	@Mock
+	private TransactionImportService transactionImportService;
+
+	@Mock
+	private MonthlyPointsService monthlyPointsService;
+
+	@Mock
+	private LeaderboardService leaderboardService;
+
+	@Mock
+	private TransactionWriteBehindService transactionWriteBehindService;
+
 	@InjectMocks
 	private RewardsController rewardsController;
 
@@ -32,16 +85,50 @@ public class RewardsControllerTest {
 		MockitoAnnotations.openMocks(this);
 		MockHttpServletRequest request = new MockHttpServletRequest();
 		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		ReflectionTestUtils.setField(rewardsController, "maxBatchSize", 2);
+		ReflectionTestUtils.setField(rewardsController, "maxQueryCustomers", 2);
+		ReflectionTestUtils.setField(rewardsController, "objectMapper", new ObjectMapper());
 	}
 
 	@Test
 	public void testSaveCustomerTransaction() {
 		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		when(rewardsService.addCustomerTransaction(dto)).thenReturn(TransactionResultStatus.CREATED);
 		ResponseEntity<String> response = rewardsController.addCustomerTransaction(dto);
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals("Customer and Transaction saved successfully!", response.getBody());
 	}
 
+	@Test
+	public void testSaveCustomerTransaction_AlreadyRecorded() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		when(rewardsService.addCustomerTransaction(dto)).thenReturn(TransactionResultStatus.ALREADY_RECORDED);
+		ResponseEntity<String> response = rewardsController.addCustomerTransaction(dto);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Transaction already recorded.", response.getBody());
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_WriteBehindAccepted() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		when(transactionWriteBehindService.isEnabled()).thenReturn(true);
+		when(transactionWriteBehindService.enqueue(dto)).thenReturn(TransactionResultStatus.ACCEPTED);
+		ResponseEntity<String> response = rewardsController.addCustomerTransaction(dto);
+		assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+		assertEquals("Transaction accepted and will be saved shortly.", response.getBody());
+		verify(rewardsService, never()).addCustomerTransaction(dto);
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_WriteBehindFull() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		when(transactionWriteBehindService.isEnabled()).thenReturn(true);
+		when(transactionWriteBehindService.enqueue(dto)).thenReturn(TransactionResultStatus.THROTTLED);
+		ResponseEntity<String> response = rewardsController.addCustomerTransaction(dto);
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
 	@Test
 	public void testGetCustomerReward_Success() {
 		String customerId = "CUST001";
@@ -51,9 +138,9 @@ public class RewardsControllerTest {
 		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO();
 		expectedDto.setId(customerId);
 
-		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate)).thenReturn(expectedDto);
+		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate, new RewardsQueryOptions())).thenReturn(expectedDto);
 
-		ResponseEntity<CustomerDetailsDTO> response = rewardsController.getCustomerReward(customerId, fromDate, toDate);
+		ResponseEntity<CustomerDetailsDTO> response = rewardsController.getCustomerReward(customerId, fromDate, toDate, true, null, null);
 
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertEquals(expectedDto, response.getBody());
@@ -66,11 +153,11 @@ public class RewardsControllerTest {
 		LocalDate toDate = LocalDate.parse("2024-03-31");
 		String expectedMessage = "No transactions found for the given inputs.";
 
-		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate))
+		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate, new RewardsQueryOptions()))
 				.thenThrow(new CustomerNotFoundException(expectedMessage));
 
 		CustomerNotFoundException thrown = assertThrows(CustomerNotFoundException.class,
-				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate));
+				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate, true, null, null));
 		assertEquals(expectedMessage, thrown.getMessage());
 	}
 
@@ -81,11 +168,11 @@ public class RewardsControllerTest {
 		LocalDate toDate = LocalDate.parse("2025-01-01");
 		String expectedMessage = "Invalid date range. From-date should be before to-date.";
 
-		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate))
+		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate, new RewardsQueryOptions()))
 				.thenThrow(new IllegalArgumentException(expectedMessage));
 
 		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
-				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate));
+				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate, true, null, null));
 		assertEquals(expectedMessage, thrown.getMessage());
 	}
 
@@ -96,11 +183,184 @@ public class RewardsControllerTest {
 		LocalDate toDate = LocalDate.parse("2025-03-31");
 		String expectedMessage = "Simulated unexpected error";
 
-		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate))
+		when(rewardsService.getCustomerRewards(customerId, fromDate, toDate, new RewardsQueryOptions()))
 				.thenThrow(new RuntimeException(expectedMessage));
 
 		RuntimeException thrown = assertThrows(RuntimeException.class,
-				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate));
+				() -> rewardsController.getCustomerReward(customerId, fromDate, toDate, true, null, null));
 		assertEquals(expectedMessage, thrown.getMessage());
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testGetCustomerReward_SmileWhenRequested() throws Exception {
+		CustomerDetailsDTO expectedDto = customerHistory();
+		when(rewardsService.getCustomerRewards("CUST001", null, null, new RewardsQueryOptions())).thenReturn(expectedDto);
+		MockMvc mockMvc = negotiatingMockMvc();
+
+		MvcResult smile = mockMvc.perform(get("/api/rewards/customers/CUST001").accept(SMILE))
+				.andExpect(status().isOk()).andExpect(content().contentType(SMILE)).andReturn();
+		MvcResult json = mockMvc.perform(get("/api/rewards/customers/CUST001").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn();
+
+		byte[] smileBody = smile.getResponse().getContentAsByteArray();
+		ObjectMapper smileMapper = SmileConfig.smileObjectMapper(new Jackson2ObjectMapperBuilder());
+		assertEquals(expectedDto, smileMapper.readValue(smileBody, CustomerDetailsDTO.class));
+		assertTrue(smileBody.length < json.getResponse().getContentAsByteArray().length);
+	}
+
+	@Test
+	public void testGetCustomerReward_JsonByDefault() throws Exception {
+		when(rewardsService.getCustomerRewards("CUST001", null, null, new RewardsQueryOptions()))
+				.thenReturn(customerHistory());
+
+		negotiatingMockMvc().perform(get("/api/rewards/customers/CUST001")).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	public void testGetCustomerReward_PagedWithoutTransactions() {
+		String customerId = "CUST001";
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO();
+		expectedDto.setId(customerId);
+		expectedDto.setNextCursor("next");
+
+		when(rewardsService.getCustomerRewards(customerId, null, null, new RewardsQueryOptions(true, "abc", 50)))
+				.thenReturn(expectedDto);
+
+		ResponseEntity<CustomerDetailsDTO> response = rewardsController.getCustomerReward(customerId, null, null, true,
+				"abc", 50);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("next", response.getBody().getNextCursor());
+	}
+
+	@Test
+	public void testStreamCustomerTransactions() throws IOException {
+		String customerId = "CUST001";
+		TransactionDTO first = new TransactionDTO("TXN001", customerId, 120.0, "2025-01-15");
+		TransactionDTO second = new TransactionDTO("TXN002", customerId, 75.0, "2025-02-20");
+
+		when(rewardsService.streamCustomerTransactions(customerId, null, null)).thenReturn(Stream.of(first, second));
+
+		ResponseEntity<StreamingResponseBody> response = rewardsController.streamCustomerTransactions(customerId, null,
+				null);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		response.getBody().writeTo(output);
+
+		String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+		assertEquals(2, lines.length);
+		assertEquals("{\"transactionId\":\"TXN001\",\"customerId\":\"CUST001\",\"amount\":120.0,\"transactionDate\":\"2025-01-15\"}",
+				lines[0]);
+	}
+
+	@Test
+	public void testSaveCustomerTransactions_Batch() {
+		List<CustomerTransactionDTO> dtos = Arrays.asList(new CustomerTransactionDTO(), new CustomerTransactionDTO());
+		BatchTransactionResponseDTO expected = new BatchTransactionResponseDTO(2, 2, 0, 0, Collections.emptyList());
+
+		when(rewardsService.addCustomerTransactions(dtos)).thenReturn(expected);
+
+		ResponseEntity<BatchTransactionResponseDTO> response = rewardsController.addCustomerTransactions(dtos);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(expected, response.getBody());
+	}
+
+	@Test
+	public void testSaveCustomerTransactions_BatchTooLarge() {
+		List<CustomerTransactionDTO> dtos = Arrays.asList(new CustomerTransactionDTO(), new CustomerTransactionDTO(),
+				new CustomerTransactionDTO());
+
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> rewardsController.addCustomerTransactions(dtos));
+		assertEquals("Batch size exceeds the limit of 2 transactions.", thrown.getMessage());
+	}
+
+	@Test
+	public void testSaveCustomerTransactions_EmptyBatch() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> rewardsController.addCustomerTransactions(Collections.emptyList()));
+		assertEquals("Batch must contain at least one transaction.", thrown.getMessage());
+	}
+
+	@Test
+	public void testQueryCustomerRewards() {
+		List<String> customerIds = Arrays.asList("CUST001", "CUST002");
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-03-31");
+		CustomerRewardsQueryResponseDTO expected = new CustomerRewardsQueryResponseDTO(2, 1,
+				Collections.singletonList(new CustomerPointsDTO("CUST001", "Alice Smith", Collections.emptyList(), 0)),
+				Collections.singletonList("CUST002"));
+		when(rewardsService.getCustomersRewards(customerIds, fromDate, toDate)).thenReturn(expected);
+
+		ResponseEntity<CustomerRewardsQueryResponseDTO> response = rewardsController
+				.queryCustomerRewards(new CustomerRewardsQueryDTO(customerIds, fromDate, toDate));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(expected, response.getBody());
+	}
+
+	@Test
+	public void testQueryCustomerRewards_TooManyCustomers() {
+		CustomerRewardsQueryDTO query = new CustomerRewardsQueryDTO(Arrays.asList("CUST001", "CUST002", "CUST003"),
+				null, null);
+
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> rewardsController.queryCustomerRewards(query));
+		assertEquals("Query size exceeds the limit of 2 customers.", thrown.getMessage());
+	}
+
+	@Test
+	public void testQueryCustomerRewards_Empty() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> rewardsController.queryCustomerRewards(new CustomerRewardsQueryDTO()));
+		assertEquals("Query must contain at least one customer ID.", thrown.getMessage());
+	}
+
+	@Test
+	public void testGetLeaderboard() {
+		LocalDate from = LocalDate.parse("2025-01-01");
+		LocalDate to = LocalDate.parse("2025-03-31");
+		LeaderboardDTO expected = new LeaderboardDTO(from, to,
+				Collections.singletonList(new LeaderboardEntryDTO(1, "CUST001", "Alice Smith", 210)));
+		when(leaderboardService.getLeaderboard(from, to, 5)).thenReturn(expected);
+
+		ResponseEntity<LeaderboardDTO> response = rewardsController.getLeaderboard(from, to, 5);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(expected, response.getBody());
+	}
+
+	@Test
+	public void testRebuildMonthlyPoints() {
+		when(monthlyPointsService.rebuildMonthlyPoints()).thenReturn(1200L);
+
+		ResponseEntity<String> response = rewardsController.rebuildMonthlyPoints();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals("Monthly points rebuilt from 1200 transactions.", response.getBody());
+	}
+	private MockMvc negotiatingMockMvc() {
+		Jackson2ObjectMapperBuilder objectMapperBuilder = new Jackson2ObjectMapperBuilder();
+		return MockMvcBuilders.standaloneSetup(rewardsController)
+				.setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapperBuilder.build()),
+						new SmileConfig().smileHttpMessageConverter(objectMapperBuilder))
+				.build();
+	}
+
+	private static CustomerDetailsDTO customerHistory() {
+		List<TransactionDTO> transactions = new ArrayList<>();
+		for (int i = 1; i <= 50; i++) {
+			transactions.add(new TransactionDTO("TXN" + i, "CUST001", 120.0, "2025-01-" + (10 + i % 20)));
+		}
+		CustomerDetailsDTO customerDetailsDTO = new CustomerDetailsDTO();
+		customerDetailsDTO.setId("CUST001");
+		customerDetailsDTO.setCustomerName("John Doe");
+		customerDetailsDTO.setTransaction(transactions);
+		customerDetailsDTO.setMonthlyPoints(Collections.singletonList(new MonthlyPointsDTO(2025, "JANUARY", 4500)));
+		customerDetailsDTO.setTotalPoints(4500);
+		return customerDetailsDTO;
+	}
+}
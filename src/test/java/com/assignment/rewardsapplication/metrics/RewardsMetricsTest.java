@@ -0,0 +1,54 @@
+package com.assignment.rewardsapplication.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RewardsMetricsTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final RewardsMetrics rewardsMetrics = new RewardsMetrics();
+
+	@BeforeEach
+	public void setUp() {
+		ReflectionTestUtils.setField(rewardsMetrics, "meterRegistry", meterRegistry);
+	}
+
+	@Test
+	public void testTimeServiceTagsOutcome() {
+		assertEquals("ok", rewardsMetrics.timeService("getCustomerRewards", () -> "ok"));
+		assertThrows(CustomerNotFoundException.class, () -> rewardsMetrics.timeService("getCustomerRewards", () -> {
+			throw new CustomerNotFoundException("No transactions found for the given inputs.");
+		}));
+		rewardsMetrics.timeService("addCustomerTransaction", () -> {
+		});
+
+		assertEquals(1, meterRegistry.get(RewardsMetrics.SERVICE_TIMER).tags("method", "getCustomerRewards",
+				"exception", "none").timer().count());
+		assertEquals(1, meterRegistry.get(RewardsMetrics.SERVICE_TIMER).tags("method", "getCustomerRewards",
+				"exception", "CustomerNotFoundException").timer().count());
+		assertEquals(1, meterRegistry.get(RewardsMetrics.SERVICE_TIMER).tag("method", "addCustomerTransaction")
+				.timer().count());
+	}
+
+	@Test
+	public void testRecordTransactions() {
+		rewardsMetrics.recordTransactions("addCustomerTransactions", 250);
+		rewardsMetrics.recordTransactions("addCustomerTransactions", 750);
+
+		DistributionSummary summary = meterRegistry.get(RewardsMetrics.SERVICE_TRANSACTIONS)
+				.tag("method", "addCustomerTransactions").summary();
+		assertEquals(2, summary.count());
+		assertEquals(1000, summary.totalAmount());
+		assertEquals(750, summary.max());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.assignment.rewardsapplication.config.AmountCentsMigration;
+import com.assignment.rewardsapplication.dto.Transaction;
+
+@DataMongoTest
+@Import(AmountCentsMigration.class)
+class AmountCentsMigrationTest {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private AmountCentsMigration amountCentsMigration;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.dropCollection(Transaction.class);
+	}
+
+	@Test
+	@DisplayName("Should move legacy decimal amounts to integer cents")
+	void testMigratesLegacyAmounts() {
+		String collection = mongoTemplate.getCollectionName(Transaction.class);
+		double[] amounts = { 99.99, 132.75, 1.005, 75.5 };
+		for (int i = 0; i < amounts.length; i++) {
+			mongoTemplate.insert(new Document("customer_id", "CUST005").append("transaction_id", "TXN50" + i)
+					.append("amount", amounts[i]).append("transaction_date", LocalDateTime.of(2025, 1, 1 + i, 10, 0)),
+					collection);
+		}
+
+		amountCentsMigration.afterSingletonsInstantiated();
+		amountCentsMigration.afterSingletonsInstantiated();
+
+		List<Transaction> transactions = transactionRepository.findByCustomerId("CUST005");
+		assertThat(transactions).extracting(Transaction::getAmountCents).containsExactlyInAnyOrder(9999L, 13275L,
+				101L, 7550L);
+		assertThat(mongoTemplate.findAll(Document.class, collection))
+				.noneMatch(document -> document.containsKey("amount"));
+	}
+}
\ No newline at end of file
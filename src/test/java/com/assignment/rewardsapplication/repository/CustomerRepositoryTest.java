@@ -1,20 +1,49 @@
 package com.assignment.rewardsapplication.repository;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 
+import com.assignment.rewardsapplication.config.MongoIndexInitializer;
 import com.assignment.rewardsapplication.dto.Customer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataMongoTest
+@Import(MongoIndexInitializer.class)
 class CustomerRepositoryTest {
 
 	@Autowired
 	private CustomerRepository customerRepository;
 
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoIndexInitializer mongoIndexInitializer;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate.dropCollection(Customer.class);
+		mongoIndexInitializer.afterSingletonsInstantiated();
+	}
+
 	@Test
 	@DisplayName("Should save and retrieve customer by customerId")
 	void testFindByCustomerId() {
@@ -29,4 +58,52 @@ class CustomerRepositoryTest {
 		assertThat(foundCustomer.getCustomerId()).isEqualTo("CUST001");
 		assertThat(foundCustomer.getCustomerName()).isEqualTo("Alice Smith");
 	}
-}
+
+	@Test
+	@DisplayName("Should find a customer by customerId under a time limit")
+	void testFindCustomer() {
+		customerRepository.save(new Customer(null, "CUST003", "Carol Jones"));
+
+		assertThat(customerRepository.findCustomer("CUST003", Duration.ofSeconds(5)).getCustomerName())
+				.isEqualTo("Carol Jones");
+		assertThat(customerRepository.findCustomer("CUST004", Duration.ofSeconds(5))).isNull();
+	}
+
+	@Test
+	@DisplayName("Should insert a customer only when the customerId is new")
+	void testInsertIfAbsent() {
+		assertThat(customerRepository.insertIfAbsent(new Customer(null, "CUST002", "Bob Stone"))).isTrue();
+		assertThat(customerRepository.insertIfAbsent(new Customer(null, "CUST002", "Robert Stone"))).isFalse();
+
+		assertThat(customerRepository.findByCustomerId("CUST002").getCustomerName()).isEqualTo("Bob Stone");
+	}
+
+	@Test
+	@DisplayName("Should create exactly one customer when 64 threads write the first transaction at once")
+	void testConcurrentInsertIfAbsentCreatesOneCustomer() throws Exception {
+		int threads = 64;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return customerRepository.insertIfAbsent(new Customer(null, "CUST964", "Race Customer"));
+			}));
+		}
+		start.countDown();
+
+		int inserted = 0;
+		for (Future<Boolean> result : results) {
+			if (result.get(30, TimeUnit.SECONDS)) {
+				inserted++;
+			}
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(inserted).isEqualTo(1);
+		assertThat(mongoTemplate.count(new Query(where("customerId").is("CUST964")), Customer.class)).isEqualTo(1);
+		assertThat(customerRepository.findByCustomerId("CUST964").getCustomerName()).isEqualTo("Race Customer");
+	}
+}
\ No newline at end of file
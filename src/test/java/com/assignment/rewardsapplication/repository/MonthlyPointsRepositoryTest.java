@@ -0,0 +1,39 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+
+@DataMongoTest
+class MonthlyPointsRepositoryTest {
+
+	@Autowired
+	private MonthlyPointsRepository monthlyPointsRepository;
+
+	@Test
+	@DisplayName("Should increment monthly points and retrieve them in calendar order")
+	void testIncrementPoints() {
+		String customerId = "CUST301";
+
+		monthlyPointsRepository.incrementPoints(Arrays.asList(new MonthlyPoints(null, customerId, 2025, 3, 40),
+				new MonthlyPoints(null, customerId, 2025, 1, 90)));
+		monthlyPointsRepository.incrementPoints(Collections.singletonList(new MonthlyPoints(null, customerId, 2025, 3, 25)));
+
+		List<MonthlyPoints> monthlyPoints = monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId);
+
+		assertThat(monthlyPoints).hasSize(2);
+		assertThat(monthlyPoints.get(0).getMonth()).isEqualTo(1);
+		assertThat(monthlyPoints.get(0).getPoints()).isEqualTo(90);
+		assertThat(monthlyPoints.get(1).getMonth()).isEqualTo(3);
+		assertThat(monthlyPoints.get(1).getPoints()).isEqualTo(65);
+	}
+}
@@ -0,0 +1,164 @@
+package com.assignment.rewardsapplication.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.config.MongoIndexInitializer;
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.mongodb.MongoCommandException;
+
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+class TransactionIndexTest {
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Autowired
+	private MongoIndexInitializer mongoIndexInitializer;
+
+	// Every test drops the collections, so the indexes are rebuilt the way the application does on startup
+	@BeforeEach
+	void setUp() {
+		mongoIndexInitializer.afterSingletonsInstantiated();
+	}
+
+	@AfterEach
+	void tearDown() {
+		mongoTemplate.dropCollection(Transaction.class);
+		mongoTemplate.dropCollection(Customer.class);
+	}
+
+	@Test
+	@DisplayName("Should create the customer and transaction indexes on startup")
+	void testIndexesCreated() {
+		List<String> transactionIndexes = mongoTemplate.indexOps(Transaction.class).getIndexInfo().stream()
+				.map(IndexInfo::getName).collect(Collectors.toList());
+		List<IndexInfo> customerIndexes = mongoTemplate.indexOps(Customer.class).getIndexInfo();
+
+		assertThat(transactionIndexes).contains("customer_date_idx", "customer_transaction_idx", "customer_points_idx");
+		assertThat(customerIndexes).anyMatch(index -> "customer_id_idx".equals(index.getName()) && index.isUnique());
+	}
+
+	@Test
+	@DisplayName("Should reject a second transaction with the same customer and transaction ID")
+	void testDuplicateTransactionRejected() {
+		Transaction transaction = new Transaction(null, "TXN501", "CUST501", 6000L, LocalDateTime.now(), null);
+		mongoTemplate.insert(transaction);
+
+		Transaction retry = new Transaction(null, "TXN501", "CUST501", 6000L, transaction.getTransactionDate(), null);
+		assertThatThrownBy(() -> mongoTemplate.insert(retry)).isInstanceOf(DuplicateKeyException.class);
+
+		Transaction otherCustomer = new Transaction(null, "TXN501", "CUST502", 6000L, LocalDateTime.now(), null);
+		mongoTemplate.insert(otherCustomer);
+		assertThat(mongoTemplate.count(new Query(), Transaction.class))
+				.isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Should rebuild an index whose keys differ from its definition")
+	void testOutdatedIndexRebuilt() {
+		mongoTemplate.dropCollection(Transaction.class);
+		mongoTemplate.indexOps(Transaction.class).ensureIndex(new Index().on("customer_id", Sort.Direction.ASC)
+				.on("transaction_date", Sort.Direction.ASC).named("customer_date_idx"));
+
+		mongoIndexInitializer.afterSingletonsInstantiated();
+
+		IndexInfo index = mongoTemplate.indexOps(Transaction.class).getIndexInfo().stream()
+				.filter(info -> "customer_date_idx".equals(info.getName())).findFirst().get();
+		assertThat(index.getIndexFields()).extracting(IndexField::getKey).containsExactly("customer_id",
+				"transaction_date", "_id");
+	}
+
+	@Test
+	@DisplayName("Should fail verification when an index differs from its definition")
+	void testOutdatedIndexFailsVerification() {
+		mongoTemplate.indexOps(Transaction.class).dropIndex("customer_transaction_idx");
+		mongoTemplate.indexOps(Transaction.class).ensureIndex(new Index().on("customer_id", Sort.Direction.ASC)
+				.on("transaction_id", Sort.Direction.ASC).named("customer_transaction_idx"));
+		ReflectionTestUtils.setField(mongoIndexInitializer, "mode", "verify");
+
+		try {
+			assertThatThrownBy(() -> mongoIndexInitializer.afterSingletonsInstantiated())
+					.isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("transactions.customer_transaction_idx (found");
+		} finally {
+			ReflectionTestUtils.setField(mongoIndexInitializer, "mode", "create");
+		}
+	}
+
+	@Test
+	@DisplayName("Should refuse to build a unique index over existing duplicates")
+	void testDuplicatesBlockUniqueIndex() {
+		mongoTemplate.dropCollection(Transaction.class);
+		LocalDateTime now = LocalDateTime.now();
+		mongoTemplate.insert(new Transaction(null, "TXN601", "CUST601", 6000L, now, null));
+		mongoTemplate.insert(new Transaction(null, "TXN601", "CUST601", 6000L, now, null));
+
+		assertThatThrownBy(() -> mongoIndexInitializer.afterSingletonsInstantiated())
+				.isInstanceOf(IllegalStateException.class).hasMessageContaining("customer_transaction_idx")
+				.hasMessageContaining("CUST601").hasMessageContaining("TXN601");
+		assertThat(mongoTemplate.indexOps(Transaction.class).getIndexInfo())
+				.noneMatch(index -> "customer_transaction_idx".equals(index.getName()));
+	}
+
+	@Test
+	@DisplayName("Should answer the customer date range query with an index scan")
+	void testCustomerDateRangeUsesIndex() {
+		assumeTrue(explainSupported(), "the embedded MongoDB server does not support explain");
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 0; i < 5; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setCustomerId("CUST40" + i);
+			transaction.setTransactionId("TXN40" + i);
+			transaction.setAmountCents(6000L + i * 100);
+			transaction.setTransactionDate(now.minusDays(i));
+			mongoTemplate.insert(transaction);
+		}
+
+		Document filter = new Document("customer_id", "CUST401").append("transaction_date",
+				new Document("$gt", now.minusMonths(3)).append("$lt", now));
+		Document explain = mongoTemplate.getDb().runCommand(new Document("explain",
+				new Document("find", mongoTemplate.getCollectionName(Transaction.class)).append("filter", filter)));
+
+		Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+		assertThat(winningPlan.toJson()).contains("IXSCAN").contains("customer_date_idx");
+	}
+
+	private boolean explainSupported() {
+		try {
+			mongoTemplate.getDb().runCommand(new Document("explain",
+					new Document("find", mongoTemplate.getCollectionName(Transaction.class))));
+			return true;
+		} catch (MongoCommandException e) {
+			// 59 is CommandNotFound
+			if (e.getErrorCode() == 59) {
+				return false;
+			}
+			throw e;
+		}
+	}
+}
\ No newline at end of file
@@ -1,12 +1,30 @@
 package com.assignment.rewardsapplication.repository;
 
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.dto.RewardTier;
 import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -22,12 +40,12 @@ class TransactionRepositoryTest {
 
 		Transaction txn1 = new Transaction();
 		txn1.setCustomerId("CUST001");
-		txn1.setAmount(120.50);
+		txn1.setAmountCents(12050L);
 		txn1.setTransactionDate(LocalDateTime.now());
 
 		Transaction txn2 = new Transaction();
 		txn2.setCustomerId("CUST001");
-		txn2.setAmount(45.00);
+		txn2.setAmountCents(4500L);
 		txn2.setTransactionDate(LocalDateTime.now().minusDays(5));
 
 		transactionRepository.save(txn1);
@@ -48,12 +66,12 @@ class TransactionRepositoryTest {
 
 		Transaction recentTxn = new Transaction();
 		recentTxn.setCustomerId(customerId);
-		recentTxn.setAmount(99.99);
+		recentTxn.setAmountCents(9999L);
 		recentTxn.setTransactionDate(now.minusDays(10));
 
 		Transaction oldTxn = new Transaction();
 		oldTxn.setCustomerId(customerId);
-		oldTxn.setAmount(45.00);
+		oldTxn.setAmountCents(4500L);
 		oldTxn.setTransactionDate(fourMonthsAgo);
 
 		transactionRepository.save(recentTxn);
@@ -63,6 +81,204 @@ class TransactionRepositoryTest {
 				.findByCustomerIdAndTransactionDateBetween(customerId, threeMonthsAgo, now);
 
 		assertThat(recentTransactions).hasSize(1);
-		assertThat(recentTransactions.get(0).getAmount()).isEqualTo(99.99);
+		assertThat(recentTransactions.get(0).getAmountCents()).isEqualTo(9999L);
 	}
-}
+
+	@Test
+	@DisplayName("Should find a customer's transactions, optionally within a date range, under a time limit")
+	void testFindCustomerTransactions() {
+		String customerId = "CUST040";
+		LocalDateTime now = LocalDateTime.now();
+
+		Transaction recentTxn = new Transaction();
+		recentTxn.setCustomerId(customerId);
+		recentTxn.setAmountCents(9999L);
+		recentTxn.setTransactionDate(now.minusDays(10));
+
+		Transaction oldTxn = new Transaction();
+		oldTxn.setCustomerId(customerId);
+		oldTxn.setAmountCents(4500L);
+		oldTxn.setTransactionDate(now.minusMonths(4));
+
+		transactionRepository.save(recentTxn);
+		transactionRepository.save(oldTxn);
+
+		assertThat(transactionRepository.findCustomerTransactions(customerId, null, null, Duration.ofSeconds(5)))
+				.hasSize(2);
+		List<Transaction> recentTransactions = transactionRepository.findCustomerTransactions(customerId,
+				now.minusMonths(3), now, Duration.ofSeconds(5));
+		assertThat(recentTransactions).hasSize(1);
+		assertThat(recentTransactions.get(0).getAmountCents()).isEqualTo(9999L);
+	}
+
+	@Test
+	@DisplayName("Should aggregate the same monthly points in Mongo as the in-JVM calculation")
+	void testAggregateMonthlyPointsMatchesJvmCalculation() {
+		String customerId = "CUST003";
+		long[] amounts = { 12075, 5000, 10000, 10001, 7550, 4999, 25000, 5100 };
+		LocalDateTime start = LocalDateTime.of(2024, 11, 30, 23, 30);
+
+		for (int i = 0; i < amounts.length; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setCustomerId(customerId);
+			transaction.setTransactionId("TXN30" + i);
+			transaction.setAmountCents(amounts[i]);
+			transaction.setTransactionDate(start.plusDays(i * 20L));
+			transactionRepository.save(transaction);
+		}
+
+		List<MonthlyPointsDTO> expected = new PointsCalculationUtils().calculateMonthlyPoints(customerId,
+				transactionRepository.findByCustomerId(customerId));
+		List<MonthlyPoints> actual = transactionRepository.aggregateMonthlyPoints(customerId, null, null,
+				RewardRules.standard());
+
+		assertThat(actual.stream().map(m -> m.getYear() + "-" + Month.of(m.getMonth()) + "=" + m.getPoints())
+				.collect(Collectors.toList()))
+				.containsExactlyInAnyOrderElementsOf(expected.stream()
+						.map(m -> m.getYear() + "-" + m.getMonth() + "=" + m.getPoints()).collect(Collectors.toList()));
+
+		LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+		LocalDateTime to = LocalDateTime.of(2025, 3, 1, 0, 0);
+		List<MonthlyPointsDTO> expectedInRange = new PointsCalculationUtils().calculateMonthlyPoints(customerId,
+				transactionRepository.findByCustomerIdAndTransactionDateBetween(customerId, from, to));
+		List<MonthlyPoints> actualInRange = transactionRepository.aggregateMonthlyPoints(customerId, from, to,
+				RewardRules.standard());
+
+		assertThat(actualInRange).hasSize(expectedInRange.size());
+		assertThat(actualInRange.stream().mapToInt(MonthlyPoints::getPoints).sum())
+				.isEqualTo(expectedInRange.stream().mapToInt(MonthlyPointsDTO::getPoints).sum());
+	}
+
+	@Test
+	@DisplayName("Should aggregate campaign rules in Mongo the same way as the compiled evaluator")
+	void testAggregateMonthlyPointsMatchesCampaignRules() {
+		String customerId = "CUST006";
+		RewardCampaign standard = new RewardCampaign(null, "standard", null, null,
+				Arrays.asList(new RewardTier(5000, 1), new RewardTier(10000, 2)), new HashMap<>(), null);
+		Map<String, Integer> multipliers = new HashMap<>();
+		multipliers.put("GROCERY", 300);
+		multipliers.put("FUEL", 50);
+		RewardCampaign spring = new RewardCampaign(null, "spring", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 30),
+				Arrays.asList(new RewardTier(2500, 1), new RewardTier(7500, 2), new RewardTier(20000, 4)), multipliers,
+				400);
+		RewardRules rules = RewardRules.compile(Arrays.asList(standard, spring));
+
+		long[] amounts = { 12075, 5000, 30000, 10001, 7550, 2600, 25000, 99999 };
+		String[] categories = { "GROCERY", null, "FUEL", "GROCERY", "TRAVEL", "GROCERY", null, "GROCERY" };
+		LocalDateTime start = LocalDateTime.of(2025, 2, 20, 12, 0);
+		List<Transaction> transactions = new ArrayList<>();
+		for (int i = 0; i < amounts.length; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setCustomerId(customerId);
+			transaction.setTransactionId("TXN60" + i);
+			transaction.setAmountCents(amounts[i]);
+			transaction.setCategory(categories[i]);
+			transaction.setTransactionDate(start.plusDays(i * 11L));
+			transactions.add(transactionRepository.save(transaction));
+		}
+
+		PointsCalculationUtils pointsCalculationUtils = new PointsCalculationUtils();
+		pointsCalculationUtils.setRewardRules(rules);
+		List<MonthlyPointsDTO> expected = pointsCalculationUtils.calculateMonthlyPoints(customerId, transactions);
+		List<MonthlyPoints> actual = transactionRepository.aggregateMonthlyPoints(customerId, null, null, rules);
+
+		assertThat(actual.stream().map(m -> m.getYear() + "-" + Month.of(m.getMonth()) + "=" + m.getPoints())
+				.collect(Collectors.toList()))
+				.containsExactlyInAnyOrderElementsOf(expected.stream()
+						.map(m -> m.getYear() + "-" + m.getMonth() + "=" + m.getPoints()).collect(Collectors.toList()));
+	}
+
+	@Test
+	@DisplayName("Should page through transactions by date with a keyset cursor")
+	void testFindTransactionPage() {
+		String customerId = "CUST004";
+		LocalDateTime sameDate = LocalDateTime.of(2025, 2, 10, 12, 0);
+		for (int i = 0; i < 5; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setCustomerId(customerId);
+			transaction.setTransactionId("TXN40" + i);
+			transaction.setAmountCents(6000L + i * 100);
+			transaction.setTransactionDate(i < 3 ? sameDate : sameDate.minusDays(i));
+			transactionRepository.save(transaction);
+		}
+
+		List<Transaction> firstPage = transactionRepository.findTransactionPage(customerId, null, null, null, 2);
+		Transaction last = firstPage.get(1);
+		List<Transaction> secondPage = transactionRepository.findTransactionPage(customerId, null, null,
+				new TransactionCursor(last.getTransactionDate(), last.getId()), 2);
+		last = secondPage.get(1);
+		List<Transaction> thirdPage = transactionRepository.findTransactionPage(customerId, null, null,
+				new TransactionCursor(last.getTransactionDate(), last.getId()), 2);
+
+		assertThat(firstPage).extracting(Transaction::getTransactionId).containsExactly("TXN404", "TXN403");
+		assertThat(secondPage).extracting(Transaction::getTransactionId).containsExactly("TXN400", "TXN401");
+		assertThat(thirdPage).extracting(Transaction::getTransactionId).containsExactly("TXN402");
+	}
+
+	@Test
+	@DisplayName("Should stream only the points fields of many customers within a date range in one query")
+	void testStreamTransactionPoints() {
+		List<String> customerIds = Arrays.asList("CUST701", "CUST702", "CUST703");
+		for (String customerId : customerIds) {
+			transactionRepository.deleteAll(transactionRepository.findByCustomerId(customerId));
+		}
+		LocalDateTime inRange = LocalDateTime.of(2025, 2, 10, 12, 0);
+		Transaction grocery = transaction("CUST701", 12000L, inRange);
+		grocery.setTransactionId("TXN701");
+		grocery.setCategory("GROCERY");
+		transactionRepository.saveAll(Arrays.asList(grocery, transaction("CUST701", 7500L, inRange.plusDays(30)),
+				transaction("CUST702", 6000L, inRange), transaction("CUST702", 9000L, inRange.minusMonths(6)),
+				transaction("CUST703", 20000L, inRange)));
+
+		List<TransactionPoints> transactions;
+		try (Stream<TransactionPoints> stream = transactionRepository.streamTransactionPoints(
+				Arrays.asList("CUST701", "CUST702"), LocalDateTime.of(2025, 1, 1, 0, 0),
+				LocalDateTime.of(2025, 3, 31, 23, 59))) {
+			transactions = stream.collect(Collectors.toList());
+		}
+
+		assertThat(transactions).containsExactlyInAnyOrder(
+				new TransactionPoints("CUST701", 12000L, inRange, "GROCERY"),
+				new TransactionPoints("CUST701", 7500L, inRange.plusDays(30), null),
+				new TransactionPoints("CUST702", 6000L, inRange, null));
+		try (Stream<TransactionPoints> stream = transactionRepository.streamTransactionPoints(customerIds, null,
+				null)) {
+			assertThat(stream.count()).isEqualTo(5);
+		}
+		ObjectId cutOff = new ObjectId();
+		transactionRepository.save(transaction("CUST703", 8000L, inRange));
+		try (Stream<TransactionPoints> stream = transactionRepository.streamAllTransactionPoints(cutOff)) {
+			assertThat(stream.filter(transaction -> customerIds.contains(transaction.getCustomerId())).count())
+					.isEqualTo(5);
+		}
+	}
+
+	@Test
+	@DisplayName("Should stream monthly points for every customer computed in Mongo")
+	void testStreamMonthlyPoints() {
+		transactionRepository.deleteAll();
+		LocalDateTime january = LocalDateTime.of(2025, 1, 10, 12, 0);
+		transactionRepository.saveAll(Arrays.asList(transaction("CUST801", 12000L, january),
+				transaction("CUST801", 7500L, january.plusDays(5)), transaction("CUST801", 6000L, january.plusMonths(1)),
+				transaction("CUST802", 20000L, january)));
+		ObjectId cutOff = new ObjectId();
+		transactionRepository.save(transaction("CUST803", 9000L, january));
+
+		List<MonthlyPoints> monthlyPoints;
+		try (Stream<MonthlyPoints> stream = transactionRepository.streamMonthlyPoints(RewardRules.standard(),
+				cutOff)) {
+			monthlyPoints = stream.collect(Collectors.toList());
+		}
+
+		assertThat(monthlyPoints).containsExactlyInAnyOrder(new MonthlyPoints(null, "CUST801", 2025, 1, 115),
+				new MonthlyPoints(null, "CUST801", 2025, 2, 10), new MonthlyPoints(null, "CUST802", 2025, 1, 250));
+	}
+
+	private Transaction transaction(String customerId, long amountCents, LocalDateTime transactionDate) {
+		Transaction transaction = new Transaction();
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(amountCents);
+		transaction.setTransactionDate(transactionDate);
+		return transaction;
+	}
+}
\ No newline at end of file
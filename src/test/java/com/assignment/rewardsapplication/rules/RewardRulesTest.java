@@ -0,0 +1,149 @@
+package com.assignment.rewardsapplication.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.dto.RewardTier;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+public class RewardRulesTest {
+
+	private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+	@Test
+	public void testStandardTiers() {
+		RewardRules rules = RewardRules.standard();
+		assertEquals(0, rules.calculatePoints(4999L, DATE, null));
+		assertEquals(0, rules.calculatePoints(5000L, DATE, null));
+		assertEquals(25, rules.calculatePoints(7500L, DATE, null));
+		assertEquals(50, rules.calculatePoints(10000L, DATE, null));
+		assertEquals(90, rules.calculatePoints(12000L, DATE, "GROCERY"));
+	}
+
+	@Test
+	public void testTiersAreSortedOnCompile() {
+		RewardCampaign campaign = campaign("unsorted", null, null, new RewardTier(20000, 3), new RewardTier(0, 1),
+				new RewardTier(10000, 2));
+		RewardRules rules = RewardRules.compile(Collections.singletonList(campaign));
+
+		assertEquals(50, rules.calculatePoints(5000L, DATE, null));
+		assertEquals(100, rules.calculatePoints(10000L, DATE, null));
+		assertEquals(300, rules.calculatePoints(20000L, DATE, null));
+		assertEquals(303, rules.calculatePoints(20100L, DATE, null));
+	}
+
+	@Test
+	public void testEffectiveDatedCampaignOverridesOpenEndedCampaign() {
+		RewardCampaign standard = campaign("standard", null, null, new RewardTier(5000, 1), new RewardTier(10000, 2));
+		RewardCampaign spring = campaign("spring", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31),
+				new RewardTier(0, 3));
+		RewardRules rules = RewardRules.compile(Arrays.asList(spring, standard));
+
+		assertEquals(90, rules.calculatePoints(12000L, LocalDateTime.of(2025, 2, 28, 23, 59), null));
+		assertEquals(360, rules.calculatePoints(12000L, LocalDateTime.of(2025, 3, 1, 0, 0), null));
+		assertEquals(360, rules.calculatePoints(12000L, LocalDateTime.of(2025, 3, 31, 23, 59), null));
+		assertEquals(90, rules.calculatePoints(12000L, LocalDateTime.of(2025, 4, 1, 0, 0), null));
+		assertEquals(2, rules.getCampaignCount());
+	}
+
+	@Test
+	public void testCampaignsSpanningCenturies() {
+		RewardCampaign standard = campaign("standard", null, null, new RewardTier(5000, 1), new RewardTier(10000, 2));
+		RewardCampaign legacy = campaign("legacy", LocalDate.of(1800, 1, 1), LocalDate.of(1899, 12, 31),
+				new RewardTier(0, 1));
+		RewardCampaign future = campaign("future", LocalDate.of(2200, 1, 1), null, new RewardTier(0, 2));
+		RewardRules rules = RewardRules.compile(Arrays.asList(standard, legacy, future));
+
+		assertEquals(90, rules.calculatePoints(12000L, LocalDateTime.of(1799, 12, 31, 0, 0), null));
+		assertEquals(120, rules.calculatePoints(12000L, LocalDateTime.of(1850, 6, 1, 0, 0), null));
+		assertEquals(90, rules.calculatePoints(12000L, DATE, null));
+		assertEquals(240, rules.calculatePoints(12000L, LocalDateTime.of(2200, 1, 1, 0, 0), null));
+	}
+
+	@Test
+	public void testNoPointsOutsideEveryCampaign() {
+		RewardRules rules = RewardRules.compile(Collections.singletonList(
+				campaign("spring", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), new RewardTier(0, 1))));
+
+		assertEquals(0, rules.calculatePoints(12000L, LocalDateTime.of(2025, 2, 1, 0, 0), null));
+		assertEquals(120, rules.calculatePoints(12000L, LocalDateTime.of(2025, 3, 15, 0, 0), null));
+		assertEquals(0, rules.calculatePoints(12000L, LocalDateTime.of(2025, 4, 1, 0, 0), null));
+	}
+
+	@Test
+	public void testCategoryMultipliersAndCap() {
+		RewardCampaign campaign = campaign("grocery", null, null, new RewardTier(5000, 1), new RewardTier(10000, 2));
+		Map<String, Integer> multipliers = new HashMap<>();
+		multipliers.put("GROCERY", 150);
+		multipliers.put("FUEL", 0);
+		campaign.setCategoryMultiplierPercents(multipliers);
+		campaign.setMaxPointsPerTransaction(200);
+		RewardRules rules = RewardRules.compile(Collections.singletonList(campaign));
+
+		assertEquals(90, rules.calculatePoints(12000L, DATE, null));
+		assertEquals(90, rules.calculatePoints(12000L, DATE, "TRAVEL"));
+		assertEquals(135, rules.calculatePoints(12000L, DATE, "GROCERY"));
+		assertEquals(0, rules.calculatePoints(12000L, DATE, "FUEL"));
+		assertEquals(38, rules.calculatePoints(7550L, DATE, "GROCERY"));
+		assertEquals(200, rules.calculatePoints(50000L, DATE, "GROCERY"));
+	}
+
+	@Test
+	public void testInvalidCampaignsAreRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> RewardRules.compile(Collections.singletonList(campaign("empty", null, null))));
+		assertThrows(IllegalArgumentException.class, () -> RewardRules.compile(Collections.singletonList(
+				campaign("backwards", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 2, 1), new RewardTier(0, 1)))));
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> RewardRules.compile(Collections.singletonList(
+						campaign("duplicate", null, null, new RewardTier(5000, 1), new RewardTier(5000, 2)))));
+		assertEquals("Reward campaign 'duplicate' has duplicate tier thresholds.", thrown.getMessage());
+	}
+
+	@Test
+	public void testVersionChangesOnlyWithThePoints() {
+		RewardRules standard = RewardRules.standard();
+		RewardRules renamed = RewardRules.compile(Collections.singletonList(
+				campaign("renamed", null, null, new RewardTier(5000, 1), new RewardTier(10000, 2))));
+		RewardRules richer = RewardRules.compile(Collections.singletonList(
+				campaign("standard", null, null, new RewardTier(5000, 1), new RewardTier(10000, 3))));
+
+		assertEquals(standard.getVersion(), RewardRules.standard().getVersion());
+		assertEquals(standard.getVersion(), renamed.getVersion());
+		assertNotEquals(standard.getVersion(), richer.getVersion());
+	}
+
+	@Test
+	public void testRulesCanBeSwappedAtRuntime() {
+		PointsCalculationUtils pointsCalculationUtils = new PointsCalculationUtils();
+		Transaction transaction = new Transaction();
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(DATE);
+		assertEquals(90, pointsCalculationUtils.calculatePoints(transaction));
+
+		pointsCalculationUtils.setRewardRules(
+				RewardRules.compile(Collections.singletonList(campaign("flat", null, null, new RewardTier(0, 1)))));
+		assertEquals(120, pointsCalculationUtils.calculatePoints(transaction));
+	}
+
+	private RewardCampaign campaign(String name, LocalDate from, LocalDate to, RewardTier... tiers) {
+		RewardCampaign campaign = new RewardCampaign();
+		campaign.setName(name);
+		campaign.setEffectiveFrom(from);
+		campaign.setEffectiveTo(to);
+		campaign.setTiers(Arrays.asList(tiers));
+		return campaign;
+	}
+}
\ No newline at end of file
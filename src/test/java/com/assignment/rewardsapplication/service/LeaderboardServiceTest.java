@@ -0,0 +1,168 @@
+package com.assignment.rewardsapplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.LeaderboardDTO;
+import com.assignment.rewardsapplication.dto.LeaderboardEntryDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.repository.CustomerRepository;
+import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.service.impl.LeaderboardServiceImpl;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+public class LeaderboardServiceTest {
+
+	private static final LocalDate THIS_MONTH = LocalDate.now().withDayOfMonth(1);
+	private static final LocalDate LAST_MONTH = THIS_MONTH.minusMonths(1);
+
+	@Mock
+	private TransactionRepository transactionRepository;
+
+	@Mock
+	private CustomerRepository customerRepository;
+
+	@Spy
+	private ConversionAndValidatorUtils conversionAndValidatorUtils = new ConversionAndValidatorUtils();
+
+	@Spy
+	private PointsCalculationUtils pointsCalculationUtils = new PointsCalculationUtils();
+
+	@Mock
+	private MonthlyPointsService monthlyPointsService;
+
+	@InjectMocks
+	private LeaderboardServiceImpl leaderboardService;
+
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(leaderboardService, "defaultLimit", 2);
+		ReflectionTestUtils.setField(leaderboardService, "maxLimit", 3);
+		ReflectionTestUtils.setField(leaderboardService, "retainedMonths", 3);
+		when(customerRepository.findByCustomerIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<String> customerIds = invocation.getArgument(0);
+			return customerIds.stream().map(customerId -> new Customer(null, customerId, "Name " + customerId))
+					.collect(Collectors.toList());
+		});
+
+		leaderboardService.recordMonthlyPoints(Arrays.asList(points("CUST001", LAST_MONTH, 90),
+				points("CUST002", LAST_MONTH, 60), points("CUST003", THIS_MONTH, 100),
+				points("CUST002", THIS_MONTH, 50), points("CUST004", THIS_MONTH.minusYears(2), 500)));
+	}
+
+	@Test
+	public void testAllTimeLeaderboard() {
+		LeaderboardDTO leaderboard = leaderboardService.getLeaderboard(null, null, null);
+
+		assertNull(leaderboard.getFromDate());
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST004", "Name CUST004", 500),
+				new LeaderboardEntryDTO(2, "CUST002", "Name CUST002", 110)), leaderboard.getEntries());
+	}
+
+	@Test
+	public void testSingleMonthLeaderboard() {
+		LeaderboardDTO leaderboard = leaderboardService.getLeaderboard(THIS_MONTH.plusDays(1), THIS_MONTH.plusDays(1),
+				3);
+
+		assertEquals(THIS_MONTH, leaderboard.getFromDate());
+		assertEquals(THIS_MONTH.plusMonths(1).minusDays(1), leaderboard.getToDate());
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST003", "Name CUST003", 100),
+				new LeaderboardEntryDTO(2, "CUST002", "Name CUST002", 50)), leaderboard.getEntries());
+	}
+
+	@Test
+	public void testMultiMonthLeaderboardSumsMonths() {
+		leaderboardService.recordMonthlyPoints(Arrays.asList(points("CUST001", THIS_MONTH, 15)));
+
+		LeaderboardDTO leaderboard = leaderboardService.getLeaderboard(LAST_MONTH, THIS_MONTH, 3);
+
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST002", "Name CUST002", 110),
+				new LeaderboardEntryDTO(2, "CUST001", "Name CUST001", 105),
+				new LeaderboardEntryDTO(3, "CUST003", "Name CUST003", 100)), leaderboard.getEntries());
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST002", "Name CUST002", 110)),
+				leaderboardService.getLeaderboard(LAST_MONTH, THIS_MONTH, 1).getEntries());
+	}
+
+	@Test
+	public void testInvalidRequests() {
+		IllegalArgumentException limit = assertThrows(IllegalArgumentException.class,
+				() -> leaderboardService.getLeaderboard(null, null, 4));
+		assertEquals("Limit must be between 1 and 3.", limit.getMessage());
+
+		IllegalArgumentException range = assertThrows(IllegalArgumentException.class,
+				() -> leaderboardService.getLeaderboard(THIS_MONTH, LAST_MONTH, null));
+		assertEquals("Invalid date range. From-date should be before to-date.", range.getMessage());
+
+		IllegalArgumentException retention = assertThrows(IllegalArgumentException.class,
+				() -> leaderboardService.getLeaderboard(THIS_MONTH.minusMonths(3), THIS_MONTH, null));
+		assertEquals("Leaderboard windows can start at most 3 months back.", retention.getMessage());
+	}
+
+	@Test
+	public void testRebuildReplacesRunningTotals() {
+		when(transactionRepository.streamMonthlyPoints(any(), any())).thenReturn(
+				Stream.of(points("CUST005", THIS_MONTH, 40), points("CUST006", LAST_MONTH, 30),
+						points("CUST005", LAST_MONTH, 5)));
+
+		assertEquals(2, leaderboardService.rebuildLeaderboard());
+
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST005", "Name CUST005", 45),
+				new LeaderboardEntryDTO(2, "CUST006", "Name CUST006", 30)),
+				leaderboardService.getLeaderboard(null, null, null).getEntries());
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST006", "Name CUST006", 30),
+				new LeaderboardEntryDTO(2, "CUST005", "Name CUST005", 5)),
+				leaderboardService.getLeaderboard(LAST_MONTH, LAST_MONTH, null).getEntries());
+	}
+
+	@Test
+	public void testRebuildReplaysPointsRecordedWhileRunning() {
+		// The old boards keep serving while the aggregation runs, and what is recorded meanwhile is not lost
+		when(transactionRepository.streamMonthlyPoints(any(), any())).thenAnswer(invocation -> {
+			leaderboardService.recordMonthlyPoints(Arrays.asList(points("CUST006", THIS_MONTH, 70)));
+			assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST004", "Name CUST004", 500),
+					new LeaderboardEntryDTO(2, "CUST002", "Name CUST002", 110)),
+					leaderboardService.getLeaderboard(null, null, null).getEntries());
+			return Stream.of(points("CUST005", THIS_MONTH, 40));
+		});
+
+		assertEquals(2, leaderboardService.rebuildLeaderboard());
+
+		assertEquals(Arrays.asList(new LeaderboardEntryDTO(1, "CUST006", "Name CUST006", 70),
+				new LeaderboardEntryDTO(2, "CUST005", "Name CUST005", 40)),
+				leaderboardService.getLeaderboard(null, null, null).getEntries());
+		InOrder gate = inOrder(monthlyPointsService, transactionRepository);
+		gate.verify(monthlyPointsService).pauseWrites();
+		gate.verify(monthlyPointsService).resumeWrites();
+		gate.verify(transactionRepository).streamMonthlyPoints(any(), any());
+		gate.verify(monthlyPointsService).pauseWrites();
+		gate.verify(monthlyPointsService).resumeWrites();
+	}
+
+	private MonthlyPoints points(String customerId, LocalDate month, int points) {
+		return new MonthlyPoints(null, customerId, month.getYear(), month.getMonthValue(), points);
+	}
+}
\ No newline at end of file
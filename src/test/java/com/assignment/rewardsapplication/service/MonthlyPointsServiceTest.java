@@ -0,0 +1,241 @@
+package com.assignment.rewardsapplication.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.RewardCampaign;
+import com.assignment.rewardsapplication.dto.RewardTier;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.exception.RebuildInProgressException;
+import com.assignment.rewardsapplication.repository.MonthlyPointsRepository;
+import com.assignment.rewardsapplication.repository.MonthlyPointsStateRepository;
+import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.service.impl.LeaderboardService;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsServiceImpl;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataMongoTest(properties = "rewards.monthly-points.backfill=false")
+@Import({ MonthlyPointsServiceImpl.class, PointsCalculationUtils.class, SimpleMeterRegistry.class })
+class MonthlyPointsServiceTest {
+
+	private static final int WRITERS = 4;
+
+	private static final int REBUILDS = 5;
+
+	@Autowired
+	private MonthlyPointsService monthlyPointsService;
+
+	@Autowired
+	private TransactionRepository transactionRepository;
+
+	@Autowired
+	private MonthlyPointsRepository monthlyPointsRepository;
+
+	@Autowired
+	private MonthlyPointsStateRepository monthlyPointsStateRepository;
+
+	@Autowired
+	private PointsCalculationUtils pointsCalculationUtils;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@MockBean
+	private RewardsResponseCache rewardsResponseCache;
+
+	@MockBean
+	private LeaderboardService leaderboardService;
+
+	@BeforeEach
+	void setUp() {
+		transactionRepository.deleteAll();
+		monthlyPointsRepository.deleteAll();
+		monthlyPointsStateRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("Should rebuild monthly points into a staging collection and swap it in")
+	void testRebuildMonthlyPoints() {
+		LocalDateTime january = LocalDateTime.of(2025, 1, 10, 12, 0);
+		transactionRepository.save(transaction("CUST901", "TXN901", 12000L, january));
+		transactionRepository.save(transaction("CUST901", "TXN902", 7500L, january.plusMonths(1)));
+		// Stale aggregate rows are replaced, not added to
+		monthlyPointsRepository
+				.incrementPoints(Collections.singletonList(new MonthlyPoints(null, "CUST901", 2025, 1, 999)));
+
+		assertThat(monthlyPointsService.rebuildMonthlyPoints()).isEqualTo(2);
+
+		assertThat(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc("CUST901"))
+				.extracting(MonthlyPoints::getMonth, MonthlyPoints::getPoints)
+				.containsExactly(tuple(1, 90), tuple(2, 25));
+		assertThat(mongoTemplate.collectionExists("customer_monthly_points_rebuild")).isFalse();
+		assertThat(monthlyPointsService.getStagingCollection()).isNull();
+	}
+
+	@Test
+	@DisplayName("Should mark the aggregate ready once a rebuild completes, for the rules it was built with")
+	void testRebuildMarksAggregateReady() {
+		transactionRepository.save(transaction("CUST905", "TXN905", 12000L, LocalDateTime.of(2025, 1, 10, 12, 0)));
+		ReflectionTestUtils.setField(monthlyPointsService, "aggregateRulesVersion", null);
+		RewardRules standard = RewardRules.standard();
+		pointsCalculationUtils.setRewardRules(standard);
+
+		assertThat(monthlyPointsService.isAggregateReady()).isFalse();
+		monthlyPointsService.rebuildMonthlyPoints();
+
+		assertThat(monthlyPointsService.isAggregateReady()).isTrue();
+		assertThat(monthlyPointsStateRepository.findById("customer_monthly_points")).hasValueSatisfying(state -> {
+			assertThat(state.getCompletedAt()).isNotNull();
+			assertThat(state.getTransactionCount()).isEqualTo(1);
+			assertThat(state.getRulesVersion()).isEqualTo(standard.getVersion());
+			assertThat(state.getRebuildOwner()).isNull();
+		});
+
+		// Totals computed under the standard tiers no longer match once other rules are loaded
+		pointsCalculationUtils.setRewardRules(RewardRules.compile(Collections.singletonList(
+				new RewardCampaign(null, "flat", null, null, Arrays.asList(new RewardTier(0, 1)),
+						new HashMap<>(), null))));
+		assertThat(monthlyPointsService.isAggregateReady()).isFalse();
+		monthlyPointsService.rebuildMonthlyPoints();
+		assertThat(monthlyPointsService.isAggregateReady()).isTrue();
+		assertThat(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc("CUST905"))
+				.extracting(MonthlyPoints::getPoints).containsExactly(120);
+		pointsCalculationUtils.setRewardRules(standard);
+	}
+
+	@Test
+	@DisplayName("Should refuse to rebuild while another instance holds the rebuild lease")
+	void testRebuildLeaseHeldElsewhere() {
+		assertThat(monthlyPointsStateRepository.acquireRebuildLease("customer_monthly_points", "other-instance",
+				Duration.ofMinutes(10))).isTrue();
+
+		assertThatThrownBy(monthlyPointsService::rebuildMonthlyPoints)
+				.isInstanceOf(RebuildInProgressException.class);
+
+		monthlyPointsStateRepository.releaseRebuildLease("customer_monthly_points", "other-instance");
+		assertThat(monthlyPointsStateRepository.acquireRebuildLease("customer_monthly_points", "next-instance",
+				Duration.ofMinutes(10))).isTrue();
+		assertThat(monthlyPointsStateRepository.acquireRebuildLease("customer_monthly_points", "other-instance",
+				Duration.ofMinutes(10))).isFalse();
+	}
+
+	@Test
+	@DisplayName("Should abandon a rebuild when another instance saved transactions after its cut-off")
+	void testRebuildAbandonedOnWritesElsewhere() {
+		LocalDateTime january = LocalDateTime.of(2025, 1, 10, 12, 0);
+		transactionRepository.save(transaction("CUST907", "TXN907", 12000L, january));
+		monthlyPointsRepository
+				.incrementPoints(Collections.singletonList(new MonthlyPoints(null, "CUST907", 2025, 1, 90)));
+		// Saved with an ID past any cut-off and without recording its points, as a write on another instance is
+		Transaction elsewhere = transaction("CUST907", "TXN908", 7500L, january);
+		elsewhere.setId(new ObjectId(new Date(System.currentTimeMillis() + 60_000)).toHexString());
+		transactionRepository.save(elsewhere);
+
+		assertThatThrownBy(monthlyPointsService::rebuildMonthlyPoints).isInstanceOf(IllegalStateException.class)
+				.hasMessageStartingWith("1 transactions were saved by another instance");
+
+		assertThat(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc("CUST907"))
+				.extracting(MonthlyPoints::getPoints).containsExactly(90);
+		assertThat(mongoTemplate.getCollection("customer_monthly_points_rebuild").countDocuments()).isZero();
+		assertThat(monthlyPointsService.getStagingCollection()).isNull();
+		assertThat(monthlyPointsStateRepository.acquireRebuildLease("customer_monthly_points", "next-instance",
+				Duration.ofMinutes(10))).isTrue();
+	}
+
+	@Test
+	@DisplayName("Should count every transaction exactly once when writes arrive during rebuilds")
+	void testRebuildDuringWrites() throws Exception {
+		ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+		AtomicBoolean rebuilding = new AtomicBoolean(true);
+		try {
+			List<Future<?>> writes = new ArrayList<>();
+			for (int writer = 0; writer < WRITERS; writer++) {
+				String customerId = "CUST9" + (10 + writer);
+				// Writers keep going until the rebuilds are done, so every rebuild overlaps writes
+				writes.add(writers.submit(() -> {
+					for (int i = 0; rebuilding.get(); i++) {
+						Transaction transaction = transaction(customerId, "TXN" + i, 5000L + i % 50 * 100L,
+								LocalDateTime.of(2025, 1 + i % 3, 5, 12, 0));
+						monthlyPointsService.startWrite();
+						try {
+							transactionRepository.save(transaction);
+							monthlyPointsService.recordTransactions(Collections.singletonList(transaction));
+						} finally {
+							monthlyPointsService.finishWrite();
+						}
+					}
+				}));
+			}
+			for (int rebuild = 0; rebuild < REBUILDS; rebuild++) {
+				monthlyPointsService.rebuildMonthlyPoints();
+			}
+			rebuilding.set(false);
+			for (Future<?> write : writes) {
+				write.get();
+			}
+		} finally {
+			rebuilding.set(false);
+			writers.shutdown();
+		}
+
+		Map<String, Integer> expected = new HashMap<>();
+		for (Transaction transaction : transactionRepository.findAll()) {
+			expected.merge(monthKey(transaction.getCustomerId(), transaction.getTransactionDate().getYear(),
+					transaction.getTransactionDate().getMonthValue()),
+					pointsCalculationUtils.calculatePoints(transaction), Integer::sum);
+		}
+		Map<String, Integer> actual = new HashMap<>();
+		for (MonthlyPoints monthlyPoints : monthlyPointsRepository.findAll()) {
+			actual.put(monthKey(monthlyPoints.getCustomerId(), monthlyPoints.getYear(), monthlyPoints.getMonth()),
+					monthlyPoints.getPoints());
+		}
+		assertThat(expected).hasSize(WRITERS * 3);
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	private String monthKey(String customerId, int year, int month) {
+		return customerId + "|" + year + "|" + month;
+	}
+
+	private Transaction transaction(String customerId, String transactionId, long amountCents,
+			LocalDateTime transactionDate) {
+		Transaction transaction = new Transaction();
+		transaction.setCustomerId(customerId);
+		transaction.setTransactionId(transactionId);
+		transaction.setAmountCents(amountCents);
+		transaction.setTransactionDate(transactionDate);
+		return transaction;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package com.assignment.rewardsapplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.cache.CustomerCache;
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.Customer;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+import com.assignment.rewardsapplication.exception.RewardsTimeoutException;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveCustomerRepository;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveMonthlyPointsRepository;
+import com.assignment.rewardsapplication.repository.reactive.ReactiveTransactionRepository;
+import com.assignment.rewardsapplication.service.impl.LeaderboardService;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
+import com.assignment.rewardsapplication.service.impl.ReactiveRewardsServiceImpl;
+import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
+import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class ReactiveRewardsServiceTest {
+
+	@Mock
+	private ReactiveTransactionRepository reactiveTransactionRepository;
+
+	@Mock
+	private ReactiveCustomerRepository reactiveCustomerRepository;
+
+	@Mock
+	private ReactiveMonthlyPointsRepository reactiveMonthlyPointsRepository;
+
+	@Mock
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Mock
+	private RecentTransactionIds recentTransactionIds;
+
+	@Mock
+	private CustomerCache customerCache;
+
+	@Mock
+	private MonthlyPointsService monthlyPointsService;
+
+	@Mock
+	private LeaderboardService leaderboardService;
+
+	@InjectMocks
+	private ReactiveRewardsServiceImpl reactiveRewardsService;
+
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		PointsCalculationUtils pointsCalculationUtils = new PointsCalculationUtils();
+		ConversionAndValidatorUtils conversionAndValidatorUtils = new ConversionAndValidatorUtils();
+		ReflectionTestUtils.setField(conversionAndValidatorUtils, "pointsCalculationUtils", pointsCalculationUtils);
+		ReflectionTestUtils.setField(reactiveRewardsService, "pointsCalculationUtils", pointsCalculationUtils);
+		ReflectionTestUtils.setField(reactiveRewardsService, "conversionAndValidatorUtils",
+				conversionAndValidatorUtils);
+		// Mockito answers Optional-returning methods with Optional.empty(), which would mean "known missing"
+		when(customerCache.getIfPresent(anyString())).thenReturn(null);
+		when(monthlyPointsService.tryStartWrite()).thenReturn(true);
+		ReflectionTestUtils.setField(reactiveRewardsService, "timeLimiterRegistry", TimeLimiterRegistry.ofDefaults());
+	}
+
+	@Test
+	public void testGetCustomerRewards() {
+		String customerId = "CUST001";
+		when(reactiveCustomerRepository.findByCustomerId(customerId))
+				.thenReturn(Mono.just(new Customer("1", customerId, "Alice Smith")));
+		when(reactiveTransactionRepository.findByCustomerId(customerId)).thenReturn(Flux.just(
+				transaction(customerId, "TXN001", 12000L, "2025-01-15T10:00:00"),
+				transaction(customerId, "TXN002", 7500L, "2025-02-20T14:30:00"),
+				transaction(customerId, "TXN003", 6000L, "2025-01-28T09:00:00")));
+
+		StepVerifier.create(reactiveRewardsService.getCustomerRewards(customerId, null, null)).assertNext(dto -> {
+			assertEquals("Alice Smith", dto.getCustomerName());
+			assertEquals(3, dto.getTransaction().size());
+			assertEquals(2, dto.getMonthlyPoints().size());
+			assertEquals("JANUARY", dto.getMonthlyPoints().get(0).getMonth());
+			assertEquals(100, dto.getMonthlyPoints().get(0).getPoints());
+			assertEquals(25, dto.getMonthlyPoints().get(1).getPoints());
+			assertEquals(125, dto.getTotalPoints());
+		}).verifyComplete();
+	}
+
+	@Test
+	public void testGetCustomerRewards_CustomerNotFound() {
+		String customerId = "CUST123";
+		when(reactiveCustomerRepository.findByCustomerId(customerId)).thenReturn(Mono.empty());
+		when(reactiveTransactionRepository.findByCustomerId(customerId)).thenReturn(Flux.empty());
+
+		StepVerifier.create(reactiveRewardsService.getCustomerRewards(customerId, null, null))
+				.expectErrorMatches(e -> e instanceof CustomerNotFoundException
+						&& "No transactions found for the given inputs.".equals(e.getMessage()))
+				.verify();
+		verify(customerCache).putMissing(customerId);
+	}
+
+	@Test
+	public void testGetCustomerRewards_DeadlineExceeded() {
+		String customerId = "CUST001";
+		ReflectionTestUtils.setField(reactiveRewardsService, "timeLimiterRegistry",
+				TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(100)).build()));
+		when(reactiveCustomerRepository.findByCustomerId(customerId))
+				.thenReturn(Mono.just(new Customer("1", customerId, "Alice Smith")));
+		when(reactiveTransactionRepository.findByCustomerId(customerId)).thenReturn(Flux.never());
+
+		StepVerifier.create(reactiveRewardsService.getCustomerRewards(customerId, null, null))
+				.expectErrorMatches(e -> e instanceof RewardsTimeoutException
+						&& "Rewards lookup timed out. Please try again later.".equals(e.getMessage()))
+				.verify();
+	}
+
+	@Test
+	public void testGetCustomerRewards_CachedUnknownCustomer() {
+		String customerId = "CUST123";
+		when(customerCache.getIfPresent(customerId)).thenReturn(Optional.empty());
+
+		StepVerifier.create(reactiveRewardsService.getCustomerRewards(customerId, null, null))
+				.expectError(CustomerNotFoundException.class).verify();
+		verify(reactiveCustomerRepository, never()).findByCustomerId(any());
+		verify(reactiveTransactionRepository, never()).findByCustomerId(any());
+	}
+
+	@Test
+	public void testGetCustomerRewards_InvalidCustomerId() {
+		StepVerifier.create(reactiveRewardsService.getCustomerRewards("CUST1", null, null))
+				.expectErrorMatches(
+						e -> e instanceof IllegalArgumentException && "Invalid Customer ID.".equals(e.getMessage()))
+				.verify();
+		verify(reactiveCustomerRepository, never()).findByCustomerId(any());
+		verify(reactiveTransactionRepository, never()).findByCustomerId(any());
+	}
+
+	@Test
+	public void testAddCustomerTransaction() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO();
+		dto.setCustomerId("CUST002");
+		dto.setCustomerName("Bob Stone");
+		dto.setTransactionId("TXN010");
+		dto.setAmountCents(12000L);
+		dto.setTransactionDate(LocalDateTime.parse("2025-03-01T09:00:00"));
+
+		when(reactiveCustomerRepository.insertIfAbsent(any(Customer.class))).thenReturn(Mono.just(true));
+		when(reactiveTransactionRepository.save(any(Transaction.class)))
+				.thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+		when(reactiveMonthlyPointsRepository.incrementPoints(any(MonthlyPoints.class))).thenReturn(Mono.empty());
+
+		StepVerifier.create(reactiveRewardsService.addCustomerTransaction(dto))
+				.expectNext(TransactionResultStatus.CREATED).verifyComplete();
+
+		ArgumentCaptor<MonthlyPoints> delta = ArgumentCaptor.forClass(MonthlyPoints.class);
+		verify(reactiveMonthlyPointsRepository).incrementPoints(delta.capture());
+		assertEquals(3, delta.getValue().getMonth());
+		assertEquals(90, delta.getValue().getPoints());
+		verify(leaderboardService).recordMonthlyPoints(Collections.singletonList(delta.getValue()));
+		verify(reactiveCustomerRepository).insertIfAbsent(any(Customer.class));
+		verify(reactiveCustomerRepository, never()).findByCustomerId(any());
+		verify(reactiveMonthlyPointsRepository, never()).incrementPoints(any(MonthlyPoints.class), anyString());
+		verify(monthlyPointsService).finishWrite();
+		verify(rewardsResponseCache).invalidate(Collections.singleton("CUST002"));
+		verify(recentTransactionIds).add("CUST002", "TXN010");
+	}
+
+	@Test
+	public void testAddCustomerTransaction_DuringMonthlyPointsRebuild() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO("CUST002", "Bob Stone", "TXN012", 12000L,
+				LocalDateTime.parse("2025-03-01T09:00:00"), null);
+
+		when(customerCache.isKnownCustomer("CUST002")).thenReturn(true);
+		when(monthlyPointsService.getStagingCollection()).thenReturn("customer_monthly_points_rebuild");
+		when(reactiveTransactionRepository.save(any(Transaction.class)))
+				.thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+		when(reactiveMonthlyPointsRepository.incrementPoints(any(MonthlyPoints.class))).thenReturn(Mono.empty());
+		when(reactiveMonthlyPointsRepository.incrementPoints(any(MonthlyPoints.class), anyString()))
+				.thenReturn(Mono.empty());
+
+		StepVerifier.create(reactiveRewardsService.addCustomerTransaction(dto))
+				.expectNext(TransactionResultStatus.CREATED).verifyComplete();
+
+		verify(reactiveMonthlyPointsRepository).incrementPoints(any(MonthlyPoints.class));
+		verify(reactiveMonthlyPointsRepository).incrementPoints(any(MonthlyPoints.class),
+				eq("customer_monthly_points_rebuild"));
+		verify(monthlyPointsService).countStagedTransactions(1);
+		verify(monthlyPointsService).finishWrite();
+	}
+
+	@Test
+	public void testAddCustomerTransaction_AlreadyRecorded() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO("CUST002", "Bob Stone", "TXN011", 12000L,
+				LocalDateTime.parse("2025-03-01T09:00:00"), null);
+
+		when(reactiveCustomerRepository.insertIfAbsent(any(Customer.class))).thenReturn(Mono.just(false));
+		when(reactiveTransactionRepository.save(any(Transaction.class)))
+				.thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key error collection: transactions")));
+
+		StepVerifier.create(reactiveRewardsService.addCustomerTransaction(dto))
+				.expectNext(TransactionResultStatus.ALREADY_RECORDED).verifyComplete();
+
+		verify(reactiveMonthlyPointsRepository, never()).incrementPoints(any(MonthlyPoints.class));
+		verify(recentTransactionIds).add("CUST002", "TXN011");
+	}
+
+	private Transaction transaction(String customerId, String transactionId, long amountCents, String transactionDate) {
+		Transaction transaction = new Transaction();
+		transaction.setCustomerId(customerId);
+		transaction.setTransactionId(transactionId);
+		transaction.setAmountCents(amountCents);
+		transaction.setTransactionDate(LocalDateTime.parse(transactionDate));
+		return transaction;
+	}
+}
\ No newline at end of file
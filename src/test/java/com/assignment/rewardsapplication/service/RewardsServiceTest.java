@@ -2,39 +2,83 @@ package com.assignment.rewardsapplication.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.assignment.rewardsapplication.cache.CustomerCache;
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.cache.RewardsResponseCache;
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
 import com.assignment.rewardsapplication.dto.Customer;
 import com.assignment.rewardsapplication.dto.CustomerDetailsDTO;
+import com.assignment.rewardsapplication.dto.CustomerPointsDTO;
+import com.assignment.rewardsapplication.dto.CustomerRewardsQueryResponseDTO;
 import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.MonthlyPoints;
 import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.RewardsQueryOptions;
 import com.assignment.rewardsapplication.dto.Transaction;
+import com.assignment.rewardsapplication.dto.TransactionCursor;
 import com.assignment.rewardsapplication.dto.TransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionPoints;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
 import com.assignment.rewardsapplication.exception.CustomerNotFoundException;
+import com.assignment.rewardsapplication.exception.RewardsOverloadedException;
+import com.assignment.rewardsapplication.exception.RewardsTimeoutException;
 import com.assignment.rewardsapplication.repository.CustomerRepository;
+import com.assignment.rewardsapplication.repository.MonthlyPointsRepository;
 import com.assignment.rewardsapplication.repository.TransactionRepository;
+import com.assignment.rewardsapplication.rules.RewardRules;
+import com.assignment.rewardsapplication.service.impl.MonthlyPointsService;
 import com.assignment.rewardsapplication.service.impl.RewardsServiceImpl;
 import com.assignment.rewardsapplication.utils.ConversionAndValidatorUtils;
 import com.assignment.rewardsapplication.utils.PointsCalculationUtils;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.bulk.BulkWriteError;
+
+import io.github.resilience4j.timelimiter.TimeLimiter;
 
 @SpringBootTest
 @ExtendWith(SpringExtension.class)
@@ -52,18 +96,41 @@ public class RewardsServiceTest {
 	@MockBean
 	private PointsCalculationUtils pointsCalculationUtils;
 
+	@MockBean
+	private MonthlyPointsRepository monthlyPointsRepository;
+
+	@MockBean
+	private MonthlyPointsService monthlyPointsService;
+
 	@Autowired
 	private RewardsServiceImpl rewardsService;
 
+	@Autowired
+	private RewardsResponseCache rewardsResponseCache;
+
+	@Autowired
+	private RecentTransactionIds recentTransactionIds;
+
+	@Autowired
+	private CustomerCache customerCache;
+
 	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+	@BeforeEach
+	public void setUp() {
+		rewardsResponseCache.invalidateAll();
+		recentTransactionIds.invalidateAll();
+		customerCache.invalidateAll();
+		when(monthlyPointsService.isAggregateReady()).thenReturn(true);
+	}
+
 	@Test
 	public void testSaveCustomerAndTransaction() {
 		CustomerTransactionDTO dto = new CustomerTransactionDTO();
 		dto.setCustomerId("CUST123");
 		dto.setCustomerName("Test Customer");
 		dto.setTransactionId("TX123");
-		dto.setAmount(100.0);
+		dto.setAmountCents(10000L);
 		dto.setTransactionDate(LocalDateTime.now());
 
 		Customer newCustomer = new Customer();
@@ -73,22 +140,23 @@ public class RewardsServiceTest {
 		Transaction newTransaction = new Transaction();
 		newTransaction.setTransactionId(dto.getTransactionId());
 		newTransaction.setCustomerId(dto.getCustomerId());
-		newTransaction.setAmount(dto.getAmount());
+		newTransaction.setAmountCents(dto.getAmountCents());
 		newTransaction.setTransactionDate(dto.getTransactionDate());
 
-		when(customerRepository.findByCustomerId(dto.getCustomerId())).thenReturn(null);
 		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(newCustomer);
 		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(newTransaction);
-		when(customerRepository.save(any(Customer.class))).thenReturn(newCustomer);
+		when(customerRepository.insertIfAbsent(newCustomer)).thenReturn(true);
 		when(transactionRepository.save(any(Transaction.class))).thenReturn(newTransaction);
 
-		rewardsService.addCustomerTransaction(dto);
+		assertEquals(TransactionResultStatus.CREATED, rewardsService.addCustomerTransaction(dto));
 
-		verify(customerRepository, times(1)).findByCustomerId(dto.getCustomerId());
 		verify(conversionAndValidatorUtils, times(1)).prepareCustomer(dto);
-		verify(customerRepository, times(1)).save(newCustomer);
+		verify(customerRepository, times(1)).insertIfAbsent(newCustomer);
+		verify(customerRepository, never()).findByCustomerId(anyString());
+		verify(customerRepository, never()).save(any(Customer.class));
 		verify(conversionAndValidatorUtils, times(1)).prepareTransaction(dto);
 		verify(transactionRepository, times(1)).save(newTransaction);
+		verify(monthlyPointsService, times(1)).recordTransactions(Collections.singletonList(newTransaction));
 	}
 
 	@Test
@@ -105,13 +173,13 @@ public class RewardsServiceTest {
 		Transaction transaction1 = new Transaction();
 		transaction1.setTransactionId("TXN001");
 		transaction1.setCustomerId(customerId);
-		transaction1.setAmount(120.0);
+		transaction1.setAmountCents(12000L);
 		transaction1.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
 
 		Transaction transaction2 = new Transaction();
 		transaction2.setTransactionId("TXN002");
 		transaction2.setCustomerId(customerId);
-		transaction2.setAmount(75.0);
+		transaction2.setAmountCents(7500L);
 		transaction2.setTransactionDate(LocalDateTime.parse("2025-02-20T14:30:00"));
 
 		transactions.add(transaction1);
@@ -135,15 +203,15 @@ public class RewardsServiceTest {
 
 		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
 		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
-		when(customerRepository.findByCustomerId(customerId)).thenReturn(customer);
-		when(transactionRepository.findByCustomerIdAndTransactionDateBetween(eq(customerId), any(LocalDateTime.class),
-				any(LocalDateTime.class))).thenReturn(transactions);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenReturn(transactions);
 
 		when(conversionAndValidatorUtils.convertToTransactionDTO(transaction1)).thenReturn(transactionDTO1);
 		when(conversionAndValidatorUtils.convertToTransactionDTO(transaction2)).thenReturn(transactionDTO2);
 
-		when(pointsCalculationUtils.calculatePoints(120.0)).thenReturn(90);
-		when(pointsCalculationUtils.calculatePoints(75.0)).thenReturn(25);
+		when(pointsCalculationUtils.calculatePoints(transaction1)).thenReturn(90);
+		when(pointsCalculationUtils.calculatePoints(transaction2)).thenReturn(25);
 		when(pointsCalculationUtils.calculateTotalPoints(transactions)).thenReturn(90 + 25);
 		List<MonthlyPointsDTO> monthlyPointsList = new ArrayList<>();
 		monthlyPointsList.add(new MonthlyPointsDTO(2025, "JANUARY", 90));
@@ -179,9 +247,9 @@ public class RewardsServiceTest {
 
 		verify(conversionAndValidatorUtils, times(1)).isValidCustomerId(customerId);
 		verify(conversionAndValidatorUtils, times(1)).isValidDates(fromDate, toDate);
-		verify(customerRepository, times(1)).findByCustomerId(customerId);
-		verify(transactionRepository, times(1)).findByCustomerIdAndTransactionDateBetween(eq(customerId),
-				any(LocalDateTime.class), any(LocalDateTime.class));
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
+		verify(transactionRepository, times(1)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
 
 		verify(conversionAndValidatorUtils, times(1)).prepareCustomerDetailsDTO(customer, transactions);
 	}
@@ -194,22 +262,131 @@ public class RewardsServiceTest {
 
 		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
 		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
-		when(customerRepository.findByCustomerId(customerId)).thenReturn(null);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(null);
 
-		when(transactionRepository.findByCustomerIdAndTransactionDateBetween(eq(customerId), any(LocalDateTime.class),
-				any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenReturn(Collections.emptyList());
 
 		Exception exception = assertThrows(CustomerNotFoundException.class, () -> {
 			rewardsService.getCustomerRewards(customerId, fromDate, toDate);
 		});
 
 		assertEquals("No transactions found for the given inputs.", exception.getMessage());
-		verify(customerRepository, times(1)).findByCustomerId(customerId);
-		verify(transactionRepository, times(1)).findByCustomerIdAndTransactionDateBetween(eq(customerId),
-				any(LocalDateTime.class), any(LocalDateTime.class));
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
+		verify(transactionRepository, times(1)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
 		verify(conversionAndValidatorUtils, never()).prepareCustomerDetailsDTO(any(Customer.class), anyList());
 	}
 
+	@Test
+	public void testCalculateRewardPoints_UnknownCustomerIsCached() {
+		String customerId = "CUST123";
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(null);
+
+		assertThrows(CustomerNotFoundException.class, () -> rewardsService.getCustomerRewards(customerId, null, null));
+		assertThrows(CustomerNotFoundException.class, () -> rewardsService.getCustomerRewards(customerId, null, null));
+		assertThrows(CustomerNotFoundException.class,
+				() -> rewardsService.streamCustomerTransactions(customerId, null, null));
+
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
+		verify(customerRepository, never()).findByCustomerId(anyString());
+		verify(transactionRepository, times(1)).findCustomerTransactions(eq(customerId), isNull(), isNull(),
+				any(Duration.class));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_CustomerNotFoundLogsNoCacheWarning() {
+		String customerId = "CUST123";
+		List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				records.add(record);
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		Logger caffeineLogger = Logger.getLogger("com.github.benmanes.caffeine.cache.LocalAsyncCache");
+		caffeineLogger.addHandler(handler);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(null);
+
+		try {
+			assertThrows(CustomerNotFoundException.class,
+					() -> rewardsService.getCustomerRewards(customerId, null, null));
+			assertThrows(CustomerNotFoundException.class,
+					() -> rewardsService.getCustomerRewards(customerId, null, null));
+		} finally {
+			caffeineLogger.removeHandler(handler);
+		}
+
+		assertTrue(records.stream().noneMatch(record -> record.getLevel().intValue() >= Level.WARNING.intValue()));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_FailedLoadsLeaveNoIndexedKeys() {
+		when(conversionAndValidatorUtils.isValidCustomerId(anyString())).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(any(LocalDate.class), any(LocalDate.class))).thenReturn(false);
+		when(customerRepository.findCustomer(anyString(), any(Duration.class))).thenReturn(null);
+
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		for (int i = 0; i < 20; i++) {
+			String customerId = "CUST" + i;
+			LocalDate toDate = fromDate.plusDays(i);
+			assertThrows(CustomerNotFoundException.class,
+					() -> rewardsService.getCustomerRewards(customerId, null, null));
+			assertThrows(CustomerNotFoundException.class,
+					() -> rewardsService.getCustomerRewards(customerId, fromDate, toDate));
+		}
+
+		Map<?, ?> customers = (Map<?, ?>) ReflectionTestUtils.getField(rewardsResponseCache, "customers");
+		assertTrue(customers.isEmpty());
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_NewCustomerReplacesCachedMiss() {
+		String customerId = "CUST123";
+		CustomerTransactionDTO dto = new CustomerTransactionDTO(customerId, "Test Customer", "TX123", 10000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		Customer customer = new Customer(null, customerId, "Test Customer");
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(null);
+		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(customer);
+		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(new Transaction());
+		when(customerRepository.insertIfAbsent(customer)).thenReturn(true);
+
+		assertThrows(CustomerNotFoundException.class, () -> rewardsService.getCustomerRewards(customerId, null, null));
+		assertEquals(TransactionResultStatus.CREATED, rewardsService.addCustomerTransaction(dto));
+
+		assertEquals(customer, customerCache.get(customerId, id -> null));
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_CachedCustomerSkipsUpsert() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TX123", 10000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		customerCache.put(new Customer("1", "CUST001", "Alice Smith"));
+
+		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(new Transaction());
+
+		assertEquals(TransactionResultStatus.CREATED, rewardsService.addCustomerTransaction(dto));
+
+		verify(conversionAndValidatorUtils, never()).prepareCustomer(any(CustomerTransactionDTO.class));
+		verify(customerRepository, never()).insertIfAbsent(any(Customer.class));
+		verify(transactionRepository, times(1)).save(any(Transaction.class));
+	}
+
 	@Test
 	public void testCalculateRewardPoints_InvalidCustomerIdFormat() {
 		String invalidCustomerId = "123";
@@ -224,7 +401,7 @@ public class RewardsServiceTest {
 
 		assertEquals("Invalid Customer ID.", exception.getMessage());
 		verify(conversionAndValidatorUtils, times(1)).isValidCustomerId(invalidCustomerId);
-		verify(customerRepository, never()).findByCustomerId(anyString());
+		verify(customerRepository, never()).findCustomer(anyString(), any(Duration.class));
 	}
 
 	@Test
@@ -243,7 +420,7 @@ public class RewardsServiceTest {
 		assertEquals("Invalid date range. From-date should be before to-date.", exception.getMessage());
 		verify(conversionAndValidatorUtils, times(1)).isValidCustomerId(customerId);
 		verify(conversionAndValidatorUtils, times(1)).isValidDates(fromDate, toDate);
-		verify(customerRepository, never()).findByCustomerId(anyString());
+		verify(customerRepository, never()).findCustomer(anyString(), any(Duration.class));
 	}
 
 	@Test
@@ -255,7 +432,7 @@ public class RewardsServiceTest {
 		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
 		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
 
-		when(customerRepository.findByCustomerId(customerId)).thenThrow(new RuntimeException("Database unavailable"));
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenThrow(new RuntimeException("Database unavailable"));
 
 		Exception exception = assertThrows(RuntimeException.class, () -> {
 			rewardsService.getCustomerRewards(customerId, fromDate, toDate);
@@ -265,7 +442,7 @@ public class RewardsServiceTest {
 
 		verify(conversionAndValidatorUtils, times(1)).isValidCustomerId(customerId);
 		verify(conversionAndValidatorUtils, times(1)).isValidDates(fromDate, toDate);
-		verify(customerRepository, times(1)).findByCustomerId(customerId);
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
 	}
 
 	@Test
@@ -280,10 +457,10 @@ public class RewardsServiceTest {
 
 		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
 		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
-		when(customerRepository.findByCustomerId(customerId)).thenReturn(customer);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
 
-		when(transactionRepository.findByCustomerIdAndTransactionDateBetween(eq(customerId), any(LocalDateTime.class),
-				any(LocalDateTime.class))).thenThrow(new RuntimeException("Transaction DB failure"));
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenThrow(new RuntimeException("Transaction DB failure"));
 
 		Exception exception = assertThrows(RuntimeException.class, () -> {
 			rewardsService.getCustomerRewards(customerId, fromDate, toDate);
@@ -293,9 +470,117 @@ public class RewardsServiceTest {
 
 		verify(conversionAndValidatorUtils, times(1)).isValidCustomerId(customerId);
 		verify(conversionAndValidatorUtils, times(1)).isValidDates(fromDate, toDate);
-		verify(customerRepository, times(1)).findByCustomerId(customerId);
-		verify(transactionRepository, times(1)).findByCustomerIdAndTransactionDateBetween(eq(customerId),
-				any(LocalDateTime.class), any(LocalDateTime.class));
+		verify(customerRepository, times(1)).findCustomer(eq(customerId), any(Duration.class));
+		verify(transactionRepository, times(1)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_CustomerAndTransactionsFetchedConcurrently() {
+		String customerId = "CUST001";
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		List<Transaction> transactions = Collections.singletonList(new Transaction());
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				new ArrayList<>(), 0, null);
+		CountDownLatch customerQueryStarted = new CountDownLatch(1);
+		CountDownLatch transactionQueryStarted = new CountDownLatch(1);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		// Each query only answers once the other is in flight, so running them one after the other would time out
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenAnswer(invocation -> {
+			customerQueryStarted.countDown();
+			return transactionQueryStarted.await(5, TimeUnit.SECONDS) ? customer : null;
+		});
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(), any(Duration.class)))
+				.thenAnswer(invocation -> {
+					transactionQueryStarted.countDown();
+					return customerQueryStarted.await(5, TimeUnit.SECONDS) ? transactions : null;
+				});
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions)).thenReturn(expectedDto);
+
+		assertEquals(expectedDto, rewardsService.getCustomerRewards(customerId, null, null));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_DeadlineExceeded() {
+		String customerId = "CUST001";
+		CountDownLatch mongoAvailable = new CountDownLatch(1);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class)))
+				.thenReturn(new Customer("1", customerId, "Alice Smith"));
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(), any(Duration.class)))
+				.thenAnswer(invocation -> {
+					mongoAvailable.await(5, TimeUnit.SECONDS);
+					return Collections.emptyList();
+				});
+
+		Object timeLimiter = ReflectionTestUtils.getField(rewardsService, "timeLimiter");
+		ReflectionTestUtils.setField(rewardsService, "timeLimiter", TimeLimiter.of(Duration.ofMillis(100)));
+		try {
+			RewardsTimeoutException exception = assertThrows(RewardsTimeoutException.class,
+					() -> rewardsService.getCustomerRewards(customerId, null, null));
+			assertEquals("Rewards lookup timed out. Please try again later.", exception.getMessage());
+		} finally {
+			mongoAvailable.countDown();
+			ReflectionTestUtils.setField(rewardsService, "timeLimiter", timeLimiter);
+		}
+		verify(transactionRepository).findCustomerTransactions(customerId, null, null, Duration.ofMillis(100));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_LookupPoolSaturated() throws InterruptedException {
+		String customerId = "CUST001";
+		int lookupThreads = (int) ReflectionTestUtils.getField(rewardsService, "lookupThreads");
+		CountDownLatch lookupsBusy = new CountDownLatch(lookupThreads);
+		CountDownLatch lookupsFree = new CountDownLatch(1);
+		ExecutorService lookupExecutor = (ExecutorService) ReflectionTestUtils.getField(rewardsService,
+				"lookupExecutor");
+		Runnable blockedLookup = () -> {
+			lookupsBusy.countDown();
+			try {
+				lookupsFree.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+
+		try {
+			// Takes every lookup thread, then every queue slot
+			for (int i = 0; i < lookupThreads; i++) {
+				lookupExecutor.execute(blockedLookup);
+			}
+			assertTrue(lookupsBusy.await(5, TimeUnit.SECONDS));
+			assertThrows(RejectedExecutionException.class, () -> {
+				while (true) {
+					lookupExecutor.execute(blockedLookup);
+				}
+			});
+
+			RewardsOverloadedException exception = assertThrows(RewardsOverloadedException.class,
+					() -> rewardsService.getCustomerRewards(customerId, null, null));
+			assertEquals("Too many rewards lookups in progress. Please try again later.", exception.getMessage());
+		} finally {
+			lookupsFree.countDown();
+		}
+		verify(customerRepository, never()).findCustomer(anyString(), any(Duration.class));
+		verify(transactionRepository, never()).findCustomerTransactions(anyString(), any(), any(), any(Duration.class));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_ServerTimeLimitExceeded() {
+		String customerId = "CUST001";
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class)))
+				.thenReturn(new Customer("1", customerId, "Alice Smith"));
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(), any(Duration.class)))
+				.thenThrow(new UncategorizedMongoDbException("operation exceeded time limit",
+						new MongoExecutionTimeoutException(50, "operation exceeded time limit")));
+
+		assertThrows(RewardsTimeoutException.class, () -> rewardsService.getCustomerRewards(customerId, null, null));
 	}
 
 	@Test
@@ -304,13 +589,13 @@ public class RewardsServiceTest {
 		dto.setCustomerId("CUST123");
 		dto.setCustomerName("John Doe");
 		dto.setTransactionId("TXN001");
-		dto.setAmount(150.0);
+		dto.setAmountCents(15000L);
 		dto.setTransactionDate(LocalDateTime.now());
 
-		when(customerRepository.findByCustomerId(dto.getCustomerId())).thenReturn(null);
 		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(new Customer());
 
-		when(customerRepository.save(any(Customer.class))).thenThrow(new RuntimeException("Customer DB not reachable"));
+		when(customerRepository.insertIfAbsent(any(Customer.class)))
+				.thenThrow(new RuntimeException("Customer DB not reachable"));
 
 		Exception exception = assertThrows(RuntimeException.class, () -> {
 			rewardsService.addCustomerTransaction(dto);
@@ -318,9 +603,8 @@ public class RewardsServiceTest {
 
 		assertEquals("Customer DB not reachable", exception.getMessage());
 
-		verify(customerRepository, times(1)).findByCustomerId(dto.getCustomerId());
 		verify(conversionAndValidatorUtils, times(1)).prepareCustomer(dto);
-		verify(customerRepository, times(1)).save(any(Customer.class));
+		verify(customerRepository, times(1)).insertIfAbsent(any(Customer.class));
 	}
 
 	@Test
@@ -329,14 +613,15 @@ public class RewardsServiceTest {
 		dto.setCustomerId("CUST123");
 		dto.setCustomerName("John Doe");
 		dto.setTransactionId("TXN001");
-		dto.setAmount(150.0);
+		dto.setAmountCents(15000L);
 		dto.setTransactionDate(LocalDateTime.now());
 
 		Customer customer = new Customer();
 		customer.setCustomerId(dto.getCustomerId());
 		customer.setCustomerName(dto.getCustomerName());
 
-		when(customerRepository.findByCustomerId(dto.getCustomerId())).thenReturn(customer);
+		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(customer);
+		when(customerRepository.insertIfAbsent(customer)).thenReturn(false);
 		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(new Transaction());
 
 		when(transactionRepository.save(any(Transaction.class)))
@@ -348,8 +633,485 @@ public class RewardsServiceTest {
 
 		assertEquals("Transaction DB error", exception.getMessage());
 
-		verify(customerRepository, times(1)).findByCustomerId(dto.getCustomerId());
+		verify(customerRepository, times(1)).insertIfAbsent(customer);
 		verify(conversionAndValidatorUtils, times(1)).prepareTransaction(dto);
 		verify(transactionRepository, times(1)).save(any(Transaction.class));
+		verify(monthlyPointsService, never()).recordTransactions(anyList());
+	}
+
+	@Test
+	public void testSaveCustomerTransactions_Batch() {
+		CustomerTransactionDTO existingCustomerDto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN001", 12000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		CustomerTransactionDTO invalidDto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN002", -500L,
+				LocalDateTime.parse("2025-01-16T10:00:00"), null);
+		CustomerTransactionDTO newCustomerDto = new CustomerTransactionDTO("CUST002", "Bob Stone", "TXN003", 7500L,
+				LocalDateTime.parse("2025-01-17T10:00:00"), null);
+
+		Customer existingCustomer = new Customer("1", "CUST001", "Alice Smith");
+		Map<Integer, BulkWriteError> transactionErrors = Collections.singletonMap(1,
+				new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1));
+
+		when(customerRepository.findByCustomerIdIn(anyCollection()))
+				.thenReturn(Collections.singletonList(existingCustomer));
+		when(customerRepository.bulkInsert(anyList())).thenReturn(Collections.emptyMap());
+		when(conversionAndValidatorUtils.prepareTransaction(any(CustomerTransactionDTO.class)))
+				.thenReturn(new Transaction());
+		when(transactionRepository.bulkInsert(anyList())).thenReturn(transactionErrors);
+
+		BatchTransactionResponseDTO result = rewardsService
+				.addCustomerTransactions(Arrays.asList(existingCustomerDto, invalidDto, newCustomerDto));
+
+		assertEquals(3, result.getReceived());
+		assertEquals(1, result.getSaved());
+		assertEquals(1, result.getAlreadyRecorded());
+		assertEquals(1, result.getRejected());
+		assertEquals(TransactionResultStatus.CREATED, result.getResults().get(0).getStatus());
+		assertEquals(TransactionResultStatus.INVALID, result.getResults().get(1).getStatus());
+		assertEquals("Amount must be a positive value.", result.getResults().get(1).getMessage());
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED, result.getResults().get(2).getStatus());
+
+		verify(customerRepository, times(1)).findByCustomerIdIn(anyCollection());
+		verify(customerRepository, times(1)).bulkInsert(argThat((List<Customer> customers) -> customers.size() == 1
+				&& "CUST002".equals(customers.get(0).getCustomerId())));
+		verify(conversionAndValidatorUtils, times(2)).prepareTransaction(any(CustomerTransactionDTO.class));
+		verify(transactionRepository, times(1)).bulkInsert(anyList());
+		verify(monthlyPointsService, times(1)).recordTransactions(argThat((List<Transaction> saved) -> saved.size() == 1));
+		verify(customerRepository, never()).findByCustomerId(anyString());
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_RetryAnsweredWithoutMongo() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN501", 12000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		Transaction transaction = new Transaction(null, "TXN501", "CUST001", 12000L, dto.getTransactionDate(), null);
+
+		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(new Customer(null, "CUST001", "Alice Smith"));
+		when(customerRepository.insertIfAbsent(any(Customer.class))).thenReturn(false);
+		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(transaction);
+
+		assertEquals(TransactionResultStatus.CREATED, rewardsService.addCustomerTransaction(dto));
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED, rewardsService.addCustomerTransaction(dto));
+
+		verify(customerRepository, times(1)).insertIfAbsent(any(Customer.class));
+		verify(transactionRepository, times(1)).save(transaction);
+		verify(monthlyPointsService, times(1)).recordTransactions(anyList());
+	}
+
+	@Test
+	public void testSaveCustomerTransaction_DuplicateKeyIsAlreadyRecorded() {
+		CustomerTransactionDTO dto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN502", 12000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		Transaction transaction = new Transaction(null, "TXN502", "CUST001", 12000L, dto.getTransactionDate(), null);
+
+		when(conversionAndValidatorUtils.prepareCustomer(dto)).thenReturn(new Customer(null, "CUST001", "Alice Smith"));
+		when(customerRepository.insertIfAbsent(any(Customer.class))).thenReturn(false);
+		when(conversionAndValidatorUtils.prepareTransaction(dto)).thenReturn(transaction);
+		when(transactionRepository.save(transaction))
+				.thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: transactions"));
+
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED, rewardsService.addCustomerTransaction(dto));
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED, rewardsService.addCustomerTransaction(dto));
+
+		verify(transactionRepository, times(1)).save(transaction);
+		verify(monthlyPointsService, never()).recordTransactions(anyList());
+	}
+
+	@Test
+	public void testSaveCustomerTransactions_BatchSkipsRecentlyRecorded() {
+		CustomerTransactionDTO recordedDto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN503", 12000L,
+				LocalDateTime.parse("2025-01-15T10:00:00"), null);
+		CustomerTransactionDTO newDto = new CustomerTransactionDTO("CUST001", "Alice Smith", "TXN504", 7500L,
+				LocalDateTime.parse("2025-01-16T10:00:00"), null);
+		recentTransactionIds.add("CUST001", "TXN503");
+
+		when(customerRepository.findByCustomerIdIn(anyCollection()))
+				.thenReturn(Collections.singletonList(new Customer("1", "CUST001", "Alice Smith")));
+		when(customerRepository.bulkInsert(anyList())).thenReturn(Collections.emptyMap());
+		when(conversionAndValidatorUtils.prepareTransaction(any(CustomerTransactionDTO.class)))
+				.thenReturn(new Transaction());
+		when(transactionRepository.bulkInsert(anyList())).thenReturn(Collections.emptyMap());
+
+		BatchTransactionResponseDTO result = rewardsService.addCustomerTransactions(Arrays.asList(recordedDto, newDto));
+
+		assertEquals(1, result.getSaved());
+		assertEquals(1, result.getAlreadyRecorded());
+		assertEquals(0, result.getRejected());
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED, result.getResults().get(0).getStatus());
+		assertEquals(TransactionResultStatus.CREATED, result.getResults().get(1).getStatus());
+		verify(transactionRepository, times(1)).bulkInsert(argThat((List<Transaction> batch) -> batch.size() == 1));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_FullHistoryUsesMonthlyAggregate() {
+		String customerId = "CUST001";
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+
+		MonthlyPoints january = new MonthlyPoints("1", customerId, 2025, 1, 90);
+		MonthlyPointsDTO januaryDto = new MonthlyPointsDTO(2025, "JANUARY", 90);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(januaryDto), 90, null);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(null, null)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(),
+				any(Duration.class))).thenReturn(transactions);
+		when(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId))
+				.thenReturn(Collections.singletonList(january));
+		when(conversionAndValidatorUtils.convertToMonthlyPointsDTO(january)).thenReturn(januaryDto);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions,
+				Collections.singletonList(januaryDto))).thenReturn(expectedDto);
+
+		CustomerDetailsDTO result = rewardsService.getCustomerRewards(customerId, null, null);
+
+		assertEquals(expectedDto, result);
+		verify(conversionAndValidatorUtils, never()).prepareCustomerDetailsDTO(any(Customer.class), anyList());
+	}
+
+	@Test
+	public void testCalculateRewardPoints_OpenEndedRangeUsesMonthlyAggregate() {
+		String customerId = "CUST001";
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+
+		MonthlyPoints january = new MonthlyPoints("1", customerId, 2025, 1, 90);
+		MonthlyPointsDTO januaryDto = new MonthlyPointsDTO(2025, "JANUARY", 90);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(januaryDto), 90, null);
+
+		// Only one date means the whole history is read, so the aggregate is complete for it
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, null)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(),
+				any(Duration.class))).thenReturn(transactions);
+		when(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId))
+				.thenReturn(Collections.singletonList(january));
+		when(conversionAndValidatorUtils.convertToMonthlyPointsDTO(january)).thenReturn(januaryDto);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions,
+				Collections.singletonList(januaryDto))).thenReturn(expectedDto);
+
+		assertEquals(expectedDto, rewardsService.getCustomerRewards(customerId, fromDate, null));
+		verify(conversionAndValidatorUtils, never()).prepareCustomerDetailsDTO(any(Customer.class), anyList());
+	}
+
+	@Test
+	public void testCalculateRewardPoints_FullHistoryBeforeAggregateIsBuilt() {
+		String customerId = "CUST001";
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				new ArrayList<>(), 90, null);
+
+		when(monthlyPointsService.isAggregateReady()).thenReturn(false);
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(null, null)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), isNull(), isNull(),
+				any(Duration.class))).thenReturn(transactions);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions)).thenReturn(expectedDto);
+
+		CustomerDetailsDTO result = rewardsService.getCustomerRewards(customerId, null, null);
+
+		assertEquals(expectedDto, result);
+		verify(monthlyPointsRepository, never()).findByCustomerIdOrderByYearAscMonthAsc(customerId);
+	}
+
+	@Test
+	public void testCalculateRewardPoints_MongoCalculationMode() {
+		String customerId = "CUST001";
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-01-31");
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+
+		MonthlyPoints january = new MonthlyPoints(null, null, 2025, 1, 90);
+		MonthlyPointsDTO januaryDto = new MonthlyPointsDTO(2025, "JANUARY", 90);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(januaryDto), 90, null);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenReturn(transactions);
+		when(transactionRepository.aggregateMonthlyPoints(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any())).thenReturn(Collections.singletonList(january));
+		when(conversionAndValidatorUtils.convertToMonthlyPointsDTO(january)).thenReturn(januaryDto);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions,
+				Collections.singletonList(januaryDto))).thenReturn(expectedDto);
+
+		ReflectionTestUtils.setField(rewardsService, "pointsCalculationMode", "mongo");
+		try {
+			CustomerDetailsDTO result = rewardsService.getCustomerRewards(customerId, fromDate, toDate);
+
+			assertEquals(expectedDto, result);
+			verify(transactionRepository, times(1)).aggregateMonthlyPoints(eq(customerId), any(LocalDateTime.class),
+					any(LocalDateTime.class), any());
+			verify(conversionAndValidatorUtils, never()).prepareCustomerDetailsDTO(any(Customer.class), anyList());
+		} finally {
+			ReflectionTestUtils.setField(rewardsService, "pointsCalculationMode", "jvm");
+		}
+	}
+
+	@Test
+	public void testCalculateRewardPoints_CachedUntilNewTransaction() {
+		String customerId = "CUST001";
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-01-31");
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(new MonthlyPointsDTO(2025, "JANUARY", 90)), 90, null);
+
+		CustomerTransactionDTO customerTransactionDTO = new CustomerTransactionDTO();
+		customerTransactionDTO.setCustomerId(customerId);
+		customerTransactionDTO.setCustomerName("Alice Smith");
+		customerTransactionDTO.setTransactionId("TXN002");
+		customerTransactionDTO.setAmountCents(6000L);
+		customerTransactionDTO.setTransactionDate(LocalDateTime.parse("2025-01-20T10:00:00"));
+		Transaction newTransaction = new Transaction();
+		newTransaction.setTransactionId("TXN002");
+		newTransaction.setCustomerId(customerId);
+		newTransaction.setAmountCents(6000L);
+		newTransaction.setTransactionDate(customerTransactionDTO.getTransactionDate());
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenReturn(transactions);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions)).thenReturn(expectedDto);
+		when(conversionAndValidatorUtils.prepareTransaction(customerTransactionDTO)).thenReturn(newTransaction);
+
+		assertEquals(expectedDto, rewardsService.getCustomerRewards(customerId, fromDate, toDate));
+		assertEquals(expectedDto, rewardsService.getCustomerRewards(customerId, fromDate, toDate));
+		verify(transactionRepository, times(1)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
+
+		rewardsService.addCustomerTransaction(customerTransactionDTO);
+		rewardsService.getCustomerRewards(customerId, fromDate, toDate);
+
+		verify(transactionRepository, times(2)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_LoadOverlappingNewTransactionIsNotCached() throws Exception {
+		String customerId = "CUST001";
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-01-31");
+
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		Transaction transaction = new Transaction();
+		transaction.setTransactionId("TXN001");
+		transaction.setCustomerId(customerId);
+		transaction.setAmountCents(12000L);
+		transaction.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		List<Transaction> transactions = Collections.singletonList(transaction);
+		CustomerDetailsDTO expectedDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(new MonthlyPointsDTO(2025, "JANUARY", 90)), 90, null);
+
+		CustomerTransactionDTO customerTransactionDTO = new CustomerTransactionDTO();
+		customerTransactionDTO.setCustomerId(customerId);
+		customerTransactionDTO.setCustomerName("Alice Smith");
+		customerTransactionDTO.setTransactionId("TXN002");
+		customerTransactionDTO.setAmountCents(6000L);
+		customerTransactionDTO.setTransactionDate(LocalDateTime.parse("2025-01-20T10:00:00"));
+		Transaction newTransaction = new Transaction();
+		newTransaction.setTransactionId("TXN002");
+		newTransaction.setCustomerId(customerId);
+		newTransaction.setAmountCents(6000L);
+		newTransaction.setTransactionDate(customerTransactionDTO.getTransactionDate());
+
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch transactionSaved = new CountDownLatch(1);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
+		when(customerRepository.findCustomer(eq(customerId), any(Duration.class))).thenReturn(customer);
+		// The first load reads the transactions before the new one is saved and finishes after it
+		when(transactionRepository.findCustomerTransactions(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any(Duration.class))).thenAnswer(invocation -> {
+					loadStarted.countDown();
+					transactionSaved.await(5, TimeUnit.SECONDS);
+					return transactions;
+				}).thenReturn(transactions);
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, transactions)).thenReturn(expectedDto);
+		when(conversionAndValidatorUtils.prepareTransaction(customerTransactionDTO)).thenReturn(newTransaction);
+
+		CompletableFuture<CustomerDetailsDTO> overlappingLoad = CompletableFuture
+				.supplyAsync(() -> rewardsService.getCustomerRewards(customerId, fromDate, toDate));
+		assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+		rewardsService.addCustomerTransaction(customerTransactionDTO);
+		transactionSaved.countDown();
+		assertEquals(expectedDto, overlappingLoad.get(5, TimeUnit.SECONDS));
+
+		rewardsService.getCustomerRewards(customerId, fromDate, toDate);
+
+		verify(transactionRepository, times(2)).findCustomerTransactions(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class), any(Duration.class));
+	}
+
+	@Test
+	public void testCalculateRewardPoints_PagedTransactions() {
+		String customerId = "CUST001";
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+		TransactionCursor after = new TransactionCursor(LocalDateTime.parse("2025-01-10T10:00:00"),
+				"6641f1a2b3c4d5e6f7a8b9c0");
+
+		Transaction first = new Transaction();
+		first.setTransactionId("TXN002");
+		first.setCustomerId(customerId);
+		first.setAmountCents(12000L);
+		first.setTransactionDate(LocalDateTime.parse("2025-01-15T10:00:00"));
+		Transaction second = new Transaction();
+		second.setTransactionId("TXN003");
+		second.setCustomerId(customerId);
+		second.setAmountCents(7500L);
+		second.setTransactionDate(LocalDateTime.parse("2025-02-20T14:30:00"));
+
+		MonthlyPoints january = new MonthlyPoints("1", customerId, 2025, 1, 90);
+		MonthlyPointsDTO januaryDto = new MonthlyPointsDTO(2025, "JANUARY", 90);
+		CustomerDetailsDTO pageDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(januaryDto), 90, null);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(null, null)).thenReturn(false);
+		when(conversionAndValidatorUtils.decodeTransactionCursor("cursor-1")).thenReturn(after);
+		when(conversionAndValidatorUtils.encodeTransactionCursor(first)).thenReturn("cursor-2");
+		when(conversionAndValidatorUtils.convertToMonthlyPointsDTO(january)).thenReturn(januaryDto);
+		when(customerRepository.findByCustomerId(customerId)).thenReturn(customer);
+		when(monthlyPointsRepository.findByCustomerIdOrderByYearAscMonthAsc(customerId))
+				.thenReturn(Collections.singletonList(january));
+		when(transactionRepository.findTransactionPage(customerId, null, null, after, 2))
+				.thenReturn(Arrays.asList(first, second));
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, Collections.singletonList(first),
+				Collections.singletonList(januaryDto))).thenReturn(pageDto);
+
+		CustomerDetailsDTO result = rewardsService.getCustomerRewards(customerId, null, null,
+				new RewardsQueryOptions(true, "cursor-1", 1));
+
+		assertEquals("cursor-2", result.getNextCursor());
+		assertEquals(90, result.getTotalPoints());
+		verify(transactionRepository, never()).findByCustomerId(customerId);
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+				() -> rewardsService.getCustomerRewards(customerId, null, null, new RewardsQueryOptions(true, null, 0)));
+		assertEquals("Limit must be between 1 and 1000.", exception.getMessage());
+	}
+
+	@Test
+	public void testCalculateRewardPoints_WithoutTransactions() {
+		String customerId = "CUST001";
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-01-31");
+		Customer customer = new Customer("1", customerId, "Alice Smith");
+
+		MonthlyPoints january = new MonthlyPoints(null, null, 2025, 1, 90);
+		MonthlyPointsDTO januaryDto = new MonthlyPointsDTO(2025, "JANUARY", 90);
+		CustomerDetailsDTO pointsDto = new CustomerDetailsDTO(customerId, "Alice Smith", new ArrayList<>(),
+				Collections.singletonList(januaryDto), 90, null);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(customerId)).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
+		when(conversionAndValidatorUtils.convertToMonthlyPointsDTO(january)).thenReturn(januaryDto);
+		when(customerRepository.findByCustomerId(customerId)).thenReturn(customer);
+		when(transactionRepository.aggregateMonthlyPoints(eq(customerId), any(LocalDateTime.class),
+				any(LocalDateTime.class), any())).thenReturn(Collections.singletonList(january));
+		when(conversionAndValidatorUtils.prepareCustomerDetailsDTO(customer, Collections.emptyList(),
+				Collections.singletonList(januaryDto))).thenReturn(pointsDto);
+
+		CustomerDetailsDTO result = rewardsService.getCustomerRewards(customerId, fromDate, toDate,
+				new RewardsQueryOptions(false, null, null));
+
+		assertNull(result.getTransaction());
+		assertEquals(90, result.getTotalPoints());
+		verify(transactionRepository, never()).findByCustomerIdAndTransactionDateBetween(eq(customerId),
+				any(LocalDateTime.class), any(LocalDateTime.class));
+		verify(transactionRepository, never()).findTransactionPage(any(), any(), any(), any(), anyInt());
+	}
+
+	@Test
+	public void testGetCustomersRewards() {
+		LocalDate fromDate = LocalDate.parse("2025-01-01");
+		LocalDate toDate = LocalDate.parse("2025-03-31");
+		TransactionPoints january = new TransactionPoints("CUST001", 12000L, LocalDateTime.of(2025, 1, 15, 10, 0), null);
+		TransactionPoints february = new TransactionPoints("CUST001", 7500L, LocalDateTime.of(2025, 2, 20, 9, 0), null);
+		TransactionPoints march = new TransactionPoints("CUST002", 6000L, LocalDateTime.of(2025, 3, 1, 9, 0), null);
+
+		when(conversionAndValidatorUtils.isValidCustomerId(anyString())).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidDates(fromDate, toDate)).thenReturn(false);
+		when(pointsCalculationUtils.getRewardRules()).thenReturn(RewardRules.standard());
+		when(customerRepository.findByCustomerIdIn(anyCollection())).thenReturn(Arrays.asList(
+				new Customer("1", "CUST001", "Alice Smith"), new Customer("2", "CUST002", "Bob Stone"),
+				new Customer("3", "CUST003", "Carol White")));
+		when(transactionRepository.streamTransactionPoints(anyCollection(), eq(fromDate.atStartOfDay()),
+				any(LocalDateTime.class)))
+				.thenReturn(Stream.of(january, march, february));
+
+		CustomerRewardsQueryResponseDTO result = rewardsService.getCustomersRewards(
+				Arrays.asList("CUST002", "CUST001", "CUST999", "CUST003", "CUST001"), fromDate, toDate);
+
+		assertEquals(4, result.getRequested());
+		assertEquals(3, result.getFound());
+		assertEquals(Collections.singletonList("CUST999"), result.getNotFound());
+		assertEquals(new CustomerPointsDTO("CUST002", "Bob Stone",
+				Collections.singletonList(new MonthlyPointsDTO(2025, "MARCH", 10)), 10), result.getCustomers().get(0));
+		assertEquals(new CustomerPointsDTO("CUST001", "Alice Smith", Arrays.asList(
+				new MonthlyPointsDTO(2025, "JANUARY", 90), new MonthlyPointsDTO(2025, "FEBRUARY", 25)), 115),
+				result.getCustomers().get(1));
+		assertEquals(new CustomerPointsDTO("CUST003", "Carol White", Collections.emptyList(), 0),
+				result.getCustomers().get(2));
+		verify(customerRepository, times(1)).findByCustomerIdIn(anyCollection());
+		verify(transactionRepository, times(1)).streamTransactionPoints(
+				argThat(ids -> ids.size() == 3 && !ids.contains("CUST999")), any(LocalDateTime.class),
+				any(LocalDateTime.class));
+		verify(customerRepository, never()).findByCustomerId(anyString());
+	}
+
+	@Test
+	public void testGetCustomersRewards_InvalidCustomerId() {
+		when(conversionAndValidatorUtils.isValidCustomerId("CUST001")).thenReturn(true);
+		when(conversionAndValidatorUtils.isValidCustomerId("BAD")).thenReturn(false);
+
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> rewardsService.getCustomersRewards(Arrays.asList("CUST001", "BAD"), null, null));
+
+		assertEquals("Invalid Customer ID: BAD.", thrown.getMessage());
+		verify(customerRepository, never()).findByCustomerIdIn(anyCollection());
 	}
-}
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.assignment.rewardsapplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.ImportCheckpoint;
+import com.assignment.rewardsapplication.dto.ImportResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.exception.TransactionImportException;
+import com.assignment.rewardsapplication.repository.ImportCheckpointRepository;
+import com.assignment.rewardsapplication.service.impl.RewardsService;
+import com.assignment.rewardsapplication.service.impl.RewardsServiceImpl;
+import com.assignment.rewardsapplication.service.impl.TransactionImportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class TransactionImportServiceTest {
+
+	@Mock
+	private RewardsService rewardsService;
+
+	@Mock
+	private ImportCheckpointRepository importCheckpointRepository;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@InjectMocks
+	private TransactionImportServiceImpl transactionImportService;
+
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(transactionImportService, "chunkSize", 2);
+		when(importCheckpointRepository.findById(any())).thenReturn(Optional.empty());
+		when(rewardsService.addCustomerTransactions(anyList())).thenAnswer(invocation -> {
+			List<CustomerTransactionDTO> chunk = invocation.getArgument(0);
+			List<TransactionResultDTO> results = new ArrayList<>();
+			for (int i = 0; i < chunk.size(); i++) {
+				results.add(new TransactionResultDTO(i, chunk.get(i).getTransactionId(), chunk.get(i).getCustomerId(),
+						TransactionResultStatus.CREATED, null));
+			}
+			return new BatchTransactionResponseDTO(chunk.size(), chunk.size(), 0, 0, results);
+		});
+	}
+
+	@Test
+	public void testImportNdjson() {
+		String ndjson = "{\"customerId\":\"CUST001\",\"customerName\":\"Alice Smith\",\"transactionId\":\"TXN001\",\"amount\":120.0,\"transactionDate\":\"2025-01-15T10:00:00\"}\n"
+				+ "not json\n"
+				+ "{\"customerId\":\"CUST001\",\"customerName\":\"Alice Smith\",\"transactionId\":\"TXN002\",\"amount\":75.0,\"transactionDate\":\"2025-02-20T14:30:00\"}\n"
+				+ "\n"
+				+ "{\"customerId\":\"CUST002\",\"customerName\":\"Bob Stone\",\"transactionId\":\"TXN003\",\"amount\":60.0,\"transactionDate\":\"2025-03-01T09:00:00\"}\n";
+
+		ImportResultDTO result = transactionImportService.importTransactions("import-1", "ndjson", stream(ndjson));
+
+		assertEquals(0, result.getRowsSkipped());
+		assertEquals(4, result.getRowsRead());
+		assertEquals(3, result.getRowsImported());
+		assertEquals(1, result.getRowsRejected());
+		assertTrue(result.getRowsPerSecond() >= 0);
+
+		verify(rewardsService, times(2)).addCustomerTransactions(anyList());
+		ArgumentCaptor<ImportCheckpoint> checkpoint = ArgumentCaptor.forClass(ImportCheckpoint.class);
+		verify(importCheckpointRepository, times(2)).save(checkpoint.capture());
+		assertEquals(4, checkpoint.getValue().getLinesCommitted());
+		assertTrue(checkpoint.getValue().isCompleted());
+	}
+
+	@Test
+	public void testImportCsvResumesFromCheckpoint() {
+		String csv = "customerId,customerName,transactionId,amount,transactionDate\n"
+				+ "CUST001,\"Smith, Alice\",TXN001,120.0,2025-01-15T10:00:00\n"
+				+ "CUST001,\"Smith, Alice\",TXN002,75.0,2025-02-20T14:30:00\n"
+				+ "CUST002,Bob Stone,TXN003,60.0,2025-03-01T09:00:00\n";
+
+		when(importCheckpointRepository.findById("import-2"))
+				.thenReturn(Optional.of(new ImportCheckpoint("import-2", 2, 2, 0, false, null)));
+
+		ImportResultDTO result = transactionImportService.importTransactions("import-2", "csv", stream(csv));
+
+		assertEquals(2, result.getRowsSkipped());
+		assertEquals(1, result.getRowsRead());
+		assertEquals(1, result.getRowsImported());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<CustomerTransactionDTO>> chunk = ArgumentCaptor.forClass(List.class);
+		verify(rewardsService, times(1)).addCustomerTransactions(chunk.capture());
+		assertEquals("TXN003", chunk.getValue().get(0).getTransactionId());
+		assertEquals("Bob Stone", chunk.getValue().get(0).getCustomerName());
+
+		ArgumentCaptor<ImportCheckpoint> checkpoint = ArgumentCaptor.forClass(ImportCheckpoint.class);
+		verify(importCheckpointRepository, times(1)).save(checkpoint.capture());
+		assertEquals(3, checkpoint.getValue().getLinesCommitted());
+		assertEquals(3, checkpoint.getValue().getRowsImported());
+	}
+
+	@Test
+	public void testImportStopsWithoutCheckpointWhenChunkFails() {
+		String csv = "customerId,customerName,transactionId,amount,transactionDate\n"
+				+ "CUST001,Alice Smith,TXN001,120.0,2025-01-15T10:00:00\n"
+				+ "CUST001,Alice Smith,,75.0,2025-02-20T14:30:00\n"
+				+ "CUST002,Bob Stone,TXN003,60.0,2025-03-01T09:00:00\n"
+				+ "CUST002,Bob Stone,TXN004,80.0,2025-03-02T09:00:00\n";
+		RewardsServiceImpl fallbackService = new RewardsServiceImpl();
+		when(rewardsService.addCustomerTransactions(anyList())).thenAnswer(invocation -> {
+			List<CustomerTransactionDTO> chunk = invocation.getArgument(0);
+			List<TransactionResultDTO> results = new ArrayList<>();
+			results.add(new TransactionResultDTO(0, "TXN001", "CUST001", TransactionResultStatus.CREATED, null));
+			results.add(new TransactionResultDTO(1, null, "CUST001", TransactionResultStatus.INVALID,
+					"Transaction ID is required."));
+			return new BatchTransactionResponseDTO(chunk.size(), 1, 0, 1, results);
+		}).thenAnswer(invocation -> fallbackService.saveCustomerTransactionsFallback(invocation.getArgument(0),
+				new IllegalStateException("Timed out waiting for a server")));
+
+		TransactionImportException thrown = assertThrows(TransactionImportException.class,
+				() -> transactionImportService.importTransactions("import-4", "csv", stream(csv)));
+		assertEquals("Import 'import-4' stopped at line 4 : 2 of 2 rows failed to save. Send the file again with the "
+				+ "same import ID to resume.", thrown.getMessage());
+
+		ArgumentCaptor<ImportCheckpoint> checkpoint = ArgumentCaptor.forClass(ImportCheckpoint.class);
+		verify(importCheckpointRepository, times(1)).save(checkpoint.capture());
+		assertEquals(2, checkpoint.getValue().getLinesCommitted());
+		assertEquals(1, checkpoint.getValue().getRowsImported());
+		assertEquals(1, checkpoint.getValue().getRowsRejected());
+		assertFalse(checkpoint.getValue().isCompleted());
+	}
+
+	@Test
+	public void testImportUnsupportedFormat() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> transactionImportService.importTransactions("import-3", "xml", stream("")));
+		assertEquals("Unsupported import format. Supported formats are ndjson and csv.", thrown.getMessage());
+	}
+
+	private InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,266 @@
+package com.assignment.rewardsapplication.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.assignment.rewardsapplication.cache.RecentTransactionIds;
+import com.assignment.rewardsapplication.dto.BatchTransactionResponseDTO;
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultDTO;
+import com.assignment.rewardsapplication.dto.TransactionResultStatus;
+import com.assignment.rewardsapplication.service.impl.RewardsService;
+import com.assignment.rewardsapplication.service.impl.TransactionWriteBehindServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class TransactionWriteBehindServiceTest {
+
+	@Mock
+	private RewardsService rewardsService;
+
+	@Mock
+	private RecentTransactionIds recentTransactionIds;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@InjectMocks
+	private TransactionWriteBehindServiceImpl transactionWriteBehindService;
+
+	@TempDir
+	Path journalDirectory;
+
+	@BeforeEach
+	public void setUp() {
+		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(transactionWriteBehindService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(transactionWriteBehindService, "mode", "write-behind");
+		ReflectionTestUtils.setField(transactionWriteBehindService, "capacity", 100);
+		ReflectionTestUtils.setField(transactionWriteBehindService, "flushSize", 3);
+		ReflectionTestUtils.setField(transactionWriteBehindService, "flushInterval", Duration.ofHours(1));
+		ReflectionTestUtils.setField(transactionWriteBehindService, "retryInterval", Duration.ofMillis(10));
+		ReflectionTestUtils.setField(transactionWriteBehindService, "maxAttempts", 1000);
+		ReflectionTestUtils.setField(transactionWriteBehindService, "drainTimeout", Duration.ofSeconds(5));
+		ReflectionTestUtils.setField(transactionWriteBehindService, "journalDirectory", journalDirectory.toString());
+		when(rewardsService.addCustomerTransactions(anyList()))
+				.thenAnswer(invocation -> created(invocation.getArgument(0)));
+	}
+
+	@AfterEach
+	public void tearDown() throws InterruptedException {
+		transactionWriteBehindService.shutdown();
+	}
+
+	@Test
+	public void testBufferedTransactionsAreGroupCommitted() throws Exception {
+		transactionWriteBehindService.init();
+
+		assertEquals(TransactionResultStatus.ACCEPTED, transactionWriteBehindService.enqueue(transaction("TXN001")));
+		assertEquals(TransactionResultStatus.ACCEPTED, transactionWriteBehindService.enqueue(transaction("TXN002")));
+		assertEquals(TransactionResultStatus.ACCEPTED, transactionWriteBehindService.enqueue(transaction("TXN003")));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<CustomerTransactionDTO>> captor = ArgumentCaptor.forClass(List.class);
+		verify(rewardsService, timeout(5000)).addCustomerTransactions(captor.capture());
+		assertEquals(Arrays.asList("TXN001", "TXN002", "TXN003"), captor.getValue().stream()
+				.map(CustomerTransactionDTO::getTransactionId).collect(Collectors.toList()));
+		awaitPending(0);
+		assertEquals(1, segments().size());
+	}
+
+	@Test
+	public void testFlushIntervalCommitsPartialBatch() throws Exception {
+		ReflectionTestUtils.setField(transactionWriteBehindService, "flushInterval", Duration.ofMillis(20));
+		transactionWriteBehindService.init();
+
+		transactionWriteBehindService.enqueue(transaction("TXN001"));
+
+		verify(rewardsService, timeout(5000)).addCustomerTransactions(anyList());
+		awaitPending(0);
+	}
+
+	@Test
+	public void testThrottledWhenBufferIsFull() throws Exception {
+		ReflectionTestUtils.setField(transactionWriteBehindService, "capacity", 3);
+		CountDownLatch mongoAvailable = new CountDownLatch(1);
+		when(rewardsService.addCustomerTransactions(anyList())).thenAnswer(invocation -> {
+			mongoAvailable.await();
+			return created(invocation.getArgument(0));
+		});
+		transactionWriteBehindService.init();
+
+		for (int i = 1; i <= 3; i++) {
+			assertEquals(TransactionResultStatus.ACCEPTED,
+					transactionWriteBehindService.enqueue(transaction("TXN00" + i)));
+		}
+		verify(rewardsService, timeout(5000)).addCustomerTransactions(anyList());
+		assertEquals(TransactionResultStatus.THROTTLED, transactionWriteBehindService.enqueue(transaction("TXN004")));
+
+		mongoAvailable.countDown();
+		awaitPending(0);
+		assertEquals(TransactionResultStatus.ACCEPTED, transactionWriteBehindService.enqueue(transaction("TXN004")));
+	}
+
+	@Test
+	public void testRecentlyRecordedTransactionIsNotBuffered() throws Exception {
+		when(recentTransactionIds.contains(anyString(), anyString())).thenReturn(true);
+		transactionWriteBehindService.init();
+
+		assertEquals(TransactionResultStatus.ALREADY_RECORDED,
+				transactionWriteBehindService.enqueue(transaction("TXN001")));
+		assertEquals(0, transactionWriteBehindService.getPendingCount());
+	}
+
+	@Test
+	public void testShutdownDrainsBuffer() throws Exception {
+		transactionWriteBehindService.init();
+		transactionWriteBehindService.enqueue(transaction("TXN001"));
+		transactionWriteBehindService.enqueue(transaction("TXN002"));
+
+		transactionWriteBehindService.shutdown();
+
+		verify(rewardsService).addCustomerTransactions(anyList());
+		assertEquals(0, transactionWriteBehindService.getPendingCount());
+		assertTrue(segments().isEmpty());
+		assertEquals(TransactionResultStatus.FAILED, transactionWriteBehindService.enqueue(transaction("TXN003")));
+	}
+
+	@Test
+	public void testUnsavedTransactionsStayInJournal() throws Exception {
+		ReflectionTestUtils.setField(transactionWriteBehindService, "drainTimeout", Duration.ofMillis(100));
+		when(rewardsService.addCustomerTransactions(anyList())).thenThrow(new IllegalStateException("Mongo down"));
+		transactionWriteBehindService.init();
+		transactionWriteBehindService.enqueue(transaction("TXN001"));
+
+		transactionWriteBehindService.shutdown();
+
+		assertEquals(1, transactionWriteBehindService.getPendingCount());
+		List<Path> segments = segments();
+		assertEquals(1, segments.size());
+		assertTrue(new String(Files.readAllBytes(segments.get(0)), StandardCharsets.UTF_8).contains("TXN001"));
+	}
+
+	@Test
+	public void testFailingTransactionsAreDeadLetteredAfterMaxAttempts() throws Exception {
+		ReflectionTestUtils.setField(transactionWriteBehindService, "maxAttempts", 3);
+		when(rewardsService.addCustomerTransactions(anyList())).thenAnswer(invocation -> {
+			List<CustomerTransactionDTO> chunk = invocation.getArgument(0);
+			List<TransactionResultDTO> results = new ArrayList<>();
+			for (int i = 0; i < chunk.size(); i++) {
+				String transactionId = chunk.get(i).getTransactionId();
+				results.add(new TransactionResultDTO(i, transactionId, chunk.get(i).getCustomerId(),
+						"TXN002".equals(transactionId) ? TransactionResultStatus.FAILED
+								: TransactionResultStatus.CREATED,
+						null));
+			}
+			return new BatchTransactionResponseDTO(chunk.size(), chunk.size(), 0, 0, results);
+		});
+		transactionWriteBehindService.init();
+
+		transactionWriteBehindService.enqueue(transaction("TXN001"));
+		transactionWriteBehindService.enqueue(transaction("TXN002"));
+		transactionWriteBehindService.enqueue(transaction("TXN003"));
+
+		awaitPending(0);
+		verify(rewardsService, times(3)).addCustomerTransactions(anyList());
+		List<String> deadLetters = Files.readAllLines(journalDirectory.resolve("dead-letter.ndjson"),
+				StandardCharsets.UTF_8);
+		assertEquals(Collections.singletonList(objectMapper.writeValueAsString(transaction("TXN002"))), deadLetters);
+	}
+
+	@Test
+	public void testJournalReplayedOnStart() throws Exception {
+		Path leftover = journalDirectory.resolve("transactions-0000000000000000007.ndjson");
+		Files.write(leftover, (objectMapper.writeValueAsString(transaction("TXN001")) + "\n{\"customerId\":\"CUS")
+				.getBytes(StandardCharsets.UTF_8));
+
+		transactionWriteBehindService.init();
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<CustomerTransactionDTO>> captor = ArgumentCaptor.forClass(List.class);
+		verify(rewardsService, timeout(5000)).addCustomerTransactions(captor.capture());
+		assertEquals(Collections.singletonList(transaction("TXN001")), captor.getValue());
+		awaitDeleted(leftover);
+		assertEquals(Collections.singletonList(journalDirectory.resolve("transactions-0000000000000000008.ndjson")),
+				segments());
+	}
+
+	@Test
+	public void testSyncModeStartsNoFlusher() throws Exception {
+		ReflectionTestUtils.setField(transactionWriteBehindService, "mode", "sync");
+		transactionWriteBehindService.init();
+
+		assertFalse(transactionWriteBehindService.isEnabled());
+		assertTrue(segments().isEmpty());
+		verify(rewardsService, never()).addCustomerTransactions(anyList());
+	}
+
+	private CustomerTransactionDTO transaction(String transactionId) {
+		return new CustomerTransactionDTO("CUST001", "Alice Smith", transactionId, 12000L,
+				LocalDateTime.of(2025, 1, 15, 10, 0), null);
+	}
+
+	private BatchTransactionResponseDTO created(List<CustomerTransactionDTO> chunk) {
+		List<TransactionResultDTO> results = new ArrayList<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			results.add(new TransactionResultDTO(i, chunk.get(i).getTransactionId(), chunk.get(i).getCustomerId(),
+					TransactionResultStatus.CREATED, null));
+		}
+		return new BatchTransactionResponseDTO(chunk.size(), chunk.size(), 0, 0, results);
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(journalDirectory)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private void awaitPending(int expected) throws InterruptedException {
+		for (int i = 0; i < 500 && transactionWriteBehindService.getPendingCount() != expected; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(expected, transactionWriteBehindService.getPendingCount());
+	}
+
+	private void awaitDeleted(Path file) throws InterruptedException {
+		for (int i = 0; i < 500 && Files.exists(file); i++) {
+			Thread.sleep(10);
+		}
+		assertFalse(Files.exists(file));
+	}
+}
\ No newline at end of file
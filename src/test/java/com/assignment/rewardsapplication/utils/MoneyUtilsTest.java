@@ -0,0 +1,63 @@
+package com.assignment.rewardsapplication.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.assignment.rewardsapplication.dto.CustomerTransactionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class MoneyUtilsTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	@Test
+	public void testParseCents() {
+		assertEquals(7550L, MoneyUtils.parseCents("75.50"));
+		assertEquals(7550L, MoneyUtils.parseCents("75.5"));
+		assertEquals(12000L, MoneyUtils.parseCents("120"));
+		assertEquals(10000L, MoneyUtils.parseCents("100.000"));
+		assertEquals(-500L, MoneyUtils.parseCents("-5.00"));
+	}
+
+	@Test
+	public void testParseCentsRejectsFractionalCents() {
+		IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+				() -> MoneyUtils.parseCents("100.00000001"));
+		assertEquals("Amount must not have more than two decimal places.", thrown.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> MoneyUtils.parseCents("1e30"));
+		assertThrows(IllegalArgumentException.class, () -> MoneyUtils.parseCents("abc"));
+	}
+
+	@Test
+	public void testRoundToCents() {
+		assertEquals(9999L, MoneyUtils.roundToCents(99.99));
+		assertEquals(101L, MoneyUtils.roundToCents(1.005));
+		assertEquals(13275L, MoneyUtils.roundToCents(132.75));
+		assertEquals(new BigDecimal("132.75"), MoneyUtils.toDecimal(13275L));
+		assertEquals(75.5, MoneyUtils.toAmount(7550L));
+	}
+
+	@Test
+	public void testAmountJsonRoundTrip() throws Exception {
+		CustomerTransactionDTO dto = objectMapper.readValue(
+				"{\"customerId\":\"CUST001\",\"transactionId\":\"TXN001\",\"amount\":75.50}", CustomerTransactionDTO.class);
+		assertEquals(7550L, dto.getAmountCents());
+		assertEquals(12000L, objectMapper
+				.readValue("{\"amount\":\"120\"}", CustomerTransactionDTO.class).getAmountCents());
+		assertTrue(objectMapper.writeValueAsString(dto).contains("\"amount\":75.50"));
+	}
+
+	@Test
+	public void testAmountJsonRejectsFractionalCents() {
+		InvalidFormatException thrown = assertThrows(InvalidFormatException.class,
+				() -> objectMapper.readValue("{\"amount\":100.00000001}", CustomerTransactionDTO.class));
+		assertEquals("Amount must not have more than two decimal places.", thrown.getOriginalMessage());
+	}
+}
\ No newline at end of file
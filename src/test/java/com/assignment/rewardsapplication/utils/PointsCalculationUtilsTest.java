@@ -0,0 +1,163 @@
+package com.assignment.rewardsapplication.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.assignment.rewardsapplication.dto.MonthlyPointsDTO;
+import com.assignment.rewardsapplication.dto.PointsSummary;
+import com.assignment.rewardsapplication.dto.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class PointsCalculationUtilsTest {
+
+	private final PointsCalculationUtils pointsCalculationUtils = new PointsCalculationUtils();
+
+	private static final LocalDateTime DATE = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void testCalculatePointsMatchesDoubleCalculationForEveryCent() {
+		for (long cents = 0; cents <= 2_000_000; cents++) {
+			double amount = Double.parseDouble(MoneyUtils.toDecimal(cents).toPlainString());
+			assertEquals(doublePoints(amount), pointsCalculationUtils.calculatePoints(transaction(cents, DATE)),
+					"cents=" + cents);
+		}
+	}
+
+	@Test
+	public void testCalculatePointsMatchesDoubleCalculationForLargeAmounts() {
+		Random random = new Random(11);
+		for (int i = 0; i < 100_000; i++) {
+			long cents = (long) (random.nextDouble() * 1_000_000_000L);
+			double amount = Double.parseDouble(MoneyUtils.toDecimal(cents).toPlainString());
+			assertEquals(doublePoints(amount), pointsCalculationUtils.calculatePoints(transaction(cents, DATE)),
+					"cents=" + cents);
+		}
+	}
+
+	@Test
+	public void testCalculatePointsTierBoundaries() {
+		assertEquals(0, points(5000L));
+		assertEquals(0, points(5099L));
+		assertEquals(1, points(5100L));
+		assertEquals(50, points(10000L));
+		assertEquals(50, points(10001L));
+		assertEquals(50, points(10049L));
+		assertEquals(51, points(10050L));
+		assertEquals(90, points(12000L));
+	}
+
+	@Test
+	public void testMonthlyPointsMatchesMapAggregation() throws JsonProcessingException {
+		Random random = new Random(7);
+		List<Transaction> transactions = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(1999, 11, 30, 23, 59);
+		for (int i = 0; i < 5000; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setAmountCents(random.nextInt(40_000));
+			transaction.setTransactionDate(start.plusHours(random.nextInt(30 * 365 * 24)));
+			transactions.add(transaction);
+		}
+
+		List<MonthlyPointsDTO> expected = mapAggregation(transactions);
+		List<MonthlyPointsDTO> actual = pointsCalculationUtils.calculateMonthlyPoints("CUST001", transactions);
+
+		assertTrue(actual.size() > 16);
+		assertEquals(expected, actual);
+		assertEquals(objectMapper.writeValueAsString(expected), objectMapper.writeValueAsString(actual));
+	}
+
+	@Test
+	public void testMonthlyPointsKeepsFirstSeenOrder() {
+		List<Transaction> transactions = new ArrayList<>();
+		transactions.add(transaction(12000L, LocalDateTime.of(2025, 3, 1, 10, 0)));
+		transactions.add(transaction(7500L, LocalDateTime.of(2024, 12, 31, 23, 59)));
+		transactions.add(transaction(6000L, LocalDateTime.of(2025, 3, 31, 0, 0)));
+		transactions.add(transaction(-1000L, LocalDateTime.of(-1, 1, 15, 0, 0)));
+
+		List<MonthlyPointsDTO> monthlyPoints = pointsCalculationUtils.calculateMonthlyPoints("CUST001", transactions);
+
+		assertEquals(mapAggregation(transactions), monthlyPoints);
+		assertEquals(new MonthlyPointsDTO(2025, "MARCH", 100), monthlyPoints.get(0));
+		assertEquals(new MonthlyPointsDTO(2024, "DECEMBER", 25), monthlyPoints.get(1));
+		assertEquals(new MonthlyPointsDTO(-1, "JANUARY", 0), monthlyPoints.get(2));
+	}
+
+	@Test
+	public void testParallelSummaryMatchesSequentialPass() {
+		Random random = new Random(13);
+		List<Transaction> transactions = new ArrayList<>();
+		LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+		for (int i = 0; i < 200_000; i++) {
+			transactions.add(transaction(random.nextInt(40_000), start.plusMinutes(random.nextInt(5 * 365 * 24 * 60))));
+		}
+
+		PointsCalculationUtils parallelUtils = new PointsCalculationUtils();
+		parallelUtils.setParallelThreshold(1);
+		parallelUtils.setParallelism(4);
+		try {
+			PointsSummary parallel = parallelUtils.calculatePointsSummary("CUST001", transactions);
+
+			assertEquals(mapAggregation(transactions), parallel.getMonthlyPoints());
+			assertEquals(pointsCalculationUtils.calculateTotalPoints(transactions), parallel.getTotalPoints());
+			assertEquals(parallel.getMonthlyPoints().stream().mapToInt(MonthlyPointsDTO::getPoints).sum(),
+					parallel.getTotalPoints());
+		} finally {
+			parallelUtils.shutdown();
+		}
+	}
+
+	@Test
+	public void testMonthlyPointsWithoutTransactions() {
+		assertEquals(Collections.emptyList(),
+				pointsCalculationUtils.calculateMonthlyPoints("CUST001", Collections.emptyList()));
+	}
+
+	private int points(long amountCents) {
+		return pointsCalculationUtils.calculatePoints(transaction(amountCents, DATE));
+	}
+
+	private Transaction transaction(long amountCents, LocalDateTime transactionDate) {
+		Transaction transaction = new Transaction();
+		transaction.setAmountCents(amountCents);
+		transaction.setTransactionDate(transactionDate);
+		return transaction;
+	}
+
+	private int doublePoints(double amount) {
+		int points = 0;
+		if (amount > 100) {
+			points += (int) ((amount - 100) * 2);
+			points += 50;
+		} else if (amount > 50) {
+			points += (int) (amount - 50);
+		}
+		return points;
+	}
+
+	private List<MonthlyPointsDTO> mapAggregation(List<Transaction> transactions) {
+		Map<String, MonthlyPointsDTO> monthlyPointsMap = new LinkedHashMap<>();
+		for (Transaction transaction : transactions) {
+			LocalDate transactionDate = transaction.getTransactionDate().toLocalDate();
+			String monthKey = transactionDate.getYear() + "-" + transactionDate.getMonth().toString();
+			MonthlyPointsDTO monthlyPointsDTO = monthlyPointsMap.computeIfAbsent(monthKey,
+					key -> new MonthlyPointsDTO(transactionDate.getYear(), transactionDate.getMonth().toString(), 0));
+			monthlyPointsDTO.setPoints(
+					monthlyPointsDTO.getPoints() + pointsCalculationUtils.calculatePoints(transaction));
+		}
+		return new ArrayList<>(monthlyPointsMap.values());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.assignment.rewardsapplication.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.assignment.rewardsapplication.utils.RankedPoints.Rank;
+
+public class RankedPointsTest {
+
+	@Test
+	public void testTopOrdersByPointsThenCustomerId() {
+		RankedPoints rankedPoints = new RankedPoints();
+		rankedPoints.add("CUST003", 50);
+		rankedPoints.add("CUST001", 90);
+		rankedPoints.add("CUST002", 50);
+		rankedPoints.add("CUST004", 0);
+
+		assertEquals(Arrays.asList(new Rank("CUST001", 90), new Rank("CUST002", 50), new Rank("CUST003", 50)),
+				rankedPoints.top(10));
+		assertEquals(3, rankedPoints.size());
+	}
+
+	@Test
+	public void testAddMovesCustomerUpTheRanking() {
+		RankedPoints rankedPoints = new RankedPoints();
+		rankedPoints.add("CUST001", 90);
+		rankedPoints.add("CUST002", 25);
+		rankedPoints.add("CUST002", 70);
+
+		assertEquals(Arrays.asList(new Rank("CUST002", 95), new Rank("CUST001", 90)), rankedPoints.top(2));
+		assertEquals(Arrays.asList(new Rank("CUST002", 95)), rankedPoints.top(1));
+		assertEquals(95, rankedPoints.getPoints("CUST002"));
+		assertEquals(0, rankedPoints.getPoints("CUST999"));
+	}
+
+	@Test
+	public void testConcurrentAddsKeepOneRankPerCustomer() throws Exception {
+		RankedPoints rankedPoints = new RankedPoints();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int thread = 0; thread < 8; thread++) {
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					rankedPoints.add("CUST" + (100 + i % 50), 1 + i % 3);
+				}
+			}));
+		}
+		for (int i = 0; i < 200; i++) {
+			List<Rank> top = rankedPoints.top(50);
+			assertEquals(top.stream().map(Rank::getCustomerId).distinct().count(), top.size());
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		List<Rank> top = rankedPoints.top(100);
+		assertEquals(50, top.size());
+		long total = 0;
+		for (Rank rank : top) {
+			assertEquals(rankedPoints.getPoints(rank.getCustomerId()), rank.getPoints());
+			total += rank.getPoints();
+		}
+		assertEquals(8 * (3334 * 1 + 3333 * 2 + 3333 * 3), total);
+	}
+}
\ No newline at end of file
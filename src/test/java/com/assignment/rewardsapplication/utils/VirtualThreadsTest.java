@@ -0,0 +1,51 @@
+package com.assignment.rewardsapplication.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class VirtualThreadsTest {
+
+	@Test
+	public void testTasksRunOnNamedVirtualThreads() throws Exception {
+		assumeTrue(virtualThreadsAvailable(), "needs JDK 21 or later");
+
+		ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-lookup-");
+		try {
+			Object isVirtual = executor
+					.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()))
+					.get(5, TimeUnit.SECONDS);
+			String name = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+			assertEquals(Boolean.TRUE, isVirtual);
+			assertEquals("test-lookup-1", name);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testOlderJdkIsRejected() {
+		assumeFalse(virtualThreadsAvailable(), "runs only before JDK 21");
+
+		IllegalStateException exception = assertThrows(IllegalStateException.class,
+				() -> VirtualThreads.newThreadPerTaskExecutor("test-lookup-"));
+		assertTrue(exception.getMessage().startsWith("Virtual threads need JDK 21 or later"));
+	}
+
+	private static boolean virtualThreadsAvailable() {
+		try {
+			Thread.class.getMethod("ofVirtual").invoke(null);
+			return true;
+		} catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+}
\ No newline at end of file